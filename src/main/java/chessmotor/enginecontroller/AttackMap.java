@@ -0,0 +1,264 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Attack maps of a position maintained incrementally by the game board:
+ *   - attack set of each piece identifier
+ *   - attacker identifiers of each square (bit i stands for piece identifier i)
+ *   - number of attackers of each square by side
+ *   - attacked squares of each side
+ * When the content of a square changes, only the pieces concerned are
+ * recomputed: the removed and placed pieces, and the sliding pieces whose rays
+ * reach the square (they are attackers of the square). Queries are constant
+ * time lookups.
+ */
+public class AttackMap {
+
+    // identifiers of sliding pieces (rooks, bishops, queens) of both sides
+    private static final int SLIDER_IDS;
+    
+    static{
+    
+        int ids = 0;
+        
+        for(int i = 0; i < 32; ++i){
+        
+            int type = GameBoardData.typeOf(i);
+            
+            if(type == GameBoardData.ROOK || type == GameBoardData.BISHOP
+                    || type == GameBoardData.QUEEN){
+                
+                ids |= 1 << i;
+            }
+        }
+        
+        SLIDER_IDS = ids;
+    }
+    
+    // attacked squares by piece identifier
+    private final long[] pieceAttacks;
+    // attacker identifiers by square
+    private final int[] attackerIds;
+    // number of attackers indexed as side * 64 + square
+    private final byte[] attackerCounts;
+    // attacked squares by side
+    private final long[] sideAttacks;
+    
+    /**
+     * Default constructor of empty board
+     */
+    public AttackMap(){
+    
+        pieceAttacks = new long[32];
+        attackerIds = new int[64];
+        attackerCounts = new byte[2 * 64];
+        sideAttacks = new long[2];
+    }
+    
+    /**
+     * Copy constructor
+     * @param orig object to be copied
+     */
+    public AttackMap(AttackMap orig){
+    
+        pieceAttacks = orig.pieceAttacks.clone();
+        attackerIds = orig.attackerIds.clone();
+        attackerCounts = orig.attackerCounts.clone();
+        sideAttacks = orig.sideAttacks.clone();
+    }
+    
+    /**
+     * Removes all attacks
+     */
+    public void clear(){
+    
+        for(int i = 0; i < 32; ++i){
+        
+            pieceAttacks[i] = 0L;
+        }
+        
+        for(int square = 0; square < 64; ++square){
+        
+            attackerIds[square] = 0;
+            attackerCounts[square] = 0;
+            attackerCounts[64 + square] = 0;
+        }
+        
+        sideAttacks[0] = 0L;
+        sideAttacks[1] = 0L;
+    }
+    
+    /**
+     * Updates the maps after the content of a square has been changed
+     * @param square Changed square
+     * @param oldId Identifier of the piece that has been removed from the
+     *        square, -1 if the square was empty
+     * @param newId Identifier of the piece that has been placed on the square,
+     *        -1 if the square has been emptied
+     * @param pieceList Live piece squares after the change
+     * @param occupancy Occupancy after the change
+     */
+    public void squareChanged(int square, int oldId, int newId,
+            PieceContainer pieceList, long occupancy){
+        
+        // rays of sliders attacking the square are extended or cut at it
+        int ids = attackerIds[square] & SLIDER_IDS;
+        
+        if(oldId != -1){
+        
+            ids |= 1 << oldId;
+        }
+        
+        if(newId != -1){
+        
+            ids |= 1 << newId;
+        }
+        
+        while(ids != 0){
+        
+            int pieceId = Integer.numberOfTrailingZeros(ids);
+            refresh(pieceId, pieceList.getSquare(pieceId), occupancy);
+            ids &= ids - 1;
+        }
+    }
+    
+    /**
+     * Recomputes attacks of a piece and applies the difference on square and
+     * side data
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @param square Square of piece, -1 in case of captured piece
+     * @param occupancy Occupancy used for sliding attacks
+     */
+    public void refresh(int pieceId, int square, long occupancy){
+    
+        long attacks = square == -1 ? 0L : attacksOf(pieceId, square, occupancy);
+        long changed = attacks ^ pieceAttacks[pieceId];
+        
+        if(changed == 0L){
+        
+            return;
+        }
+        
+        int side = GameBoardData.sideOf(pieceId);
+        int countOffset = side << 6;
+        int idBit = 1 << pieceId;
+        long gained = changed & attacks;
+        long lost = changed & ~attacks;
+        
+        while(gained != 0L){
+        
+            int to = Long.numberOfTrailingZeros(gained);
+            attackerIds[to] |= idBit;
+            
+            if(attackerCounts[countOffset + to]++ == 0){
+            
+                sideAttacks[side] |= 1L << to;
+            }
+            
+            gained &= gained - 1;
+        }
+        
+        while(lost != 0L){
+        
+            int to = Long.numberOfTrailingZeros(lost);
+            attackerIds[to] &= ~idBit;
+            
+            if(--attackerCounts[countOffset + to] == 0){
+            
+                sideAttacks[side] &= ~(1L << to);
+            }
+            
+            lost &= lost - 1;
+        }
+        
+        pieceAttacks[pieceId] = attacks;
+    }
+    
+    /**
+     * Obtains squares attacked by a side
+     * @param side Side index (MACHINE_SIDE or HUMAN_SIDE of GameBoardData)
+     * @return Attacked squares
+     */
+    public long getAttacks(int side){
+    
+        return sideAttacks[side];
+    }
+    
+    /**
+     * Checks whether a square is attacked by a side
+     * @param square Square index in range of [0, 64)
+     * @param bySide Side index of attackers
+     * @return True if any piece of given side attacks the square
+     */
+    public boolean isAttacked(int square, int bySide){
+    
+        return (sideAttacks[bySide] & (1L << square)) != 0L;
+    }
+    
+    /**
+     * Obtains number of attackers of a square by a side
+     * @param square Square index in range of [0, 64)
+     * @param bySide Side index of attackers
+     * @return Number of attacking pieces
+     */
+    public int getAttackerCount(int square, int bySide){
+    
+        return attackerCounts[(bySide << 6) + square];
+    }
+    
+    /**
+     * Obtains attacker pieces of a square
+     * @param square Square index in range of [0, 64)
+     * @return Attacker identifiers of both sides, bit i stands for identifier i
+     *         (machine pieces in the lower, human pieces in the upper 16 bits)
+     */
+    public int getAttackerIds(int square){
+    
+        return attackerIds[square];
+    }
+    
+    /**
+     * Obtains squares attacked by a piece
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @return Attacked squares, 0 in case of captured piece
+     */
+    public long getPieceAttacks(int pieceId){
+    
+        return pieceAttacks[pieceId];
+    }
+    
+    /**
+     * Computes attacked squares of a piece from scratch
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @param square Square of piece
+     * @param occupancy Occupancy used for sliding attacks
+     * @return Attacked squares (own pieces included)
+     */
+    public static long attacksOf(int pieceId, int square, long occupancy){
+    
+        int type = GameBoardData.typeOf(pieceId);
+        
+        if(type == GameBoardData.PAWN){
+        
+            return LeaperAttackTable.pawnAttacks(GameBoardData.sideOf(pieceId),
+                    square);
+        }
+        else if(type == GameBoardData.KNIGHT){
+        
+            return LeaperAttackTable.knightAttacks(square);
+        }
+        else if(type == GameBoardData.KING){
+        
+            return LeaperAttackTable.kingAttacks(square);
+        }
+        else if(type == GameBoardData.ROOK){
+        
+            return SlidingAttackTable.rookAttacks(square, occupancy);
+        }
+        else if(type == GameBoardData.BISHOP){
+        
+            return SlidingAttackTable.bishopAttacks(square, occupancy);
+        }
+        
+        return SlidingAttackTable.queenAttacks(square, occupancy);
+    }
+}
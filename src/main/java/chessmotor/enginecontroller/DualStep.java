@@ -39,8 +39,8 @@ public class DualStep extends Step{
      *         Range violation of second position file
      */
     public DualStep(String stepType, int pieceIdA, int pieceIdB, int rankA, 
-            int fileA, int rankB, int fileB, double value, int cumulativeChangeCount, 
-            double cumulativeValue) throws Exception{
+            int fileA, int rankB, int fileB, int value, int cumulativeChangeCount, 
+            int cumulativeValue) throws Exception{
     
         super(stepType, pieceIdA, rankA, fileA, value, cumulativeChangeCount,
                 cumulativeValue);
@@ -58,6 +58,36 @@ public class DualStep extends Step{
         this.fileB = fileB;
     }
     
+    /**
+     * Creates a dual step without range validation, it is the fast path of 
+     * castling and promotion steps created from generated moves inside search
+     * (see Step.createUnchecked)
+     * @param stepType Type of step: castling, promotion
+     * @param pieceIdA First piece identifier
+     * @param pieceIdB Second piece identifier
+     * @param rankA Rank of first step position in range of [0, 8)
+     * @param fileA File of first step position in range of [0, 8)
+     * @param rankB Rank of second step position in range of [0, 8)
+     * @param fileB File of second step position in range of [0, 8)
+     * @param value Value of dual step
+     * @param cumulativeChangeCount Number of consequent negative change in value
+     * @param cumulativeValue Accumulated value of step chain
+     * @return Dual step object
+     */
+    static DualStep createUnchecked(String stepType, int pieceIdA, int pieceIdB,
+            int rankA, int fileA, int rankB, int fileB, int value, 
+            int cumulativeChangeCount, int cumulativeValue){
+        
+        DualStep step = new DualStep();
+        step.assign(stepType, pieceIdA, rankA, fileA, value, cumulativeChangeCount,
+                cumulativeValue);
+        step.pieceIdB = pieceIdB;
+        step.rankB = rankB;
+        step.fileB = fileB;
+        
+        return step;
+    }
+    
     /**
      * It returns the second piece identifier of dual step
      * @return Returns the requested value
@@ -0,0 +1,227 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Parser of Forsyth-Edwards Notation positions for testing and analysis
+ * tools (e.g. Perft). White pieces are assigned to the machine side. The
+ * engine board keeps the king of a side at file 3 and the queen at file 4,
+ * therefore FEN files are mirrored (file a of FEN is file 7 of the board);
+ * move counts are invariant under this mirroring.
+ * Pieces are given identifiers by type slots of their side (see
+ * GameBoardData), rooks on the corners of their back rank obtain the
+ * identifiers of castling rooks.
+ */
+public final class FenParser {
+
+    public static final String START_POSITION =
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    
+    // free identifiers of a side by type index, offset of side is added
+    private static final int[][] idSlots = {
+        {0, 1, 2, 3, 4, 5, 6, 7},
+        {8, 15},
+        {9, 14},
+        {10, 13},
+        {11},
+        {12}
+    };
+    
+    private FenParser(){
+    
+    }
+    
+    /**
+     * Creates a game board from a FEN record
+     * @param fen FEN record, move counters are optional
+     * @return Game board with its own piece container
+     * @throws RuntimeException Malformed record or more pieces of a type than
+     *         the identifiers of the type
+     */
+    public static GameBoardData parse(String fen){
+    
+        String[] fields = fen.trim().split("\\s+");
+        
+        if(fields.length < 4){
+        
+            throw new RuntimeException("Incomplete FEN record: " + fen);
+        }
+        
+        char[] symbols = new char[64];
+        String[] rows = fields[0].split("/");
+        
+        if(rows.length != 8){
+        
+            throw new RuntimeException("FEN record has to contain 8 ranks: " + fen);
+        }
+        
+        for(int row = 0; row < 8; ++row){
+        
+            int rank = 7 - row;
+            int fenFile = 0;
+            
+            for(int i = 0; i < rows[row].length(); ++i){
+            
+                char c = rows[row].charAt(i);
+                
+                if(Character.isDigit(c)){
+                
+                    fenFile += c - '0';
+                }
+                else{
+                
+                    if(fenFile > 7){
+                    
+                        throw new RuntimeException("Rank overflow in FEN record: "
+                                + fen);
+                    }
+                    
+                    symbols[rank * 8 + 7 - fenFile] = c;
+                    ++fenFile;
+                }
+            }
+            
+            if(fenFile != 8){
+            
+                throw new RuntimeException("Rank has to contain 8 files: " + fen);
+            }
+        }
+        
+        GameBoardData board = new GameBoardData();
+        boolean[] used = new boolean[32];
+        
+        // castling rooks first, they keep their identifiers by corner
+        placeRook(board, symbols, used, 0, 'R', 8);
+        placeRook(board, symbols, used, 7, 'R', 15);
+        placeRook(board, symbols, used, 56, 'r', 16 + 8);
+        placeRook(board, symbols, used, 63, 'r', 16 + 15);
+        
+        for(int square = 0; square < 64; ++square){
+        
+            if(symbols[square] == 0){
+            
+                continue;
+            }
+            
+            int side = Character.isUpperCase(symbols[square])
+                    ? GameBoardData.MACHINE_SIDE : GameBoardData.HUMAN_SIDE;
+            int type = typeOfSymbol(symbols[square]);
+            int pieceId = -1;
+            
+            for(int slot : idSlots[type]){
+            
+                if(!used[(side << 4) + slot]){
+                
+                    pieceId = (side << 4) + slot;
+                    break;
+                }
+            }
+            
+            if(pieceId == -1){
+            
+                throw new RuntimeException("Too many pieces of type "
+                        + symbols[square] + " in FEN record: " + fen);
+            }
+            
+            used[pieceId] = true;
+            board.setBySquare(square, pieceId);
+        }
+        
+        board.setSideToMove(fields[1].equals("w")
+                ? GameBoardData.MACHINE_SIDE : GameBoardData.HUMAN_SIDE);
+        
+        int castlingRights = 0;
+        
+        if(fields[2].indexOf('K') != -1){
+        
+            castlingRights |= GameBoardData.CASTLING_MACHINE_ROOK_8;
+        }
+        
+        if(fields[2].indexOf('Q') != -1){
+        
+            castlingRights |= GameBoardData.CASTLING_MACHINE_ROOK_15;
+        }
+        
+        if(fields[2].indexOf('k') != -1){
+        
+            castlingRights |= GameBoardData.CASTLING_HUMAN_ROOK_8;
+        }
+        
+        if(fields[2].indexOf('q') != -1){
+        
+            castlingRights |= GameBoardData.CASTLING_HUMAN_ROOK_15;
+        }
+        
+        board.setCastlingRights(castlingRights);
+        
+        if(!fields[3].equals("-")){
+        
+            board.setEnPassantSquare(parseSquare(fields[3]));
+        }
+        
+        if(fields.length > 4){
+        
+            board.setHalfmoveClock(Integer.parseInt(fields[4]));
+        }
+        
+        return board;
+    }
+    
+    /**
+     * Converts an algebraic square name (e.g. "e3") into board square index
+     * @param name Square name
+     * @return Square index in range of [0, 64)
+     * @throws RuntimeException Malformed square name
+     */
+    public static int parseSquare(String name){
+    
+        if(name.length() != 2 || name.charAt(0) < 'a' || name.charAt(0) > 'h'
+                || name.charAt(1) < '1' || name.charAt(1) > '8'){
+            
+            throw new RuntimeException("Invalid square name: " + name);
+        }
+        
+        return (name.charAt(1) - '1') * 8 + 7 - (name.charAt(0) - 'a');
+    }
+    
+    private static void placeRook(GameBoardData board, char[] symbols,
+            boolean[] used, int square, char symbol, int pieceId){
+        
+        if(symbols[square] == symbol){
+        
+            used[pieceId] = true;
+            board.setBySquare(square, pieceId);
+            symbols[square] = 0;
+        }
+    }
+    
+    private static int typeOfSymbol(char symbol){
+    
+        char c = Character.toLowerCase(symbol);
+        
+        if(c == 'p'){
+        
+            return GameBoardData.PAWN;
+        }
+        else if(c == 'r'){
+        
+            return GameBoardData.ROOK;
+        }
+        else if(c == 'n'){
+        
+            return GameBoardData.KNIGHT;
+        }
+        else if(c == 'b'){
+        
+            return GameBoardData.BISHOP;
+        }
+        else if(c == 'k'){
+        
+            return GameBoardData.KING;
+        }
+        else if(c == 'q'){
+        
+            return GameBoardData.QUEEN;
+        }
+        
+        throw new RuntimeException("Unknown piece symbol: " + symbol);
+    }
+}
@@ -6,6 +6,7 @@ import chessmotor.enginecontroller.piecetypes.Bishop;
 import chessmotor.enginecontroller.piecetypes.King;
 import chessmotor.enginecontroller.piecetypes.Knight;
 import chessmotor.enginecontroller.piecetypes.Pawn;
+import chessmotor.enginecontroller.piecetypes.PieceType;
 import chessmotor.enginecontroller.piecetypes.Queen;
 import chessmotor.enginecontroller.piecetypes.Rook;
 import chessmotor.view.IConsoleUI;
@@ -55,12 +56,6 @@ public class Game implements IGame{
     // the actual game board to operate with
     //  use of int instead of String due to less memory usage
     private GameBoardData gameBoard;
-    // recent status of generated (arbirary incomplete n-ary tree) step sequences 
-    //  for further step decisions
-    // explicit step n-ary decision tree is requied in order to trace further steps
-    //  to be able to locate the origin step of leaves that are required for next 
-    //  step generations
-    private StepDecisionTree stepSequences;
     private Integer stepId;// starting from 1 (the first step)
     private Stack<Step> sourceStepHistory;
     private Stack<Step> targetStepHistory;
@@ -84,16 +79,10 @@ public class Game implements IGame{
      *        interface connection
      * @param machineBegins Whether human or machine player comes in this operation 
      *        loop
-     * @param stepsToLookAhead The non-zero, positive length of step chain to be used
-     * @param minConvThreshold Threshold for negative score change in tendency
-     * @param cumulativeNegativeChangeThreshold Number of negative machine score 
-     *        modifications to be allowed
      * @param timeLimit Defined amount of time that is provided for both players
-     * @param memLimit Memory limit for confinement of system memory usage
      */
     public Game(IConsoleUI consoleUI, IGameUI gameUI, boolean machineBegins, 
-            int stepsToLookAhead, double minConvThreshold, 
-            int cumulativeNegativeChangeThreshold, Duration timeLimit, long memLimit) {
+            Duration timeLimit) {
 
         if(consoleUI == null){
         
@@ -112,15 +101,41 @@ public class Game implements IGame{
         this.machineBegins = machineBegins;
         this.machineComes = machineBegins;
 
+        playGame.set(true);
+        gamePlayStatus = "PLAYING";
+        
+        pieces = new PieceContainer();
+        gameBoard = new GameBoardData(pieces);
+        sourceStepHistory = new Stack<>();
+        targetStepHistory = new Stack<>();
+        removedHumanPieces = new Stack<>();
+        removedMachinePieces = new Stack<>();
+        
+        stepId = 0;
+        
+        if(timeLimit == null){
+        
+            throw new RuntimeException("Time limit is null.");
+        }
+        
+        if(timeLimit.isZero() || timeLimit.isNegative()){
+        
+            throw new RuntimeException("Time limit is not positive for player "
+                    + "durations.");
+        }
+        
+        this.timeLimit = timeLimit;
+        
+        // players are created after the board and the piece container, the
+        //  depth of machine search is limited by the player time
         humanPlayer = new HumanPlayer(
                 this,
                 pieces,
                 gameBoard,
-                stepSequences,
                 false,
                 removedHumanPieces,
                 removedMachinePieces,
-                0.0,
+                0,
                 stepId,
                 Duration.ZERO,
                 LocalDateTime.now(),
@@ -130,84 +145,46 @@ public class Game implements IGame{
                 this,
                 pieces,
                 gameBoard,
-                stepSequences,
+                Score.MAX_PLY - 1,
+                timeLimit,
                 false,
                 removedMachinePieces,
                 removedHumanPieces,
-                0.0,
+                0,
                 stepId,
                 Duration.ZERO,
                 LocalDateTime.now());
-        
-        playGame.set(true);
-        gamePlayStatus = "PLAYING";
-
-        pieces = new PieceContainer();
-        gameBoard = new GameBoardData();
-        sourceStepHistory = new Stack<>();
-        targetStepHistory = new Stack<>();
-        removedHumanPieces = new Stack<>();
-        removedMachinePieces = new Stack<>();
-
-        if(memLimit <= 0){
-
-            throw new RuntimeException("Memory limit is not positive.");
-        }
-
-        if(stepsToLookAhead < 4){
-
-            throw new RuntimeException("Provided stepsToLookAhead is "
-                    + "under minimum stepsToLookAhead.");
-        }
-
-        // restrict step deicision tree generation with human leaf level
-        if(machineBegins && stepsToLookAhead % 2 == 1){
-
-            --stepsToLookAhead;
-        }
-
-        if(!machineBegins && stepsToLookAhead % 2 == 0){
-
-            --stepsToLookAhead;
-        }
-
-        stepSequences = new StepDecisionTree(consoleUI, machineBegins, pieces,
-            targetStepHistory, gameBoard, stepsToLookAhead, 1000.0, 
-            cumulativeNegativeChangeThreshold, minConvThreshold, 0, 0, 
-                memLimit);
-
-        stepId = 0;
 
         try{
                     
             for(int i = 0; i < 8; ++i){
 
-                pieces.set(i, new Pawn(i, machineBegins, -3.0, 1, i));
+                pieces.set(i, new Pawn(i, machineBegins, -PieceType.PAWN.getValue(), 1, i));
                 gameBoard.set(1, i, i);
 
-                pieces.set(16 + i, new Pawn(16 + i, !machineBegins, 3.0, 6, i));
+                pieces.set(16 + i, new Pawn(16 + i, !machineBegins, PieceType.PAWN.getValue(), 6, i));
                 gameBoard.set(6, i, 16 + i);
             }
 
             // initializing machine pieces
-            pieces.set(8, new Rook(8, machineBegins, -14.0, 0, 0));
-            pieces.set(9, new Knight(9, machineBegins, -8.0, 0, 1));
-            pieces.set(10, new Bishop(10, machineBegins, -14.0, 0, 2));
-            pieces.set(11, new King(11, machineBegins, -8.0, 0, 3));
-            pieces.set(12, new Queen(12, machineBegins, -28.0, 0, 4));
-            pieces.set(13, new Bishop(13, machineBegins, -14.0, 0, 5));
-            pieces.set(14, new Knight(14, machineBegins, -8.0, 0, 6));
-            pieces.set(15, new Rook(15, machineBegins, -14.0, 0, 7));
+            pieces.set(8, new Rook(8, machineBegins, -PieceType.ROOK.getValue(), 0, 0));
+            pieces.set(9, new Knight(9, machineBegins, -PieceType.KNIGHT.getValue(), 0, 1));
+            pieces.set(10, new Bishop(10, machineBegins, -PieceType.BISHOP.getValue(), 0, 2));
+            pieces.set(11, new King(11, machineBegins, -PieceType.KING.getValue(), 0, 3));
+            pieces.set(12, new Queen(12, machineBegins, -PieceType.QUEEN.getValue(), 0, 4));
+            pieces.set(13, new Bishop(13, machineBegins, -PieceType.BISHOP.getValue(), 0, 5));
+            pieces.set(14, new Knight(14, machineBegins, -PieceType.KNIGHT.getValue(), 0, 6));
+            pieces.set(15, new Rook(15, machineBegins, -PieceType.ROOK.getValue(), 0, 7));
         
             // initializing human pieces
-            pieces.set(16 + 8, new Rook(16 + 8, !machineBegins, 14.0, 7, 0));
-            pieces.set(16 + 9, new Knight(16 + 9, !machineBegins, 8.0, 7, 1));
-            pieces.set(16 + 10, new Bishop(16 + 10, !machineBegins, 14.0, 7, 2));
-            pieces.set(16 + 11, new King(16 + 11, !machineBegins, 8.0, 7, 3));
-            pieces.set(16 + 12, new Queen(16 + 12, !machineBegins, 28.0, 7, 4));
-            pieces.set(16 + 13, new Bishop(16 + 13, !machineBegins, 14.0, 7, 5));
-            pieces.set(16 + 14, new Knight(16 + 14, !machineBegins, 8.0, 7, 6));
-            pieces.set(16 + 15, new Rook(16 + 15, !machineBegins, 14.0, 7, 7));
+            pieces.set(16 + 8, new Rook(16 + 8, !machineBegins, PieceType.ROOK.getValue(), 7, 0));
+            pieces.set(16 + 9, new Knight(16 + 9, !machineBegins, PieceType.KNIGHT.getValue(), 7, 1));
+            pieces.set(16 + 10, new Bishop(16 + 10, !machineBegins, PieceType.BISHOP.getValue(), 7, 2));
+            pieces.set(16 + 11, new King(16 + 11, !machineBegins, PieceType.KING.getValue(), 7, 3));
+            pieces.set(16 + 12, new Queen(16 + 12, !machineBegins, PieceType.QUEEN.getValue(), 7, 4));
+            pieces.set(16 + 13, new Bishop(16 + 13, !machineBegins, PieceType.BISHOP.getValue(), 7, 5));
+            pieces.set(16 + 14, new Knight(16 + 14, !machineBegins, PieceType.KNIGHT.getValue(), 7, 6));
+            pieces.set(16 + 15, new Rook(16 + 15, !machineBegins, PieceType.ROOK.getValue(), 7, 7));
         }
         catch(Exception e){
         
@@ -242,14 +219,10 @@ public class Game implements IGame{
                 gameBoard.set(rankInd, fileInd, -1);
             }
         }
-
-        if(timeLimit.isZero()){
-
-            throw new RuntimeException("Time limit is zero for player "
-                    + "durations.");
-        }
-
-        this.timeLimit = timeLimit;
+        
+        gameBoard.setCastlingRights(GameBoardData.CASTLING_ALL);
+        gameBoard.setSideToMove(machineBegins ? GameBoardData.MACHINE_SIDE 
+                : GameBoardData.HUMAN_SIDE);
 
         initialized = true;
     }
@@ -276,7 +249,7 @@ public class Game implements IGame{
         gamePlayStatus = gameStatus.getGamePlayStatus();
         pieces = gameStatus.getPieces();
         gameBoard = gameStatus.getGameBoard();
-        stepSequences = gameStatus.getStepSequences();
+        gameBoard.linkPieceList(pieces);
         stepId = gameStatus.getStepId();
         sourceStepHistory = gameStatus.getSourceStepHistory();
         targetStepHistory = gameStatus.getTargetStepHistory();
@@ -300,7 +273,6 @@ public class Game implements IGame{
         gameStatus.setGamePlayStatus(gamePlayStatus);
         gameStatus.setPieces(pieces);
         gameStatus.setGameBoard(gameBoard);
-        gameStatus.setStepSequences(stepSequences);
         gameStatus.setStepId(stepId);
         gameStatus.setSourceStepHistory(sourceStepHistory);
         gameStatus.setTargetStepHistory(targetStepHistory);
@@ -382,7 +354,6 @@ public class Game implements IGame{
             secondPlayer.startClock();
             waitForDataSave();
             machineComes = !machineComes;
-            stepSequences.continueStepSequences();
             secondPlayer.getNextStep();
             
             secondPlayer.stopClock();
@@ -440,12 +411,8 @@ public class Game implements IGame{
             waitForDataSave();
             machineComes = true;
             
-            machinePlayer.generateFirstMachineStep();
             machinePlayer.getNextStep();
             
-            // a priori strategy build
-            machinePlayer.buildStrategy();
-            
             machinePlayer.stopClock();
             
             humanPlayer.validateStatus();
@@ -534,12 +501,8 @@ public class Game implements IGame{
             waitForDataSave();
             machineComes = true;
             
-            machinePlayer.generateFirstMachineStep();
             machinePlayer.getNextStep();
             
-            // a priori strategy build
-            machinePlayer.buildStrategy();
-            
             machinePlayer.stopClock();
             
             removeSquareHighlighted();
@@ -593,11 +556,12 @@ public class Game implements IGame{
     }
     
     /**
-     * It sets new length for step sequences
-     * @param depth New length of a step sequences in terms of tree depth 
-     *        (originating from multi-path traversal)
+     * It sets new depth limit of machine search
+     * @param depth New depth limit in plies, the search is driven by the 
+     *        remaining time of machine player within this limit
      * @throws Exception 
      *         Depth lower bound violation exception
+     *         MachinePlayer.setSearchDepth exception (see further)
      */
     public void setDepth(int depth) throws Exception{
     
@@ -607,18 +571,7 @@ public class Game implements IGame{
                     + "minimum depth.");
         }
         
-        // restrict step deicision tree generation with human leaf level
-        if(machineBegins && depth % 2 == 1){
-            
-            --depth;
-        }
-        
-        if(!machineBegins && depth % 2 == 0){
-        
-            --depth;
-        }
-        
-        stepSequences.setDepth(depth);
+        machinePlayer.setSearchDepth(depth);
     }
     
     /**
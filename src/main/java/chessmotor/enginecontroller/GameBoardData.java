@@ -1,15 +1,182 @@
 package chessmotor.enginecontroller;
 
+import chessmotor.enginecontroller.piecetypes.PieceType;
+import java.util.Arrays;
+
+/**
+ * Game board storage. The position is kept in bitboard form: one 64-bit
+ * occupancy word per piece type and side, plus a square indexed mailbox for
+ * square-to-piece identifier lookups. Squares are indexed as rank * 8 + file.
+ * The rank-file based get/set methods are kept as a compatibility layer.
+ * Packed moves (see Move) are applied by makeMove and taken back by unmakeMove,
+ * the irreversible state of each made move is kept on a preallocated undo stack.
+ * The undo stack is a ring buffer: the oldest entries are overwritten if it is
+ * full, so a game can not overflow it (only the recent MAX_UNDO moves can be
+ * taken back and compared for repetition).
+ * A Zobrist hash of the position (see ZobristKeys) is maintained incrementally
+ * by every modification, as well as the primitive piece layout and live piece
+ * lists of the linked piece container and the attack maps (see AttackMap),
+ * material is summed over the live piece lists.
+ * Pieces off the board (captured pieces and promoted pawns) are tracked as a
+ * 32-bit identifier mask, promotion candidates are derived from it by bit
+ * operations.
+ */
 public class GameBoardData {
 
-    private Integer[][] gameBoard;
+    // side indices, pieces with identifier in [0, 16) belong to machine player,
+    //  pieces with identifier in [16, 32) belong to human player
+    public static final int MACHINE_SIDE = 0;
+    public static final int HUMAN_SIDE = 1;
+    
+    // type indices in order of the sample type list of generic piece
+    public static final int PAWN = 0;
+    public static final int ROOK = 1;
+    public static final int KNIGHT = 2;
+    public static final int BISHOP = 3;
+    public static final int KING = 4;
+    public static final int QUEEN = 5;
+    
+    public static final int NUM_OF_TYPES = 6;
+    
+    // castling right bits, rights are bound to the initial rook identifiers
+    //  (identifier offset 8 at file 0, identifier offset 15 at file 7)
+    public static final int CASTLING_MACHINE_ROOK_8 = 1;
+    public static final int CASTLING_MACHINE_ROOK_15 = 2;
+    public static final int CASTLING_HUMAN_ROOK_8 = 4;
+    public static final int CASTLING_HUMAN_ROOK_15 = 8;
+    public static final int CASTLING_ALL = 15;
+    
+    // maximum number of made moves that can be taken back (power of 2), it
+    //  exceeds the 50-move rule and the search depth together
+    public static final int MAX_UNDO = 1024;
+    
+    // type of piece by its identifier, the identifier of a piece determines its
+    //  type for the whole game play (promotion reuses removed piece identifiers)
+    private static final byte[] typeOfId = new byte[32];
+    // retained castling rights after moving or capturing a piece by its identifier
+    private static final int[] castlingMaskOfId = new int[32];
+    
+    // attacker types of static exchange evaluation in increasing value
+    private static final int[] seeTypeOrder = {PAWN, KNIGHT, BISHOP, ROOK, QUEEN,
+        KING};
+    
+    static{
+    
+        for(int side = 0; side < 2; ++side){
+        
+            int offset = side * 16;
+            
+            for(int i = 0; i < 8; ++i){
+            
+                typeOfId[offset + i] = PAWN;
+            }
+            
+            typeOfId[offset + 8] = ROOK;
+            typeOfId[offset + 9] = KNIGHT;
+            typeOfId[offset + 10] = BISHOP;
+            typeOfId[offset + 11] = KING;
+            typeOfId[offset + 12] = QUEEN;
+            typeOfId[offset + 13] = BISHOP;
+            typeOfId[offset + 14] = KNIGHT;
+            typeOfId[offset + 15] = ROOK;
+        }
+        
+        for(int i = 0; i < 32; ++i){
+        
+            castlingMaskOfId[i] = CASTLING_ALL;
+        }
+        
+        // moving king loses both rights, moving or captured rook loses its own
+        castlingMaskOfId[11] = CASTLING_ALL
+                & ~(CASTLING_MACHINE_ROOK_8 | CASTLING_MACHINE_ROOK_15);
+        castlingMaskOfId[8] = CASTLING_ALL & ~CASTLING_MACHINE_ROOK_8;
+        castlingMaskOfId[15] = CASTLING_ALL & ~CASTLING_MACHINE_ROOK_15;
+        castlingMaskOfId[16 + 11] = CASTLING_ALL
+                & ~(CASTLING_HUMAN_ROOK_8 | CASTLING_HUMAN_ROOK_15);
+        castlingMaskOfId[16 + 8] = CASTLING_ALL & ~CASTLING_HUMAN_ROOK_8;
+        castlingMaskOfId[16 + 15] = CASTLING_ALL & ~CASTLING_HUMAN_ROOK_15;
+    }
+    
+    // piece identifier on each square, -1 stands for empty square
+    private byte[] mailbox;
+    // occupancy by side and type, indexed as side * NUM_OF_TYPES + type
+    private long[] pieceBoards;
+    // occupancy by side
+    private long[] sideBoards;
+    
+    private int sideToMove;
+    private int castlingRights;
+    // square passed by the recent double pawn push, -1 if there is none
+    private int enPassantSquare;
+    // number of moves since the recent capture or pawn move
+    private int halfmoveClock;
+    // Zobrist hash of position
+    private long hash;
+    // identifiers of pieces off the board, bit i stands for identifier i
+    //  (machine pieces in the lower, human pieces in the upper 16 bits)
+    private int removedIds;
+    
+    // undo stack of made moves, irreversible state is saved before each move,
+    //  entry of made move i is at index i & (MAX_UNDO - 1)
+    private int[] undoMoves;
+    private byte[] undoCaptured;
+    private byte[] undoCastlingRights;
+    private byte[] undoEnPassantSquare;
+    private int[] undoHalfmoveClock;
+    private long[] undoHash;
+    private int[] undoRemovedIds;
+    private int undoSize;
+    // number of made moves whose entries have been overwritten
+    private int undoBase;
+    
+    // primitive piece layout synchronized with the board, it is rebuilt after
+    //  loading instead of being saved
+    private transient PieceContainer pieceList;
+    
+    // attacks of pieces and sides, rebuilt with the live piece lists
+    private transient AttackMap attackMap;
+    
+    // checkers and pinned pieces of sides computed once per position, bit i of
+    //  checkInfoValid marks valid data of side i
+    private transient long[] checkers = new long[2];
+    private transient long[] pinned = new long[2];
+    private transient int checkInfoValid;
+    
+    // swap list of static exchange evaluation
+    private transient int[] seeGain = new int[32];
     
     /**
      * Default constructor
      */
     public GameBoardData(){
     
-        gameBoard = new Integer[8][8];
+        mailbox = new byte[64];
+        Arrays.fill(mailbox, (byte)-1);
+        pieceBoards = new long[2 * NUM_OF_TYPES];
+        sideBoards = new long[2];
+        
+        sideToMove = MACHINE_SIDE;
+        castlingRights = 0;
+        enPassantSquare = -1;
+        halfmoveClock = 0;
+        hash = 0L;
+        removedIds = -1;
+        
+        pieceList = new PieceContainer();
+        attackMap = new AttackMap();
+        
+        allocateUndoStack();
+    }
+    
+    /**
+     * Constructor with a linked piece container whose primitive piece layout
+     * and live piece lists are kept in sync with the board
+     * @param pieceList linked piece container
+     */
+    public GameBoardData(PieceContainer pieceList){
+    
+        this();
+        linkPieceList(pieceList);
     }
     
     /**
@@ -18,35 +185,870 @@ public class GameBoardData {
      */
     public GameBoardData(GameBoardData orig){
     
-        for(int i = 0; i < 8; ++i){
+        mailbox = orig.mailbox.clone();
+        pieceBoards = orig.pieceBoards.clone();
+        sideBoards = orig.sideBoards.clone();
         
-            for(int j = 0; j < 8; ++j){
+        sideToMove = orig.sideToMove;
+        castlingRights = orig.castlingRights;
+        enPassantSquare = orig.enPassantSquare;
+        halfmoveClock = orig.halfmoveClock;
+        hash = orig.hash;
+        removedIds = orig.removedIds;
+        
+        pieceList = new PieceContainer(orig.pieceList);
+        attackMap = new AttackMap(orig.attackMap);
+        
+        // the copy starts its own move history from the copied position
+        allocateUndoStack();
+    }
+    
+    /**
+     * Links a piece container to the board, its live piece lists and the attack
+     * maps are rebuilt from the current position
+     * @param pieceList piece container to be synchronized with the board
+     */
+    public void linkPieceList(PieceContainer pieceList){
+    
+        this.pieceList = pieceList;
+        pieceList.clearLive();
+        
+        if(attackMap == null){
+        
+            attackMap = new AttackMap();
+        }
+        
+        attackMap.clear();
+        checkInfoValid = 0;
+        removedIds = -1;
+        
+        long occupancy = getOccupancy();
+        
+        for(int square = 0; square < 64; ++square){
+        
+            if(mailbox[square] != -1){
             
-                gameBoard[i][j] = orig.gameBoard[i][j];
+                pieceList.place(mailbox[square], square);
+                attackMap.refresh(mailbox[square], square, occupancy);
+                removedIds &= ~(1 << mailbox[square]);
             }
         }
     }
     
+    /**
+     * Obtains the piece container that is synchronized with the board
+     * @return Linked piece container
+     */
+    public PieceContainer getPieceList(){
+    
+        return pieceList;
+    }
+    
+    private void allocateUndoStack(){
+    
+        undoMoves = new int[MAX_UNDO];
+        undoCaptured = new byte[MAX_UNDO];
+        undoCastlingRights = new byte[MAX_UNDO];
+        undoEnPassantSquare = new byte[MAX_UNDO];
+        undoHalfmoveClock = new int[MAX_UNDO];
+        undoHash = new long[MAX_UNDO];
+        undoRemovedIds = new int[MAX_UNDO];
+        undoSize = 0;
+        undoBase = 0;
+    }
+    
     /**
      * Obtains piece identifier at given position
      * @param col File of the position
      * @param row Rank of the position
      * @return Returns the identifier that is at the requested position
      */
-    public Integer get(int col, int row){
+    public int get(int col, int row){
     
-        return gameBoard[col][row];
+        return mailbox[col * 8 + row];
     }
     
     /**
      * Sets a new piece identifier at the desired position
      * @param col File of the position
      * @param row Rank of the position
-     * @param newVal The new value of identifier that will be used at the updated 
+     * @param newVal The new value of identifier that will be used at the updated
      * position
      */
-    public void set(int col, int row, Integer newVal){
+    public void set(int col, int row, int newVal){
+    
+        setBySquare(col * 8 + row, newVal);
+    }
+    
+    /**
+     * Obtains piece identifier at given square
+     * @param square Square index in range of [0, 64)
+     * @return Returns the identifier that is at the requested square, -1 in
+     *         case of empty square
+     */
+    public int getBySquare(int square){
+    
+        return mailbox[square];
+    }
+    
+    /**
+     * Sets a new piece identifier at the desired square and keeps bitboards
+     * consistent with the mailbox
+     * @param square Square index in range of [0, 64)
+     * @param newVal The new identifier, -1 for emptying the square
+     */
+    public void setBySquare(int square, int newVal){
+    
+        long squareBit = 1L << square;
+        int oldVal = mailbox[square];
+        
+        checkInfoValid = 0;
+        
+        if(oldVal != -1){
+        
+            pieceBoards[boardIndex(oldVal)] &= ~squareBit;
+            sideBoards[sideOf(oldVal)] &= ~squareBit;
+            hash ^= ZobristKeys.pieceSquare(oldVal, square);
+            
+            // moving piece has already been placed on its target square
+            if(pieceList.getSquare(oldVal) == square){
+            
+                pieceList.remove(oldVal);
+                removedIds |= 1 << oldVal;
+            }
+        }
+        
+        if(newVal != -1){
+        
+            pieceBoards[boardIndex(newVal)] |= squareBit;
+            sideBoards[sideOf(newVal)] |= squareBit;
+            hash ^= ZobristKeys.pieceSquare(newVal, square);
+            pieceList.place(newVal, square);
+            removedIds &= ~(1 << newVal);
+        }
+        
+        mailbox[square] = (byte)newVal;
+        
+        attackMap.squareChanged(square, oldVal, newVal, pieceList,
+                sideBoards[MACHINE_SIDE] | sideBoards[HUMAN_SIDE]);
+    }
+    
+    /**
+     * Obtains occupancy of given type pieces of a side
+     * @param side Side index (MACHINE_SIDE or HUMAN_SIDE)
+     * @param type Type index
+     * @return Occupancy bitboard
+     */
+    public long getPieces(int side, int type){
+    
+        return pieceBoards[side * NUM_OF_TYPES + type];
+    }
+    
+    /**
+     * Obtains occupancy of a side
+     * @param side Side index (MACHINE_SIDE or HUMAN_SIDE)
+     * @return Occupancy bitboard
+     */
+    public long getOccupancy(int side){
+    
+        return sideBoards[side];
+    }
+    
+    /**
+     * Obtains occupancy of both sides
+     * @return Occupancy bitboard
+     */
+    public long getOccupancy(){
+    
+        return sideBoards[MACHINE_SIDE] | sideBoards[HUMAN_SIDE];
+    }
+    
+    /**
+     * Applies a packed move on the board. Captured piece, castling rights, en
+     * passant square, halfmove clock, hash and removed pieces are saved on the
+     * undo stack, the side to move is switched.
+     * @param move Packed move (see Move)
+     */
+    public void makeMove(int move){
+    
+        // the oldest entry is overwritten
+        if(undoSize - undoBase == MAX_UNDO){
+        
+            ++undoBase;
+        }
+        
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int pieceId = Move.getPieceId(move);
+        int capturedSquare = to;
+        
+        if(Move.isEnPassant(move)){
+        
+            // captured pawn stands next to the source square on target file
+            capturedSquare = (from & 0x38) | (to & 7);
+        }
+        
+        int capturedId = mailbox[capturedSquare];
+        
+        int undoIndex = undoSize & (MAX_UNDO - 1);
+        
+        undoMoves[undoIndex] = move;
+        undoCaptured[undoIndex] = (byte)capturedId;
+        undoCastlingRights[undoIndex] = (byte)castlingRights;
+        undoEnPassantSquare[undoIndex] = (byte)enPassantSquare;
+        undoHalfmoveClock[undoIndex] = halfmoveClock;
+        undoHash[undoIndex] = hash;
+        undoRemovedIds[undoIndex] = removedIds;
+        ++undoSize;
+        
+        hash ^= ZobristKeys.castling(castlingRights)
+                ^ ZobristKeys.enPassant(enPassantSquare);
+        
+        if(capturedId != -1){
+        
+            setBySquare(capturedSquare, -1);
+            castlingRights &= castlingMaskOfId[capturedId];
+        }
+        
+        // target is set before source is emptied, the moving piece stays in
+        //  live piece list
+        if(Move.isPromotion(move)){
+        
+            setBySquare(to, Move.getPromotionId(move));
+        }
+        else{
+        
+            setBySquare(to, pieceId);
+        }
+        
+        setBySquare(from, -1);
+        
+        if(Move.isCastling(move)){
+        
+            int rookFrom = Move.getCastlingRookFrom(move);
+            int rookId = mailbox[rookFrom];
+            setBySquare(Move.getCastlingRookTo(move), rookId);
+            setBySquare(rookFrom, -1);
+        }
+        
+        castlingRights &= castlingMaskOfId[pieceId];
+        
+        enPassantSquare = Move.isDoublePush(move) ? (from + to) >>> 1 : -1;
+        
+        if(capturedId != -1 || typeOfId[pieceId] == PAWN){
+        
+            halfmoveClock = 0;
+        }
+        else{
+        
+            ++halfmoveClock;
+        }
+        
+        sideToMove ^= 1;
+        
+        hash ^= ZobristKeys.castling(castlingRights)
+                ^ ZobristKeys.enPassant(enPassantSquare)
+                ^ ZobristKeys.sideToMove();
+    }
+    
+    /**
+     * Takes back the recently made move and restores the saved state
+     */
+    public void unmakeMove(){
+    
+        if(undoSize == undoBase){
+        
+            throw new RuntimeException("There is no move to be taken back.");
+        }
+        
+        --undoSize;
+        int undoIndex = undoSize & (MAX_UNDO - 1);
+        
+        // the square updates below modify the hash as well, it is overwritten
+        //  by the saved value
+        int move = undoMoves[undoIndex];
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int capturedId = undoCaptured[undoIndex];
+        
+        if(Move.isCastling(move)){
+        
+            int rookTo = Move.getCastlingRookTo(move);
+            int rookId = mailbox[rookTo];
+            setBySquare(Move.getCastlingRookFrom(move), rookId);
+            setBySquare(rookTo, -1);
+        }
+        
+        setBySquare(from, Move.getPieceId(move));
+        setBySquare(to, -1);
+        
+        if(capturedId != -1){
+        
+            setBySquare(Move.isEnPassant(move) ? (from & 0x38) | (to & 7) : to,
+                    capturedId);
+        }
+        
+        castlingRights = undoCastlingRights[undoIndex];
+        enPassantSquare = undoEnPassantSquare[undoIndex];
+        halfmoveClock = undoHalfmoveClock[undoIndex];
+        hash = undoHash[undoIndex];
+        removedIds = undoRemovedIds[undoIndex];
+        
+        sideToMove ^= 1;
+    }
+    
+    /**
+     * Obtains the number of made moves, the recent
+     * min(getUndoSize(), MAX_UNDO) of them can be taken back
+     * @return Size of undo stack (overwritten entries included)
+     */
+    public int getUndoSize(){
+    
+        return undoSize;
+    }
+    
+    /**
+     * Obtains made moves in order of making from a given undo stack position
+     * @param fromIndex Undo stack position in range of [0, getUndoSize()],
+     *        its entry must not be overwritten
+     * @return Packed moves that can be made again on the starting position
+     * @throws RuntimeException Position out of range or overwritten
+     */
+    public int[] getMoveHistory(int fromIndex){
+    
+        if(fromIndex < undoBase || fromIndex > undoSize){
+        
+            throw new RuntimeException("Undo stack position is not available.");
+        }
+        
+        int[] moves = new int[undoSize - fromIndex];
+        
+        for(int i = 0; i < moves.length; ++i){
+        
+            moves[i] = undoMoves[(fromIndex + i) & (MAX_UNDO - 1)];
+        }
+        
+        return moves;
+    }
+    
+    /**
+     * Obtains the recently made move
+     * @return Packed move, Move.NONE if there is no made move
+     */
+    public int getLastMove(){
+    
+        return undoSize == undoBase ? Move.NONE
+                : undoMoves[(undoSize - 1) & (MAX_UNDO - 1)];
+    }
+    
+    /**
+     * Checks whether the current position has already occurred since the
+     * recent capture or pawn move, positions before the made moves of the undo
+     * stack are compared by hash
+     * @return True in case of repeated position
+     */
+    public boolean isRepetition(){
+    
+        int limit = Math.max(undoBase, undoSize - halfmoveClock);
+        
+        // the side to move is the same at every second position, the position
+        //  two plies earlier can not be the same
+        for(int i = undoSize - 4; i >= limit; i -= 2){
+        
+            if(undoHash[i & (MAX_UNDO - 1)] == hash){
+            
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Obtains pieces of a side that are off the board (captured pieces and
+     * promoted pawns), their identifiers can be reused by promotion
+     * @param side Side index (MACHINE_SIDE or HUMAN_SIDE)
+     * @return Identifier mask, bit i stands for identifier i
+     */
+    public int getRemovedIds(int side){
+    
+        return removedIds & (0xFFFF << (side << 4));
+    }
+    
+    /**
+     * Checks whether a piece is off the board
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @return True in case of captured piece or promoted pawn
+     */
+    public boolean isRemoved(int pieceId){
+    
+        return (removedIds & (1 << pieceId)) != 0;
+    }
+    
+    /**
+     * Obtains material of a side on the board, king excluded, only the live
+     * pieces of the side are visited (see PieceContainer)
+     * @param side Side index (MACHINE_SIDE or HUMAN_SIDE)
+     * @return Sum of piece values in centipawns (see PieceType)
+     */
+    public int getMaterial(int side){
+    
+        int numOfLivePieces = pieceList.getLiveCount(side);
+        int material = 0;
+        
+        for(int i = 0; i < numOfLivePieces; ++i){
+        
+            int pieceId = pieceList.getLiveId(side, i);
+            
+            if(pieceList.getType(pieceId) != KING){
+            
+                material += PieceType.ofId(pieceId).getValue();
+            }
+        }
+        
+        return material;
+    }
+    
+    /**
+     * Obtains side to move
+     * @return Side index (MACHINE_SIDE or HUMAN_SIDE)
+     */
+    public int getSideToMove(){
+    
+        return sideToMove;
+    }
+    
+    /**
+     * Sets side to move
+     * @param sideToMove Side index (MACHINE_SIDE or HUMAN_SIDE)
+     */
+    public void setSideToMove(int sideToMove){
+    
+        if(this.sideToMove != sideToMove){
+        
+            hash ^= ZobristKeys.sideToMove();
+        }
+        
+        this.sideToMove = sideToMove;
+    }
+    
+    /**
+     * Obtains castling rights
+     * @return Combination of CASTLING_* bits
+     */
+    public int getCastlingRights(){
+    
+        return castlingRights;
+    }
+    
+    /**
+     * Sets castling rights
+     * @param castlingRights Combination of CASTLING_* bits
+     */
+    public void setCastlingRights(int castlingRights){
+    
+        hash ^= ZobristKeys.castling(this.castlingRights)
+                ^ ZobristKeys.castling(castlingRights);
+        this.castlingRights = castlingRights;
+    }
+    
+    /**
+     * Obtains en passant square
+     * @return Square passed by the recent double pawn push, -1 if there is none
+     */
+    public int getEnPassantSquare(){
+    
+        return enPassantSquare;
+    }
+    
+    /**
+     * Sets en passant square
+     * @param enPassantSquare Square passed by the recent double pawn push, -1 if
+     *        there is none
+     */
+    public void setEnPassantSquare(int enPassantSquare){
+    
+        hash ^= ZobristKeys.enPassant(this.enPassantSquare)
+                ^ ZobristKeys.enPassant(enPassantSquare);
+        this.enPassantSquare = enPassantSquare;
+    }
+    
+    /**
+     * Obtains halfmove clock
+     * @return Number of moves since the recent capture or pawn move
+     */
+    public int getHalfmoveClock(){
+    
+        return halfmoveClock;
+    }
+    
+    /**
+     * Sets halfmove clock
+     * @param halfmoveClock Number of moves since the recent capture or pawn move
+     */
+    public void setHalfmoveClock(int halfmoveClock){
+    
+        this.halfmoveClock = halfmoveClock;
+    }
+    
+    /**
+     * Obtains Zobrist hash of position, it is maintained incrementally
+     * @return Hash covering piece-square pairs, side to move, castling rights
+     *         and en passant file
+     */
+    public long hash(){
+    
+        return hash;
+    }
+    
+    /**
+     * Computes Zobrist hash of position from scratch, it is intended for
+     * validation of the incrementally maintained hash
+     * @return Hash of position
+     */
+    public long computeHash(){
+    
+        long result = 0L;
+        
+        for(int square = 0; square < 64; ++square){
+        
+            if(mailbox[square] != -1){
+            
+                result ^= ZobristKeys.pieceSquare(mailbox[square], square);
+            }
+        }
+        
+        result ^= ZobristKeys.castling(castlingRights)
+                ^ ZobristKeys.enPassant(enPassantSquare);
+        
+        if(sideToMove == HUMAN_SIDE){
+        
+            result ^= ZobristKeys.sideToMove();
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Obtains square of king of a side
+     * @param side Side index (MACHINE_SIDE or HUMAN_SIDE)
+     * @return Square index, 64 if side has no king on board
+     */
+    public int getKingSquare(int side){
+    
+        return Long.numberOfTrailingZeros(pieceBoards[side * NUM_OF_TYPES + KING]);
+    }
+    
+    /**
+     * Obtains pieces of both sides that attack a square
+     * @param square Square index in range of [0, 64)
+     * @param occupancy Occupancy used for sliding attacks
+     * @return Attacker pieces of both sides
+     */
+    public long attackersTo(int square, long occupancy){
+    
+        long rookLike = pieceBoards[ROOK] | pieceBoards[QUEEN]
+                | pieceBoards[NUM_OF_TYPES + ROOK] | pieceBoards[NUM_OF_TYPES + QUEEN];
+        long bishopLike = pieceBoards[BISHOP] | pieceBoards[QUEEN]
+                | pieceBoards[NUM_OF_TYPES + BISHOP] | pieceBoards[NUM_OF_TYPES + QUEEN];
+        
+        return (LeaperAttackTable.pawnAttacks(HUMAN_SIDE, square) & pieceBoards[PAWN])
+                | (LeaperAttackTable.pawnAttacks(MACHINE_SIDE, square)
+                        & pieceBoards[NUM_OF_TYPES + PAWN])
+                | (LeaperAttackTable.knightAttacks(square)
+                        & (pieceBoards[KNIGHT] | pieceBoards[NUM_OF_TYPES + KNIGHT]))
+                | (LeaperAttackTable.kingAttacks(square)
+                        & (pieceBoards[KING] | pieceBoards[NUM_OF_TYPES + KING]))
+                | (SlidingAttackTable.rookAttacks(square, occupancy) & rookLike)
+                | (SlidingAttackTable.bishopAttacks(square, occupancy) & bishopLike);
+    }
+    
+    /**
+     * Checks whether a square is attacked by a side
+     * @param square Square index in range of [0, 64)
+     * @param bySide Side index of attackers
+     * @param occupancy Occupancy used for sliding attacks (e.g. without a moving
+     *        king)
+     * @return True if any piece of given side attacks the square
+     */
+    public boolean isSquareAttacked(int square, int bySide, long occupancy){
+    
+        int offset = bySide * NUM_OF_TYPES;
+        
+        return (LeaperAttackTable.pawnAttacks(bySide ^ 1, square)
+                        & pieceBoards[offset + PAWN]) != 0
+                || (LeaperAttackTable.knightAttacks(square)
+                        & pieceBoards[offset + KNIGHT]) != 0
+                || (LeaperAttackTable.kingAttacks(square)
+                        & pieceBoards[offset + KING]) != 0
+                || (SlidingAttackTable.rookAttacks(square, occupancy)
+                        & (pieceBoards[offset + ROOK] | pieceBoards[offset + QUEEN])) != 0
+                || (SlidingAttackTable.bishopAttacks(square, occupancy)
+                        & (pieceBoards[offset + BISHOP] | pieceBoards[offset + QUEEN])) != 0;
+    }
+    
+    /**
+     * Obtains squares attacked by a side, it is maintained incrementally
+     * @param side Side index (MACHINE_SIDE or HUMAN_SIDE)
+     * @return Attacked squares
+     */
+    public long getAttacks(int side){
+    
+        return attackMap.getAttacks(side);
+    }
+    
+    /**
+     * Checks whether a square is attacked by a side in the current position,
+     * it is a constant time attack map lookup
+     * @param square Square index in range of [0, 64)
+     * @param bySide Side index of attackers
+     * @return True if any piece of given side attacks the square
+     */
+    public boolean isAttacked(int square, int bySide){
+    
+        return attackMap.isAttacked(square, bySide);
+    }
+    
+    /**
+     * Obtains number of attackers of a square by a side
+     * @param square Square index in range of [0, 64)
+     * @param bySide Side index of attackers
+     * @return Number of attacking pieces
+     */
+    public int getAttackerCount(int square, int bySide){
+    
+        return attackMap.getAttackerCount(square, bySide);
+    }
+    
+    /**
+     * Obtains attacker pieces of a square in the current position
+     * @param square Square index in range of [0, 64)
+     * @return Attacker identifiers of both sides, bit i stands for identifier i
+     */
+    public int getAttackerIds(int square){
+    
+        return attackMap.getAttackerIds(square);
+    }
+    
+    /**
+     * Obtains squares attacked by a piece in the current position
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @return Attacked squares, 0 in case of captured piece
+     */
+    public long getPieceAttacks(int pieceId){
+    
+        return attackMap.getPieceAttacks(pieceId);
+    }
+    
+    /**
+     * Static exchange evaluation of a move. The capture sequence on the target
+     * square is resolved by attack sets, both sides recapture with their least
+     * valuable attacker (sliders behind removed attackers join in) and may stop
+     * capturing when it does not pay off. Pins are not considered.
+     * @param move Packed move of the side to move (see Move)
+     * @return Material balance of the exchange for the moving side in
+     *         centipawns, 0 for quiet moves without losing the moving piece
+     */
+    public int see(int move){
+    
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        long occupancy = getOccupancy() ^ (1L << from);
+        int[] gain = seeGain;
+        int d = 0;
+        
+        // value of the piece standing on target square after the move
+        int attackerValue = PieceType.ofId(Move.getPieceId(move)).getValue();
+        
+        if(Move.isEnPassant(move)){
+        
+            occupancy ^= 1L << ((from & 0x38) | (to & 7));
+        }
+        
+        gain[0] = Move.isCapture(move)
+                ? PieceType.ofId(Move.getCapturedId(move)).getValue() : 0;
+        
+        if(Move.isPromotion(move)){
+        
+            attackerValue = PieceType.ofId(Move.getPromotionId(move)).getValue();
+            gain[0] += attackerValue - PieceType.PAWN.getValue();
+        }
+        
+        long rookLike = pieceBoards[ROOK] | pieceBoards[QUEEN]
+                | pieceBoards[NUM_OF_TYPES + ROOK] | pieceBoards[NUM_OF_TYPES + QUEEN];
+        long bishopLike = pieceBoards[BISHOP] | pieceBoards[QUEEN]
+                | pieceBoards[NUM_OF_TYPES + BISHOP] | pieceBoards[NUM_OF_TYPES + QUEEN];
+        long attackers = attackersTo(to, occupancy) & occupancy;
+        int side = sideOf(Move.getPieceId(move)) ^ 1;
+        
+        while(true){
+        
+            long sideAttackers = attackers & sideBoards[side];
+            
+            if(sideAttackers == 0L){
+            
+                break;
+            }
+            
+            // least valuable attacker, types are visited in increasing value
+            int attackerType = PAWN;
+            long attacker = 0L;
+            
+            for(int type : seeTypeOrder){
+            
+                attacker = sideAttackers & pieceBoards[side * NUM_OF_TYPES + type];
+                
+                if(attacker != 0L){
+                
+                    attackerType = type;
+                    break;
+                }
+            }
+            
+            ++d;
+            gain[d] = attackerValue - gain[d - 1];
+            
+            // neither side can improve by continuing, the capture is not taken
+            if(Math.max(-gain[d - 1], gain[d]) < 0){
+            
+                --d;
+                break;
+            }
+            
+            occupancy ^= attacker & -attacker;
+            
+            // x-ray attackers behind the removed piece
+            attackers |= (SlidingAttackTable.rookAttacks(to, occupancy) & rookLike)
+                    | (SlidingAttackTable.bishopAttacks(to, occupancy) & bishopLike);
+            attackers &= occupancy;
+            
+            attackerValue = PieceType.ofIndex(attackerType).getValue();
+            side ^= 1;
+        }
+        
+        while(d > 0){
+        
+            gain[d - 1] = -Math.max(-gain[d - 1], gain[d]);
+            --d;
+        }
+        
+        return gain[0];
+    }
+    
+    /**
+     * Checks whether king of a side is in check, it is a constant time attack
+     * query on cached checker data
+     * @param side Side index (MACHINE_SIDE or HUMAN_SIDE)
+     * @return True if king is attacked
+     */
+    public boolean isInCheck(int side){
+    
+        return getCheckers(side) != 0L;
+    }
+    
+    /**
+     * Obtains enemy pieces that give check to king of a side, computed once per
+     * position
+     * @param side Side index of king (MACHINE_SIDE or HUMAN_SIDE)
+     * @return Checker pieces
+     */
+    public long getCheckers(int side){
+    
+        if((checkInfoValid & (1 << side)) == 0){
+        
+            computeCheckInfo(side);
+        }
+        
+        return checkers[side];
+    }
+    
+    /**
+     * Obtains own pieces of a side that are pinned to their king, computed once
+     * per position
+     * @param side Side index (MACHINE_SIDE or HUMAN_SIDE)
+     * @return Pinned pieces
+     */
+    public long getPinned(int side){
+    
+        if((checkInfoValid & (1 << side)) == 0){
+        
+            computeCheckInfo(side);
+        }
+        
+        return pinned[side];
+    }
+    
+    private void computeCheckInfo(int side){
+    
+        int kingSquare = getKingSquare(side);
+        long sideCheckers = 0L;
+        long sidePinned = 0L;
+        
+        if(kingSquare < 64){
+        
+            int enemyOffset = (side ^ 1) * NUM_OF_TYPES;
+            long occupancy = getOccupancy();
+            long enemyQueens = pieceBoards[enemyOffset + QUEEN];
+            
+            // enemy attacker identifiers of king square by attack map lookup
+            int checkerIds = attackMap.getAttackerIds(kingSquare)
+                    & (0xFFFF << ((side ^ 1) << 4));
+            
+            while(checkerIds != 0){
+            
+                sideCheckers |= 1L << pieceList.getSquare(
+                        Integer.numberOfTrailingZeros(checkerIds));
+                checkerIds &= checkerIds - 1;
+            }
+            
+            // enemy sliders on empty board lines of king, one own blocker pins
+            long snipers = (SlidingAttackTable.rookAttacks(kingSquare, 0L)
+                    & (pieceBoards[enemyOffset + ROOK] | enemyQueens))
+                    | (SlidingAttackTable.bishopAttacks(kingSquare, 0L)
+                    & (pieceBoards[enemyOffset + BISHOP] | enemyQueens));
+            
+            while(snipers != 0L){
+            
+                int sniper = Long.numberOfTrailingZeros(snipers);
+                long blockers = SlidingAttackTable.between(kingSquare, sniper)
+                        & occupancy;
+                
+                if(blockers != 0L && (blockers & (blockers - 1)) == 0L){
+                
+                    sidePinned |= blockers & sideBoards[side];
+                }
+                
+                snipers &= snipers - 1;
+            }
+        }
+        
+        checkers[side] = sideCheckers;
+        pinned[side] = sidePinned;
+        checkInfoValid |= 1 << side;
+    }
+    
+    /**
+     * Obtains side of a piece identifier
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @return Side index
+     */
+    public static int sideOf(int pieceId){
+    
+        return pieceId >>> 4;
+    }
+    
+    /**
+     * Obtains type index of a piece identifier
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @return Type index
+     */
+    public static int typeOf(int pieceId){
+    
+        return typeOfId[pieceId];
+    }
+    
+    private static int boardIndex(int pieceId){
     
-        gameBoard[col][row] = newVal;
+        return (pieceId >>> 4) * NUM_OF_TYPES + typeOfId[pieceId];
     }
 }
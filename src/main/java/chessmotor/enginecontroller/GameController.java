@@ -39,9 +39,7 @@ public class GameController implements IGameController, IInterOperationCalls{
         consoleUI = new ConsoleManager();
         
         // init. of game controller object
-        currGame = new Game(consoleUI, gameUI, true, 6,
-                10.0, 2, 
-                Duration.ofSeconds(3600), 1024);
+        currGame = new Game(consoleUI, gameUI, true, Duration.ofSeconds(3600));
         
         // init. of game log manager
         try{
@@ -142,8 +142,6 @@ public class GameLoader implements Runnable{
                     reader, PieceContainer.class));
             savedGame.setGameBoard(deserializer.fromJson(
                     reader, GameBoardData.class));
-            savedGame.setStepSequences(deserializer.fromJson(
-                    reader, StepDecisionTree.class));
             savedGame.setStepId(deserializer.fromJson(
                     reader, Integer.class));
             // todo, solve compile exception
@@ -210,7 +208,6 @@ public class GameLoader implements Runnable{
             serializer.toJson(savedGame.getGamePlayStatus(), writer);
             serializer.toJson(savedGame.getPieces(), writer);
             serializer.toJson(savedGame.getGameBoard(), writer);
-            serializer.toJson(savedGame.getStepSequences(), writer);
             serializer.toJson(savedGame.getStepId(), writer);
             serializer.toJson(savedGame.getSourceStepHistory(), writer);
             serializer.toJson(savedGame.getTargetStepHistory(), writer);
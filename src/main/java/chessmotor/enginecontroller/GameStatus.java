@@ -16,7 +16,6 @@ public class GameStatus extends GenericSaveStatus {
     //String gamePlayStatus
     //PieceContainer pieces
     //GameBoardData gameBoard
-    //StepDecisionTree stepSequences
     //int stepId
     //Stack<Step> sourceStepHistory
     //Stack<Step> targetStepHistory
@@ -64,11 +63,6 @@ public class GameStatus extends GenericSaveStatus {
         return (GameBoardData)entries.get("gameBoard");
     }
 
-    public StepDecisionTree getStepSequences() {
-        
-        return (StepDecisionTree)entries.get("stepSequences");
-    }
-
     public int getStepId() {
         
         return (int)entries.get("stepId");
@@ -121,11 +115,6 @@ public class GameStatus extends GenericSaveStatus {
         entries.put("gameBoard", gameBoard);
     }
 
-    public void setStepSequences(StepDecisionTree stepSequences) {
-        
-        entries.put("stepSequences", stepSequences);
-    }
-
     public void setStepId(int stepId) {
         
         entries.put("stepId", stepId);
@@ -2,15 +2,16 @@ package chessmotor.enginecontroller;
 
 import genmath.ComparableKey;
 
+// ordering key of generated steps, score in centipawns (see Score)
 public class GenTmpStepKey extends ComparableKey<GenTmpStepKey> {
 
-    public Double val = 0.0;
+    public int val = 0;
     
     public GenTmpStepKey(){
     
     }
     
-    public GenTmpStepKey(Double val){
+    public GenTmpStepKey(int val){
 
         super();
 
@@ -20,7 +21,7 @@ public class GenTmpStepKey extends ComparableKey<GenTmpStepKey> {
     @Override
     public GenTmpStepKey maxVal(){
 
-        return new GenTmpStepKey(Double.MAX_VALUE);
+        return new GenTmpStepKey(Integer.MAX_VALUE);
     }
 
     @Override
@@ -48,21 +49,21 @@ public class GenTmpStepKey extends ComparableKey<GenTmpStepKey> {
     @Override
     public int compareTo(GenTmpStepKey key) {
 
-        return val.compareTo(key.val);
+        return Integer.compare(val, key.val);
     }
 
     
     @Override
     public int len(){
     
-        return val.toString().length();
+        return Integer.toString(val).length();
     }
     
     
     @Override
     public int at(int pos){
     
-        return val.toString().charAt(pos);
+        return Integer.toString(val).charAt(pos);
     }
     
 
@@ -86,6 +87,6 @@ public class GenTmpStepKey extends ComparableKey<GenTmpStepKey> {
 
     public static GenTmpStepKey fromString(String rawData) {
 
-        return new GenTmpStepKey(Double.parseDouble(rawData));
+        return new GenTmpStepKey(Integer.parseInt(rawData));
     }
 }
\ No newline at end of file
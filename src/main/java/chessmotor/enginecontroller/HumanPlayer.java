@@ -2,14 +2,12 @@ package chessmotor.enginecontroller;
 
 import chessmotor.enginecontroller.interfaces.IPlayer;
 import chessmotor.enginecontroller.interfaces.IGame;
-import chessmotor.enginecontroller.piecetypes.GenPiece;
+import chessmotor.enginecontroller.piecetypes.PieceType;
 import genmath.genmathexceptions.IllConditionedDataException;
 import genmath.genmathexceptions.NoObjectFoundException;
 import genmath.genmathexceptions.ValueOutOfRangeException;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.Stack;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -18,17 +16,20 @@ public class HumanPlayer implements IPlayer{
     private IGame gameRef;
     private PieceContainer piecesRef;
     private GameBoardData gameBoardRef;
-    private StepDecisionTree stepSequencesRef;
     private boolean isInCheck;
     private Stack<Integer> removedPiecesRef;
     private Stack<Integer> removedMachinePiecesRef;
-    private boolean machineBegins;
-    private double score;
+    // aggregated score in centipawns (see Score)
+    private int score;
     private Integer stepIdRef;
     
     private Duration time;
     private LocalDateTime intervalStart;
     
+    // legal moves of the current turn by origin square for validation and
+    //  target highlighting purposes
+    private LegalMoveSet legalMoves;
+    
     private AtomicBoolean giveUpHumanPlayerGameController;
     
     /**
@@ -36,13 +37,12 @@ public class HumanPlayer implements IPlayer{
      * @param gameRef reference to game handler object
      * @param piecesRef reference to pieces container
      * @param gameBoardRef reference to game board
-     * @param stepSequencesRef reference to step generation tree
      * @param isInCheck whether player is in check
      * @param removedPiecesRef reference to removed machine player pieces
      * @param removedMachinePiecesRef reference to human player pieces
      * @param score aggregated score that was gathered, achieved during current 
      *              status of play, this value is required for status initialization 
-     *              (also for status load)
+     *              (also for status load) in centipawns
      * @param stepIdRef reference to step identifier
      * @param time recently consumed, elapsed time from available provided player 
      *             time
@@ -53,11 +53,10 @@ public class HumanPlayer implements IPlayer{
             IGame gameRef,
             PieceContainer piecesRef,
             GameBoardData gameBoardRef,
-            StepDecisionTree stepSequencesRef,
             boolean isInCheck,
             Stack<Integer> removedPiecesRef,
             Stack<Integer> removedMachinePiecesRef,
-            double score,
+            int score,
             Integer stepIdRef,
             Duration time,
             LocalDateTime intervalStart,
@@ -66,7 +65,6 @@ public class HumanPlayer implements IPlayer{
         this.gameRef = gameRef;
         this.piecesRef = piecesRef;
         this.gameBoardRef = gameBoardRef;
-        this.stepSequencesRef = stepSequencesRef;
         this.isInCheck = isInCheck;
         this.removedPiecesRef = removedPiecesRef;
         this.removedMachinePiecesRef = removedMachinePiecesRef;
@@ -75,16 +73,18 @@ public class HumanPlayer implements IPlayer{
         this.time = time;
         this.intervalStart = intervalStart;
         this.giveUpHumanPlayerGameController.set(giveUpHumanPlayerGameController);
+        
+        legalMoves = new LegalMoveSet();
     }
     
     /**
-     * Returns score of human player
-     * @return Current score
+     * Returns display value of score of human player
+     * @return Current score in pawn units
      */
     @Override
     public double getScore(){
     
-        return score;
+        return Score.toPawns(score);
     }
     
     /**
@@ -103,8 +103,7 @@ public class HumanPlayer implements IPlayer{
     @Override
     public void stopClock(){
     
-        time.plus(LocalDateTime.now().until(
-            intervalStart, ChronoUnit.SECONDS), ChronoUnit.SECONDS);
+        time = time.plus(Duration.between(intervalStart, LocalDateTime.now()));
     }
     
     /**
@@ -130,6 +129,7 @@ public class HumanPlayer implements IPlayer{
      * An universal human player/user action handler. It manages first steps, 
      * further steps, castling, promotion, hit, illegal dual step, illegal step.
      * @throws Exception
+     *         It is not the turn of human player
      *         GUI module exceptions
      *         Inappropriate user input
      *         Ill conditioned source-target pairs
@@ -141,14 +141,20 @@ public class HumanPlayer implements IPlayer{
      *         Target rank out of range
      *         Target file out of range
      *         Illegally selected target step
-     *         DualStep range violations at step creation
-     *         Disallowed castling
-     *         Step range violations at step creation
-     *         StepDecisionTree exceptions (see further)
+     *         Unavailable type of promoted piece
      */
     @Override
     public void getNextStep() throws Exception{
         
+        // the moves of the human player are generated and made on the live 
+        //  board only in its turn, otherwise the side to move would be 
+        //  desynchronized
+        if(gameBoardRef.getSideToMove() != GameBoardData.HUMAN_SIDE){
+        
+            throw new IllConditionedDataException("It is not the turn of "
+                    + "human player.");
+        }
+        
         String action;
         action = gameRef.readHumanPlayerAction();
         
@@ -199,14 +205,17 @@ public class HumanPlayer implements IPlayer{
                     + "provided position.");
         }
         
-        if(isInCheck && gameBoardRef.get(sourceSelectedRank, sourceSelectedFile) != 11){
+        // legal moves are generated once per turn, further inputs of the turn
+        //  are validated by bit tests
+        legalMoves.update(gameBoardRef, GameBoardData.HUMAN_SIDE);
+        
+        int sourceSquare = sourceSelectedRank * 8 + sourceSelectedFile;
+        
+        if(isInCheck && legalMoves.getTargets(sourceSquare) == 0L){
         
             throw new Exception("Player is in check. Resolve check.");
         }
         
-        GenPiece selectedPiece = 
-            piecesRef.get(gameBoardRef.get(sourceSelectedRank, sourceSelectedFile));
-        
         if(param[1].length() != 2){
         
             throw new IllConditionedDataException("Ill given target position.");
@@ -229,93 +238,18 @@ public class HumanPlayer implements IPlayer{
         
         targetSelectedFile = (int)param[0].charAt(1);
         
-        if(!(selectedPiece.generateSteps(gameBoardRef).contains(
-                new Pair(targetSelectedRank, targetSelectedFile)))){
+        int targetSquare = targetSelectedRank * 8 + targetSelectedFile;
+        
+        if(!legalMoves.isLegal(sourceSquare, targetSquare)){
         
             throw new Exception("Illegal selected step by chosen piece.");
         }
         
-        // case of castling
-        boolean castlingOccurred = false;
-        boolean pawnReplacementOccurred = false;
-        
-        GenPiece selectedSecondPiece = piecesRef.get(
-                gameBoardRef.get(targetSelectedRank, targetSelectedFile));
+        int move = legalMoves.getMove(sourceSquare, targetSquare, -1);
         
-        if(selectedPiece.getTypeName().contains("king") 
-            && selectedSecondPiece.getTypeName().contains("rook") 
-            && selectedPiece.getRank() == 7 && selectedSecondPiece.getRank() == 7){
+        // the type of promoted piece is selected from the removed pieces
+        if(Move.isPromotion(move)){
         
-            // suboptimal condition tests
-            
-            // selectedRook = pieces[gameBoard[targetSelectedRank][targetSelectedFile]];
-            boolean emptyInterFiles = true;
-            
-            if(selectedPiece.getFile() < selectedSecondPiece.getFile()){
-            
-                for(int fileInd = 5; fileInd < 7 && emptyInterFiles; ++fileInd){
-                
-                    emptyInterFiles = gameBoardRef.get(7, fileInd) == -1;
-                }
-                
-                if(emptyInterFiles){
-                
-                    // perform castling
-                    gameRef.addTargetStep(new DualStep("castling", 
-                            11 + 16, 15 + 16, 7, 4, 7, 
-                            7, 0.0, 0,
-                            0.0));
-
-                    gameBoardRef.set(7, 4, -1);
-                    selectedPiece.setFile(6);
-                    gameBoardRef.set(7, 6, 11 + 16);
-                    gameBoardRef.set(7, 7, -1);
-                    selectedSecondPiece.setFile(5);
-                    gameBoardRef.set(7, 5, 15 + 16);
-                    
-                    castlingOccurred = true;
-                }
-            }
-            else{
-                
-                for(int fileInd = 1; fileInd < 4 && emptyInterFiles; ++fileInd){
-                 
-                    emptyInterFiles = gameBoardRef.get(7, fileInd) == -1;
-                }
-                
-                if(emptyInterFiles){
-                
-                    // perform castling
-                    gameRef.addTargetStep(new DualStep("castling", 
-                            16 + 11, 8 + 16, 7, 4, 7, 
-                            0, 0.0, 0,
-                            0.0));
-                    
-                    gameBoardRef.set(7, 4, -1);
-                    selectedPiece.setFile(1);
-                    gameBoardRef.set(7, 2, 11 + 16);
-                    gameBoardRef.set(7, 0, -1);
-                    selectedSecondPiece.setFile(2);
-                    gameBoardRef.set(7, 3, 8 + 16);
-                    
-                    castlingOccurred = true;
-                }
-            }
-            
-            if(!emptyInterFiles){
-            
-                throw new Exception("Castling cannot be executed due to "
-                        + "occupied squares.");
-            }
-        }
-        else if(selectedPiece.getTypeName().contains("pawn") 
-                && sourceSelectedRank == 0 
-                && sourceSelectedRank == targetSelectedRank 
-                && sourceSelectedFile == targetSelectedFile){
-       
-            // the visualized removed pieces are weakly coupled with index based
-            //  explicit removed pieces conatiner, in this case type search is 
-            //  required to select a proper piece from container
             String selectedTypeName = gameRef.selectPawnReplacement();
         
             if(giveUpHumanPlayerGameController.get()){
@@ -324,202 +258,95 @@ public class HumanPlayer implements IPlayer{
                 return;
             }
             
-            int sizeOfRemovedHumanPieces = removedPiecesRef.size();
+            move = legalMoves.getMove(sourceSquare, targetSquare, 
+                    PieceType.ofTypeName(selectedTypeName).index());
+            
+            if(move == Move.NONE){
             
-            for(int i = 0; i < sizeOfRemovedHumanPieces; ++i){
-                
-                if(piecesRef.get(removedPiecesRef.get(i))
-                        .getTypeName().equals(selectedTypeName)){
-                
-                    pawnReplacementOccurred = true;
-                    
-                    selectedSecondPiece = piecesRef.get(removedPiecesRef.get(i));
-                    
-                    gameRef.addTargetStep(new DualStep(
-                            "promotion", selectedPiece.getPieceId(), 
-                            selectedSecondPiece.getPieceId(),
-                            sourceSelectedRank, sourceSelectedFile, 
-                            targetSelectedRank, targetSelectedFile,
-                            0.0, 0, 0.0));
-                    
-                    selectedPiece.setRank(sourceSelectedRank);
-                    selectedPiece.setFile(sourceSelectedFile);
-                    selectedSecondPiece.setRank(targetSelectedRank);
-                    selectedSecondPiece.setFile(targetSelectedFile);
-                    gameBoardRef.set(targetSelectedRank, targetSelectedFile, 
-                            removedPiecesRef.get(i));
-                    
-                    removedPiecesRef.removeElementAt(i);
-                    removedPiecesRef.add(selectedPiece.getPieceId());
-                    
-                    break;
-                }
+                throw new NoObjectFoundException("No removed piece of the "
+                        + "selected type is available.");
             }
         }
-        else{
         
-            // in case of hit as well
-
-            selectedPiece.setRank(targetSelectedRank);
-            selectedPiece.setFile(targetSelectedFile);
-
-            gameBoardRef.set(targetSelectedRank, targetSelectedFile, 
-                gameBoardRef.get(sourceSelectedRank, sourceSelectedFile));
-
-            gameRef.addTargetStep(new Step("hit", 
-                    gameBoardRef.get(sourceSelectedRank, 
-                    sourceSelectedFile), sourceSelectedRank, 
-                    sourceSelectedFile, 0.0,
-                    0, 0.0));
-            gameBoardRef.set(sourceSelectedRank, sourceSelectedFile, -1);
-        }
+        int pieceId = Move.getPieceId(move);
         
-        Step currStep;
-        if(castlingOccurred){
+        // material gained by the move
+        int value = 0;
         
-            currStep = new DualStep("castling", selectedPiece.getPieceId(), 
-                    selectedSecondPiece.getPieceId(), selectedPiece.getRank(),
-                    selectedPiece.getFile(), selectedSecondPiece.getRank(), 
-                    selectedSecondPiece.getFile(), 0.0, 0,
-                    0.0);
-            
-            gameRef.setSquareHighlighted(selectedPiece.getRank(),
-                    selectedPiece.getFile());
-            gameRef.setSquareHighlighted(selectedSecondPiece.getRank(),
-                selectedSecondPiece.getFile());
-        }
-        else if(pawnReplacementOccurred){
+        if(Move.isCapture(move)){
         
-            currStep = new DualStep("promotion", selectedPiece.getPieceId(),
-                    selectedSecondPiece.getPieceId(), selectedPiece.getRank(),
-                    selectedPiece.getFile(), selectedSecondPiece.getRank(), 
-                    selectedSecondPiece.getFile(), 0.0, 0,
-                    0.0);
-            
-            gameRef.setSquareHighlighted(selectedPiece.getRank(),
-                    selectedPiece.getFile());
-            gameRef.setSquareHighlighted(selectedSecondPiece.getRank(),
-                    selectedSecondPiece.getFile());
+            value += PieceType.ofId(Move.getCapturedId(move)).getValue();
+            removedMachinePiecesRef.add(Move.getCapturedId(move));
         }
-        else{
-            
-            currStep  = new Step("standard", selectedPiece.getPieceId(), 
-                    selectedPiece.getRank(), selectedPiece.getFile(), 0.0,
-                    0, 0.0);// comparing currently created step
-            
-            gameRef.setSquareHighlighted(selectedPiece.getRank(),
-                    selectedPiece.getFile());
+        
+        if(Move.isPromotion(move)){
+        
+            value += PieceType.ofId(Move.getPromotionId(move)).getValue()
+                    - PieceType.PAWN.getValue();
+            removedPiecesRef.remove(Integer.valueOf(Move.getPromotionId(move)));
+            removedPiecesRef.add(pieceId);
         }
         
-        Step selectedStep;
+        gameRef.addSourceStep(Step.createUnchecked(
+                Move.isCapture(move) ? "hit" : "standard", pieceId, 
+                sourceSelectedRank, sourceSelectedFile, value, 0, value));
         
-        if(stepSequencesRef.size() > 2){
+        gameBoardRef.makeMove(move);
         
-            // finding step node with given position
-            ArrayList<GenStepKey> levelKeys = stepSequencesRef.getLevelKeys(1);
-
-            int sizeOfLevelKeys = levelKeys.size();
-
-            int i = 0;
-
-            for(; i < sizeOfLevelKeys; ++i){
-
-                selectedStep = stepSequencesRef.getByKey(levelKeys.get(i));
-
-                if(selectedStep.equals(currStep)){
-
-                    break;
-                }
-            }
-            
-            // TASK) shift tree with one level, throw root away (root displacement)
-            stepSequencesRef.setNewRootByKey(levelKeys.get(i));
-            
-            gameRef.addTargetStep(stepSequencesRef.getByKey(levelKeys.get(i)));
-            
-            // TASK) rename step node keys/identifiers (cyclic renaming)
-            //       in order to limit the key length (comparison optimization)
-            stepSequencesRef.trimKeys();
-            
-            score += gameRef.getTargetStep(gameRef.getTargetStepHistorySize() - 1).getValue();
+        // piece objects of the GUI boundary follow the board
+        piecesRef.syncPosition(pieceId);
+        
+        if(Move.isPromotion(move)){
+        
+            piecesRef.syncPosition(Move.getPromotionId(move));
         }
-        else{
-            
-            // piece removal in case of hit
-            // direct use without lookup due to initial step
-            if(gameBoardRef.get(targetSelectedRank, targetSelectedFile) != -1){
-
-                removedMachinePiecesRef.add(
-                    gameBoardRef.get(targetSelectedRank, targetSelectedFile));
-            
-                selectedStep = new Step("hit",
-                    gameBoardRef.get(targetSelectedRank, targetSelectedFile), 
-                    targetSelectedRank, targetSelectedFile, 
-                    selectedPiece.getDynamicValue(), 0,
-                    selectedPiece.getDynamicValue());
-            }
-            else{
-                
-                selectedStep = new Step("standard",
-                    gameBoardRef.get(targetSelectedRank, targetSelectedFile), 
-                    targetSelectedRank, targetSelectedFile, 
-                    selectedPiece.getDynamicValue(), 0,
-                    selectedPiece.getDynamicValue());
-            }
-            
-            if(machineBegins){
-                
-                stepSequencesRef.addOne(new GenStepKey("a"), 
-                        new GenStepKey("aa"), selectedStep);
-                // saving previous level status
-                stepSequencesRef.addToHistoryStack("aa", selectedStep);
-            }
-            else{
-            
-                stepSequencesRef.addOne(new GenStepKey("a"), 
-                        new GenStepKey("a"), selectedStep);
-                // saving previous level status
-                stepSequencesRef.addToHistoryStack("a", selectedStep);
-            }
-            
-            gameRef.addTargetStep(selectedStep);
-            
-            //humanScore = 0.0;// initial step has taken
+        
+        if(Move.isCastling(move)){
+        
+            piecesRef.syncPosition(Move.getCastlingRookId(move));
         }
         
+        gameRef.addTargetStep(Move.toStep(move, value, 0, value));
+        gameRef.setSquareHighlighted(targetSelectedRank, targetSelectedFile);
+        
+        score += value;
+        
         ++stepIdRef;
     }
     
     /**
      * Validates human player after machine player took step
      * @throws Exception
-     *         StepDecisionTree exception (see further)
+     *         Inherited exceptions
      */
     @Override
     public void validateStatus() throws Exception{
     
-        // looking for check mate on human king piece
+        // looking for check mate on human king piece, constant time attack query
+        isInCheck = gameBoardRef.isInCheck(GameBoardData.HUMAN_SIDE);
         
-        ArrayList<GenStepKey> levelKeys = stepSequencesRef.getLevelKeys(1);
-
-        int sizeOfLevelKeys = levelKeys.size();
-
-        Step step;
-        for(int i = 0; i < sizeOfLevelKeys; ++i){
-
-            step = stepSequencesRef.getByKey(levelKeys.get(i));
-
-            if(gameBoardRef.get(step.getRank(), step.getFile()) == 11 + 16){
-
-                // human king is in check
-                isInCheck = true;
-            }
-        }
+        // the turn of human player starts, its legal moves are collected once
+        legalMoves.update(gameBoardRef, GameBoardData.HUMAN_SIDE);
         
-        if(isInCheck && piecesRef.get(11 + 16).generateSteps(gameBoardRef).isEmpty()){
+        if(isInCheck && legalMoves.isEmpty()){
         
             gameRef.setGamePlayStatus("LOSE");
-        }        
+        }
+    }
+    
+    /**
+     * Obtains legal target squares of the piece at a given square in the 
+     * current position, it is intended for target highlighting
+     * @param rank Rank of selected piece
+     * @param file File of selected piece
+     * @return Mask of target squares (bit index is rank * 8 + file), 0 if the 
+     *         square has no human piece with legal move
+     */
+    public long getLegalTargets(int rank, int file){
+    
+        legalMoves.update(gameBoardRef, GameBoardData.HUMAN_SIDE);
+        
+        return legalMoves.getTargets(rank * 8 + file);
     }
     
     /**
@@ -0,0 +1,124 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Precomputed attack masks for leaper pieces (knight, king, pawn). Each table
+ * has one 64-bit mask per square, pawn tables are separated by side. Squares
+ * are indexed as rank * 8 + file, see GameBoardData. Machine pawns advance
+ * toward increasing ranks, human pawns advance toward decreasing ranks.
+ */
+public final class LeaperAttackTable {
+
+    private static final long[] knightAttacks = new long[64];
+    private static final long[] kingAttacks = new long[64];
+    // indexed by side * 64 + square
+    private static final long[] pawnAttacks = new long[128];
+    private static final long[] pawnPushes = new long[128];
+    private static final long[] pawnDoublePushes = new long[128];
+    
+    static{
+    
+        int[][] knightOffsets = {
+            {2, 1}, {1, 2}, {-1, 2}, {-2, 1}, {-2, -1}, {-1, -2}, {1, -2}, {2, -1}
+        };
+        
+        int[][] kingOffsets = {
+            {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}
+        };
+        
+        for(int square = 0; square < 64; ++square){
+        
+            int rank = square >>> 3;
+            int file = square & 7;
+            
+            knightAttacks[square] = offsetMask(rank, file, knightOffsets);
+            kingAttacks[square] = offsetMask(rank, file, kingOffsets);
+            
+            // machine pawns
+            pawnAttacks[square] = offsetMask(rank, file,
+                    new int[][]{{1, -1}, {1, 1}});
+            pawnPushes[square] = offsetMask(rank, file, new int[][]{{1, 0}});
+            pawnDoublePushes[square] = rank == 1
+                    ? offsetMask(rank, file, new int[][]{{2, 0}}) : 0L;
+            
+            // human pawns
+            pawnAttacks[64 + square] = offsetMask(rank, file,
+                    new int[][]{{-1, -1}, {-1, 1}});
+            pawnPushes[64 + square] = offsetMask(rank, file, new int[][]{{-1, 0}});
+            pawnDoublePushes[64 + square] = rank == 6
+                    ? offsetMask(rank, file, new int[][]{{-2, 0}}) : 0L;
+        }
+    }
+    
+    private LeaperAttackTable(){
+    
+    }
+    
+    /**
+     * Obtains knight attack set
+     * @param square Square of knight in range of [0, 64)
+     * @return Attacked squares
+     */
+    public static long knightAttacks(int square){
+    
+        return knightAttacks[square];
+    }
+    
+    /**
+     * Obtains king attack set
+     * @param square Square of king in range of [0, 64)
+     * @return Attacked squares
+     */
+    public static long kingAttacks(int square){
+    
+        return kingAttacks[square];
+    }
+    
+    /**
+     * Obtains diagonal pawn capture squares
+     * @param side Side of pawn (MACHINE_SIDE or HUMAN_SIDE of GameBoardData)
+     * @param square Square of pawn in range of [0, 64)
+     * @return Attacked squares
+     */
+    public static long pawnAttacks(int side, int square){
+    
+        return pawnAttacks[(side << 6) + square];
+    }
+    
+    /**
+     * Obtains available pawn push squares without captures
+     * @param side Side of pawn (MACHINE_SIDE or HUMAN_SIDE of GameBoardData)
+     * @param square Square of pawn in range of [0, 64)
+     * @param occupancy Occupancy of both sides
+     * @return Single push square and double push square from initial rank if
+     *         the path is free
+     */
+    public static long pawnPushes(int side, int square, long occupancy){
+    
+        long pushes = pawnPushes[(side << 6) + square] & ~occupancy;
+        
+        if(pushes != 0L){
+        
+            pushes |= pawnDoublePushes[(side << 6) + square] & ~occupancy;
+        }
+        
+        return pushes;
+    }
+    
+    private static long offsetMask(int rank, int file, int[][] offsets){
+    
+        long mask = 0L;
+        
+        for(int[] offset : offsets){
+        
+            int sRank = rank + offset[0];
+            int sFile = file + offset[1];
+            
+            if(sRank >= 0 && sRank < 8 && sFile >= 0 && sFile < 8){
+            
+                mask |= 1L << (sRank * 8 + sFile);
+            }
+        }
+        
+        return mask;
+    }
+}
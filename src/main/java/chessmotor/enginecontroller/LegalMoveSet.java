@@ -0,0 +1,170 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Legal moves of a side in a position, stored as one 64-bit target mask per
+ * origin square. The set is generated once per position (turn), afterwards
+ * validation of a move and target highlighting of a selected piece are single
+ * bit tests. Castling moves are registered with the square of the castling
+ * rook as well, since the user selects the rook as target of the king.
+ */
+public class LegalMoveSet {
+
+    private final long[] targets;
+    private long origins;
+    
+    // key of the position the set has been generated for: the hash covers
+    //  piece types only, the identifiers in the moves (e.g. promotion by a
+    //  removed piece) depend on the removed pieces and the made moves
+    private long positionHash;
+    private int removedIds;
+    private int undoSize;
+    private int side;
+    private boolean generated;
+    
+    private final MoveList moves;
+    
+    /**
+     * Default constructor, the set is empty until update()
+     */
+    public LegalMoveSet(){
+    
+        targets = new long[64];
+        moves = new MoveList();
+    }
+    
+    /**
+     * Generates the legal moves of a side if the position (hash, removed
+     * pieces or undo stack size) has changed since the recent generation
+     * @param board Game board of the position
+     * @param side Side to collect the moves of
+     */
+    public void update(GameBoardData board, int side){
+    
+        long hash = board.hash();
+        int removed = board.getRemovedIds(GameBoardData.MACHINE_SIDE)
+                | board.getRemovedIds(GameBoardData.HUMAN_SIDE);
+        int madeMoves = board.getUndoSize();
+        
+        if(generated && hash == positionHash && removed == removedIds
+                && madeMoves == undoSize && side == this.side){
+            
+            return;
+        }
+        
+        clear();
+        
+        MoveGenerator.generateAll(side, board, moves);
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            int move = moves.get(i);
+            int from = Move.getFrom(move);
+            
+            targets[from] |= 1L << Move.getTo(move);
+            
+            if(Move.isCastling(move)){
+            
+                targets[from] |= 1L << Move.getCastlingRookFrom(move);
+            }
+            
+            origins |= 1L << from;
+        }
+        
+        positionHash = hash;
+        removedIds = removed;
+        undoSize = madeMoves;
+        this.side = side;
+        generated = true;
+    }
+    
+    /**
+     * Drops the generated moves, the next update() generates them again
+     */
+    public void clear(){
+    
+        for(int square = 0; square < 64; ++square){
+        
+            targets[square] = 0L;
+        }
+        
+        origins = 0L;
+        moves.clear();
+        generated = false;
+    }
+    
+    /**
+     * Checks whether a move is legal in the recently updated position
+     * @param from Origin square
+     * @param to Target square
+     * @return True if the piece at the origin square can move to the target
+     */
+    public boolean isLegal(int from, int to){
+    
+        return (targets[from] & (1L << to)) != 0L;
+    }
+    
+    /**
+     * Obtains a legal move of the recently updated position
+     * @param from Origin square
+     * @param to Target square, the square of the castling rook is accepted as
+     *        target of castling
+     * @param promotionType Type index of the promoted piece (see
+     *        GameBoardData), -1 selects the first promotion, it is ignored in
+     *        case of other moves
+     * @return Packed move, Move.NONE if there is no such legal move
+     */
+    public int getMove(int from, int to, int promotionType){
+    
+        for(int i = 0; i < moves.size(); ++i){
+        
+            int move = moves.get(i);
+            
+            if(Move.getFrom(move) != from){
+            
+                continue;
+            }
+            
+            if(Move.getTo(move) != to && !(Move.isCastling(move)
+                    && Move.getCastlingRookFrom(move) == to)){
+                
+                continue;
+            }
+            
+            if(!Move.isPromotion(move) || promotionType == -1
+                    || GameBoardData.typeOf(Move.getPromotionId(move)) == promotionType){
+                
+                return move;
+            }
+        }
+        
+        return Move.NONE;
+    }
+    
+    /**
+     * Obtains legal target squares of a piece (e.g. for highlighting)
+     * @param from Origin square
+     * @return Mask of target squares, bit index equals to square index
+     */
+    public long getTargets(int from){
+    
+        return targets[from];
+    }
+    
+    /**
+     * Obtains origin squares of pieces with at least one legal move
+     * @return Mask of origin squares
+     */
+    public long getOrigins(){
+    
+        return origins;
+    }
+    
+    /**
+     * Checks whether the side has no legal move (check mate or stalemate)
+     * @return True if there is no legal move
+     */
+    public boolean isEmpty(){
+    
+        return origins == 0L;
+    }
+}
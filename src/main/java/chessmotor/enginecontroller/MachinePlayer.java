@@ -2,44 +2,64 @@ package chessmotor.enginecontroller;
 
 import chessmotor.enginecontroller.interfaces.IPlayer;
 import chessmotor.enginecontroller.interfaces.IGame;
-import chessmotor.enginecontroller.piecetypes.GenPiece;
-import genmath.genmathexceptions.ValueOutOfRangeException;
+import chessmotor.enginecontroller.piecetypes.PieceType;
+import genmath.genmathexceptions.IllConditionedDataException;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.Stack;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 
 public class MachinePlayer implements IPlayer{
     
+    // default size of transposition table in megabytes
+    public static final int DEFAULT_HASH_SIZE = 64;
+    
+    // expected number of further machine steps, the remaining time is shared
+    //  among them
+    private static final int MOVES_TO_GO = 25;
+    // reserved time for step overhead (GUI update, clock inaccuracy) in 
+    //  milliseconds
+    private static final long TIME_RESERVE = 50;
+    
     private IGame gameRef;
     private PieceContainer piecesRef;
     private GameBoardData gameBoardRef;
-    private StepDecisionTree stepSequencesRef;
+    // depth limit of move search in plies
+    private int searchDepth;
+    // size of transposition table of move search in megabytes
+    private int hashSize;
+    // provided time for the whole game play
+    private Duration timeLimit;
     private boolean isInCheck;
     private Stack<Integer> removedPiecesRef;
     private Stack<Integer> removedHumanPiecesRef;
-    private double score;
+    // aggregated score in centipawns (see Score)
+    private int score;
     private Integer stepIdRef;
     
     private Duration time;
     private LocalDateTime intervalStart;
+    
+    // reused list of generated steps for validation purposes
+    private MoveList generatedSteps;
+    
+    // move source of the machine, the search threads share a transposition
+    //  table
+    private transient ParallelSearcher searcher;
 
     /**
      * Parameterized constructor
      * @param gameRef reference to game handler object
      * @param piecesRef reference to pieces container
      * @param gameBoardRef reference to game board
-     * @param stepSequencesRef reference to step generation tree
+     * @param searchDepth depth limit of move search in plies, the search is
+     *        driven by the remaining time within this limit
+     * @param timeLimit provided time for the whole game play
      * @param isInCheck whether player is in check
      * @param removedPiecesRef reference to removed machine player pieces
      * @param removedHumanPiecesRef reference to human player pieces
      * @param score aggregated score that was gathered, achieved during current 
      *              status of play, this value is required for status initialization 
-     *              (also for status load)
+     *              (also for status load) in centipawns
      * @param stepIdRef reference to step identifier
      * @param time recently consumed, elapsed time from available provided player 
      *             time
@@ -49,11 +69,12 @@ public class MachinePlayer implements IPlayer{
             IGame gameRef,
             PieceContainer piecesRef,
             GameBoardData gameBoardRef,
-            StepDecisionTree stepSequencesRef, 
+            int searchDepth, 
+            Duration timeLimit,
             boolean isInCheck,
             Stack<Integer> removedPiecesRef,
             Stack<Integer> removedHumanPiecesRef,
-            double score,
+            int score,
             Integer stepIdRef,
             Duration time,
             LocalDateTime intervalStart){
@@ -61,7 +82,8 @@ public class MachinePlayer implements IPlayer{
         this.gameRef = gameRef;
         this.piecesRef = piecesRef;
         this.gameBoardRef = gameBoardRef;
-        this.stepSequencesRef = stepSequencesRef;
+        setSearchDepth(searchDepth);
+        this.timeLimit = timeLimit;
         this.isInCheck = isInCheck;
         this.removedPiecesRef = removedPiecesRef;
         this.removedHumanPiecesRef = removedHumanPiecesRef;
@@ -69,16 +91,21 @@ public class MachinePlayer implements IPlayer{
         this.stepIdRef = stepIdRef;
         this.time = time;
         this.intervalStart = intervalStart;
+        
+        generatedSteps = new MoveList();
+        hashSize = DEFAULT_HASH_SIZE;
+        // the table is allocated at the first search
+        searcher = null;
     }
     
     /**
-     * Returns score of machine player
-     * @return Current score
+     * Returns display value of score of machine player
+     * @return Current score in pawn units
      */
     @Override
     public double getScore(){
     
-        return score;
+        return Score.toPawns(score);
     }
     
     /**
@@ -97,8 +124,7 @@ public class MachinePlayer implements IPlayer{
     @Override
     public void stopClock(){
     
-        time.plus(LocalDateTime.now().until(
-            intervalStart, ChronoUnit.SECONDS), ChronoUnit.SECONDS);
+        time = time.plus(Duration.between(intervalStart, LocalDateTime.now()));
     }
     
     /**
@@ -111,295 +137,147 @@ public class MachinePlayer implements IPlayer{
         return time;
     }
     
-    /**
-     * It generates first step of machine
-     * @throws Exception 
-     *         Rank or file is out of range, 
-     *         Addition error (index out of bound),
-     *         Index out of bounds at LinTreeMap,
-     *         Key-value is null, no parent key has been found, 
-     *         Key duplication/redundancy/preexisting key
-     */
-    public void generateFirstMachineStep() throws Exception{
-    
-        stepSequencesRef.generateFirstMachineStep();
-    }
-    
-    /**
-     * Builds machine strategy respect to player beginning configuration
-     * @throws Exception
-     *         Number of threads can not be obtained, 
-     *         Underflow of newly assigned storage capacity comparing to previously 
-     *          used (data loss)
-     *         InterruptedException of time delay
-     *         Storage reservation underflow, 
-     *         Chunk is empty,
-     *         Multiple roots have been found, 
-     *         Specified root key has not been found
-     */
-    public void buildStrategy() throws Exception{
-    
-        int numberOfThreads = Runtime.getRuntime().availableProcessors();
-        
-        if(numberOfThreads == 0){
-        
-            throw new ValueOutOfRangeException("Unable to detect number of available " 
-                    + "concurrent threads for execution.");
-        }
-        
-        // executor service is only used at parallel generation
-        ExecutorService generatorMgr = Executors.newFixedThreadPool(numberOfThreads);
-        StepDecisionTree initStepSequences = new StepDecisionTree(stepSequencesRef);
-        ArrayList<StepDecisionTree> stepSequencesChunks = new ArrayList<>();
-       
-        // build step decision tree in parallel mode for the first time
-        
-        // the number of possible steps is much higher than the number of 
-        //  concurrent threads
-        
-        int memReq = 10000;// for the first time to avoid frequent allocations
-
-        for(int threadId = 0; threadId < numberOfThreads; ++threadId){
-
-            initStepSequences.reserveMem(memReq / numberOfThreads);
-            initStepSequences.setFracNo(threadId);
-            stepSequencesChunks.add(new StepDecisionTree(initStepSequences));
-            generatorMgr.execute(stepSequencesChunks.get(threadId));
-        }
-
-        // todo compute dynamic timeout for generation according to cpu performance
-        generatorMgr.awaitTermination(120000, TimeUnit.MILLISECONDS);
-
-        for(int threadId = 0; threadId < numberOfThreads; ++threadId){
-
-            stepSequencesRef.unite(stepSequencesChunks.get(threadId));
-        }
-    }
-    
     /**
      * Validates machine player after human player took step
      * @throws Exception 
-     *         StepDecisionTree exception (see further)
+     *         Inherited exceptions
      */
     @Override
     public void validateStatus() throws Exception{
     
-        // looking of check mate on machine king piece
-        
-        ArrayList<GenStepKey> levelKeys = stepSequencesRef.getLevelKeys(1);
-        
-        int sizeOfLastNonLeafLevelKeys = levelKeys.size();
+        // looking for check mate on machine king piece, constant time attack query
+        isInCheck = gameBoardRef.isInCheck(GameBoardData.MACHINE_SIDE);
         
-        Step step;
-        for(int i = 0; i < sizeOfLastNonLeafLevelKeys; ++i){
+        if(isInCheck){
         
-            step = stepSequencesRef.getByKey(levelKeys.get(i));
+            generatedSteps.clear();
+            MoveGenerator.generateEvasions(gameBoardRef, GameBoardData.MACHINE_SIDE, 
+                    generatedSteps);
             
-            if(gameBoardRef.get(step.getRank(), step.getFile()) == 11){
+            if(generatedSteps.isEmpty()){
             
-                // machine king is in check
-                isInCheck = true;
+                gameRef.setGamePlayStatus("WIN");
             }
         }
-        
-        if(isInCheck && piecesRef.get(11).generateSteps(gameBoardRef).isEmpty()){
-            
-            gameRef.setGamePlayStatus("WIN");
-        }
     }
     
     /**
-     * It selects next machine step similarly to human step request method
+     * It selects next machine step by searching the live game board and makes
+     * the selected move on it. The search is deepened iteratively within a 
+     * share of the remaining player time.
      * @throws Exception 
-     *         StepDecisionTree exceptions (see further)
-     *         Step creation exceptions (see further)
-     *         DualStep creation exceptions (see further)
+     *         It is not the turn of machine player
+     *         IGame boundary exceptions (see further)
      */
     @Override
     public void getNextStep() throws Exception{
     
-        // TODO it could be integrated in step decision tree builder
+        // the side to move of the live board is maintained by the moves of
+        //  both players, a mismatch means a desynchronized game
+        if(gameBoardRef.getSideToMove() != GameBoardData.MACHINE_SIDE){
+        
+            throw new IllConditionedDataException("It is not the turn of "
+                    + "machine player.");
+        }
         
-        // TASK) select the best option - max search, and apply to the game using 
-        //       posteriori update(perform update after execution of further subroutines 
-        //       of this method)
+        if(searcher == null){
         
-        ArrayList<GenStepKey> levelKeys = stepSequencesRef.getLevelKeys(1);
+            searcher = new ParallelSearcher(
+                    Runtime.getRuntime().availableProcessors(), hashSize);
+        }
+        
+        long remainingTime = timeLimit.minus(time).toMillis() - TIME_RESERVE;
+        long timeBudget = Math.max(1, remainingTime / MOVES_TO_GO);
+        
+        int move = searcher.search(gameBoardRef, searchDepth, timeBudget);
         
-        if(levelKeys.isEmpty() && stepSequencesRef.getCurrDepth() == 1){
+        if(move == Move.NONE){
         
-            gameRef.setGamePlayStatus("WIN");
+            // no legal move: check mate or stalemate
+            gameRef.setGamePlayStatus(isInCheck ? "WIN" : "DRAW");
             return;
         }
         
-        int sizeOfLeafSteps = levelKeys.size();
-        int maxI = 0;
-        double currCumulativeDynamicValue;
-        double maxCumulativeDynamicValue = stepSequencesRef.getByKey(
-                levelKeys.get(maxI)).getCumulativeValue();
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int pieceId = Move.getPieceId(move);
         
-        // machine check defense
-        if(isInCheck){
+        // material gained by the move
+        int value = 0;
         
-            boolean foundNextStep = false;
-            
-            for(int i = 1; i < sizeOfLeafSteps; ++i){
-                
-                if(stepSequencesRef.getByKey(levelKeys.get(i)).getPieceId() == 11){
-                
-                    foundNextStep = true;
-                    
-                    currCumulativeDynamicValue = stepSequencesRef.getByKey(
-                    levelKeys.get(i)).getCumulativeValue();
-            
-                    if(maxCumulativeDynamicValue < currCumulativeDynamicValue){
-
-                        maxCumulativeDynamicValue = currCumulativeDynamicValue;
-                        maxI = i;
-                    }
-                }
-            }
-            
-            if(!foundNextStep){
-            
-                gameRef.setGamePlayStatus("WIN");
-                return;
-            }
-            else{
-            
-                isInCheck = false;
-            }
+        if(Move.isCapture(move)){
+        
+            value += PieceType.ofId(Move.getCapturedId(move)).getValue();
+            removedHumanPiecesRef.add(Move.getCapturedId(move));
         }
-        else{
         
-            for(int i = 1; i < sizeOfLeafSteps; ++i){
-
-                currCumulativeDynamicValue = stepSequencesRef.getByKey(
-                    levelKeys.get(i)).getCumulativeValue();
-            
-                if(maxCumulativeDynamicValue < currCumulativeDynamicValue){
-
-                    maxCumulativeDynamicValue = currCumulativeDynamicValue;
-                    maxI = i;
-                }
-            }
+        if(Move.isPromotion(move)){
+        
+            value += PieceType.ofId(Move.getPromotionId(move)).getValue()
+                    - PieceType.PAWN.getValue();
+            removedPiecesRef.remove(Integer.valueOf(Move.getPromotionId(move)));
+            removedPiecesRef.add(pieceId);
         }
         
-        Step sourceStep = stepSequencesRef.getRootStep();
-        Step targetStep = stepSequencesRef.getByKey(levelKeys.get(maxI));
+        gameRef.addSourceStep(Step.createUnchecked(
+                Move.isCapture(move) ? "hit" : "standard", pieceId, 
+                from >>> 3, from & 7, value, 0, value));
+        gameRef.setSquareHighlighted(from >>> 3, from & 7);
         
-        int pieceId = targetStep.getPieceId();
-        GenPiece selectedPiece = piecesRef.get(pieceId);
-        GenPiece selectedSecondPiece;
+        gameBoardRef.makeMove(move);
         
-        if(targetStep instanceof DualStep){
+        // piece objects of the GUI boundary follow the board
+        piecesRef.syncPosition(pieceId);
         
-            DualStep dualStep = (DualStep)targetStep;
-            selectedSecondPiece = piecesRef.get(dualStep.getSecondPieceId());
-            
-            if((selectedPiece.getTypeName().contains("king") 
-                    || selectedPiece.getTypeName().contains("rook"))){
-            
-                // castling option
-                        
-                gameRef.addSourceStep(new DualStep(
-                        "castling", selectedPiece.getPieceId(),
-                        selectedSecondPiece.getPieceId(), 
-                        selectedPiece.getRank(), selectedPiece.getFile(), 
-                        selectedSecondPiece.getRank(), selectedSecondPiece.getFile(), 
-                        0.0, 0, 0.0));
-                gameRef.setSquareHighlighted(selectedPiece.getRank(),
-                        selectedPiece.getFile());
-                gameRef.setSquareHighlighted(selectedSecondPiece.getRank(),
-                        selectedSecondPiece.getFile());
-                
-                gameBoardRef.set(selectedPiece.getRank(), 
-                        selectedPiece.getFile(), -1);
-                gameBoardRef.set(selectedSecondPiece.getRank(), 
-                        selectedSecondPiece.getFile(), -1);
-                
-                selectedPiece.setRank(dualStep.getRank());
-                selectedPiece.setFile(dualStep.getFile());
-                selectedSecondPiece.setRank(dualStep.getSecondRank());
-                selectedSecondPiece.setFile(dualStep.getSecondFile());
-                
-                gameBoardRef.set(selectedPiece.getRank(), 
-                        selectedPiece.getFile(),
-                        selectedPiece.getPieceId());
-                gameBoardRef.set(selectedSecondPiece.getRank(), 
-                        selectedSecondPiece.getFile(), 
-                        selectedSecondPiece.getPieceId());
-            }
-            else if(selectedPiece.getTypeName().contains("pawn")){
-                
-                gameRef.addSourceStep(new DualStep(
-                        "promotion", selectedPiece.getPieceId(),
-                        selectedSecondPiece.getPieceId(), 
-                        selectedPiece.getRank(), selectedPiece.getFile(), 
-                        selectedSecondPiece.getRank(), selectedSecondPiece.getFile(), 
-                        0.0, 0, 0.0));
-                gameRef.setSquareHighlighted(selectedPiece.getRank(), 
-                        selectedPiece.getFile());
-                gameRef.setSquareHighlighted(selectedSecondPiece.getRank(), 
-                        selectedSecondPiece.getFile());
-                
-                selectedPiece.setRank(dualStep.getRank());
-                selectedPiece.setFile(dualStep.getFile());
-                selectedSecondPiece.setRank(dualStep.getSecondRank());
-                selectedSecondPiece.setFile(dualStep.getSecondFile());
-                gameBoardRef.set(dualStep.getSecondRank(), dualStep.getSecondFile(), 
-                        dualStep.getSecondPieceId());
-            
-                removedPiecesRef.remove(selectedSecondPiece.getPieceId());
-                removedPiecesRef.add(selectedPiece.getPieceId());
-            }   
+        if(Move.isPromotion(move)){
+        
+            piecesRef.syncPosition(Move.getPromotionId(move));
         }
-        else{
-            
-            // piece removal in case of hit
-            if(gameBoardRef.get(targetStep.getRank(), targetStep.getFile()) != -1){
-
-                removedHumanPiecesRef.add(
-                        gameBoardRef.get(targetStep.getRank(), targetStep.getFile()));
-            
-                gameRef.addSourceStep(new Step("hit", 
-                    pieceId, selectedPiece.getRank(), 
-                    selectedPiece.getFile(), selectedPiece.getDynamicValue(),
-                    0, selectedPiece.getDynamicValue()));
-                gameRef.setSquareHighlighted(selectedPiece.getRank(), selectedPiece.getRank());
-            }
-            else{
-            
-                gameRef.addSourceStep(new Step("standard", 
-                    pieceId, selectedPiece.getRank(), 
-                    selectedPiece.getFile(), selectedPiece.getDynamicValue(),
-                    0, selectedPiece.getDynamicValue()));
-                gameRef.setSquareHighlighted(selectedPiece.getRank(), selectedPiece.getRank());
-            }
-            
-            selectedPiece.setRank(targetStep.getRank());
-            selectedPiece.setFile(targetStep.getFile());
-            gameBoardRef.set(selectedPiece.getRank(), selectedPiece.getFile(), 
-                    selectedPiece.getPieceId());
+        
+        if(Move.isCastling(move)){
+        
+            piecesRef.syncPosition(Move.getCastlingRookId(move));
         }
         
-        // TASK) shift tree with one level, throw root away (root displacement)
+        gameRef.addTargetStep(Move.toStep(move, value, 0, value));
+        gameRef.setSquareHighlighted(to >>> 3, to & 7);
         
-        // set the actual root as source position        
-        stepSequencesRef.setNewRootByKey(levelKeys.get(maxI));
+        score += value;
+        isInCheck = false;
         
-        gameRef.addTargetStep(sourceStep);
-        gameRef.setSquareHighlighted(sourceStep.getRank(), sourceStep.getFile());
+        ++stepIdRef;
+    }
+    
+    /**
+     * Sets depth limit of the search of machine steps
+     * @param searchDepth Depth in plies
+     * @throws RuntimeException Depth out of range of [1, Score.MAX_PLY)
+     */
+    public void setSearchDepth(int searchDepth){
+    
+        if(searchDepth < 1 || searchDepth >= Score.MAX_PLY){
         
-        // TASK) rename step node keys/identifiers (cyclic renaming)
-        //       in order to limit the key length (comparison optimization)
-        stepSequencesRef.trimKeys();
+            throw new RuntimeException("Search depth is out of range.");
+        }
         
-        score += gameRef.getTargetStep(gameRef.getTargetStepHistorySize() - 1).getValue();
+        this.searchDepth = searchDepth;
+    }
+    
+    /**
+     * It sets size of transposition table of move search, the table is 
+     * reallocated (cleared) at the next search
+     * @param hashSize Size in megabytes
+     * @throws RuntimeException Non-positive size
+     */
+    public void setHashSize(int hashSize){
+    
+        if(hashSize < 1){
         
-        ++stepIdRef;
+            throw new RuntimeException("Hash size has to be positive.");
+        }
         
-        // TASK) yield control to human player (asynchronous tasks)
+        this.hashSize = hashSize;
+        searcher = null;
     }
     
     /**
@@ -0,0 +1,304 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Packed 32-bit move encoding of the search. A move is a plain int, therefore
+ * storing, comparing and copying moves does not allocate any object. Step and
+ * DualStep objects are only created at the IGame (GUI) boundary by toStep().
+ * Layout (least significant bit first):
+ *   [0, 6)   source square (compatible with MoveList.pack)
+ *   [6, 12)  target square (compatible with MoveList.pack)
+ *   [12, 17) moving piece identifier
+ *   [17, 23) captured piece identifier + 1, 0 stands for no capture
+ *   [23, 29) promotion piece identifier + 1, 0 stands for no promotion
+ *   [29, 32) flags: castling, en passant, double pawn push
+ * Squares are indexed as rank * 8 + file, see GameBoardData.
+ */
+public final class Move {
+
+    // a move can never have equal source and target squares
+    public static final int NONE = 0;
+    
+    public static final int FLAG_CASTLING = 1;
+    public static final int FLAG_EN_PASSANT = 2;
+    public static final int FLAG_DOUBLE_PUSH = 4;
+    
+    private static final int TO_SHIFT = 6;
+    private static final int PIECE_SHIFT = 12;
+    private static final int CAPTURED_SHIFT = 17;
+    private static final int PROMOTION_SHIFT = 23;
+    private static final int FLAGS_SHIFT = 29;
+    
+    private Move(){
+    
+    }
+    
+    /**
+     * Encodes a move
+     * @param from Source square in range of [0, 64)
+     * @param to Target square in range of [0, 64)
+     * @param pieceId Identifier of moving piece in range of [0, 32)
+     * @param capturedId Identifier of captured piece, -1 if there is no capture
+     * @param promotionId Identifier of piece that replaces the promoted pawn,
+     *        -1 if there is no promotion
+     * @param flags Combination of FLAG_* values
+     * @return Packed move
+     */
+    public static int encode(int from, int to, int pieceId, int capturedId,
+            int promotionId, int flags){
+        
+        return from
+                | (to << TO_SHIFT)
+                | (pieceId << PIECE_SHIFT)
+                | ((capturedId + 1) << CAPTURED_SHIFT)
+                | ((promotionId + 1) << PROMOTION_SHIFT)
+                | (flags << FLAGS_SHIFT);
+    }
+    
+    /**
+     * Encodes a quiet or capturing move without flags
+     * @param from Source square in range of [0, 64)
+     * @param to Target square in range of [0, 64)
+     * @param pieceId Identifier of moving piece in range of [0, 32)
+     * @param capturedId Identifier of captured piece, -1 if there is no capture
+     * @return Packed move
+     */
+    public static int encode(int from, int to, int pieceId, int capturedId){
+    
+        return encode(from, to, pieceId, capturedId, -1, 0);
+    }
+    
+    /**
+     * Obtains source square
+     * @param move Packed move
+     * @return Source square
+     */
+    public static int getFrom(int move){
+    
+        return move & 0x3F;
+    }
+    
+    /**
+     * Obtains target square
+     * @param move Packed move
+     * @return Target square
+     */
+    public static int getTo(int move){
+    
+        return (move >>> TO_SHIFT) & 0x3F;
+    }
+    
+    /**
+     * Obtains identifier of moving piece
+     * @param move Packed move
+     * @return Piece identifier
+     */
+    public static int getPieceId(int move){
+    
+        return (move >>> PIECE_SHIFT) & 0x1F;
+    }
+    
+    /**
+     * Obtains identifier of captured piece
+     * @param move Packed move
+     * @return Captured piece identifier, -1 if there is no capture
+     */
+    public static int getCapturedId(int move){
+    
+        return ((move >>> CAPTURED_SHIFT) & 0x3F) - 1;
+    }
+    
+    /**
+     * Obtains identifier of piece that replaces the promoted pawn
+     * @param move Packed move
+     * @return Promotion piece identifier, -1 if there is no promotion
+     */
+    public static int getPromotionId(int move){
+    
+        return ((move >>> PROMOTION_SHIFT) & 0x3F) - 1;
+    }
+    
+    /**
+     * Obtains flags
+     * @param move Packed move
+     * @return Combination of FLAG_* values
+     */
+    public static int getFlags(int move){
+    
+        return move >>> FLAGS_SHIFT;
+    }
+    
+    /**
+     * Checks whether move captures a piece
+     * @param move Packed move
+     * @return True in case of capture (including en passant)
+     */
+    public static boolean isCapture(int move){
+    
+        return (move & (0x3F << CAPTURED_SHIFT)) != 0;
+    }
+    
+    /**
+     * Checks whether move is a promotion
+     * @param move Packed move
+     * @return True in case of promotion
+     */
+    public static boolean isPromotion(int move){
+    
+        return (move & (0x3F << PROMOTION_SHIFT)) != 0;
+    }
+    
+    /**
+     * Checks whether move is castling
+     * @param move Packed move
+     * @return True in case of castling
+     */
+    public static boolean isCastling(int move){
+    
+        return (move & (FLAG_CASTLING << FLAGS_SHIFT)) != 0;
+    }
+    
+    /**
+     * Checks whether move is an en passant capture
+     * @param move Packed move
+     * @return True in case of en passant
+     */
+    public static boolean isEnPassant(int move){
+    
+        return (move & (FLAG_EN_PASSANT << FLAGS_SHIFT)) != 0;
+    }
+    
+    /**
+     * Checks whether move is a double pawn push
+     * @param move Packed move
+     * @return True in case of double pawn push
+     */
+    public static boolean isDoublePush(int move){
+    
+        return (move & (FLAG_DOUBLE_PUSH << FLAGS_SHIFT)) != 0;
+    }
+    
+    /**
+     * Obtains identifier of the rook that is involved in castling. The king
+     * moves two squares toward the rook, the rooks of a side are identified by
+     * their initial files (identifier offset 8 at file 0, 15 at file 7).
+     * @param move Packed castling move
+     * @return Rook identifier
+     */
+    public static int getCastlingRookId(int move){
+    
+        int sideOffset = getPieceId(move) & 0x10;
+        
+        return getTo(move) < getFrom(move) ? sideOffset + 8 : sideOffset + 15;
+    }
+    
+    /**
+     * Obtains source square of the rook that is involved in castling
+     * @param move Packed castling move
+     * @return Rook source square
+     */
+    public static int getCastlingRookFrom(int move){
+    
+        return (getFrom(move) & 0x38) | (getTo(move) < getFrom(move) ? 0 : 7);
+    }
+    
+    /**
+     * Obtains target square of the rook that is involved in castling, it is
+     * the square crossed by the king
+     * @param move Packed castling move
+     * @return Rook target square
+     */
+    public static int getCastlingRookTo(int move){
+    
+        return (getFrom(move) + getTo(move)) >>> 1;
+    }
+    
+    /**
+     * Converts a packed move into step representation for the IGame (GUI)
+     * boundary
+     * @param move Packed move
+     * @return Step object, DualStep in case of castling and promotion
+     */
+    public static Step toStep(int move){
+    
+        return toStep(move, 0, 0, 0);
+    }
+    
+    /**
+     * Converts a packed move into step representation with step values, the
+     * step keeps the packed move
+     * @param move Packed move
+     * @param value Step strength
+     * @param cumulativeChangeCount Number of decrease in value
+     * @param cumulativeValue Accumulated value of step chain
+     * @return Step object, DualStep in case of castling and promotion
+     */
+    public static Step toStep(int move, int value, int cumulativeChangeCount,
+            int cumulativeValue){
+        
+        int to = getTo(move);
+        Step step;
+        
+        if(isCastling(move)){
+        
+            int rookTo = getCastlingRookTo(move);
+            
+            // squares of generated moves are in range, steps are created
+            //  without validation
+            step = DualStep.createUnchecked("castling", getPieceId(move),
+                    getCastlingRookId(move), to >>> 3, to & 7,
+                    rookTo >>> 3, rookTo & 7, value, cumulativeChangeCount,
+                    cumulativeValue);
+        }
+        else if(isPromotion(move)){
+        
+            step = DualStep.createUnchecked("promotion", getPieceId(move),
+                    getPromotionId(move), to >>> 3, to & 7, to >>> 3, to & 7,
+                    value, cumulativeChangeCount, cumulativeValue);
+        }
+        else{
+        
+            step = Step.createUnchecked(isCapture(move) ? "hit" : "standard",
+                    getPieceId(move), to >>> 3, to & 7, value, cumulativeChangeCount,
+                    cumulativeValue);
+        }
+        
+        step.setMove(move);
+        
+        return step;
+    }
+    
+    /**
+     * Creates a readable form of a move for logging purposes
+     * @param move Packed move
+     * @return Source and target squares in rank-file form with flags
+     */
+    public static String toString(int move){
+    
+        StringBuilder result = new StringBuilder();
+        
+        result.append(getFrom(move) >>> 3).append(getFrom(move) & 7).append('-')
+                .append(getTo(move) >>> 3).append(getTo(move) & 7);
+        
+        if(isCapture(move)){
+        
+            result.append('x').append(getCapturedId(move));
+        }
+        
+        if(isPromotion(move)){
+        
+            result.append('=').append(getPromotionId(move));
+        }
+        
+        if(isCastling(move)){
+        
+            result.append(" castling");
+        }
+        
+        if(isEnPassant(move)){
+        
+            result.append(" e.p.");
+        }
+        
+        return result.toString();
+    }
+}
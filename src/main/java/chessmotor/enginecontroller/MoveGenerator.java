@@ -0,0 +1,596 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Legal move generator. Checkers and pinned pieces are obtained once per
+ * position from the game board, therefore only legal moves are emitted without
+ * making and testing them:
+ *   - in double check only king moves are generated,
+ *   - in single check the targets of other pieces are restricted to the checker
+ *     and the squares between checker and king,
+ *   - pinned pieces move along the line of their king and pinner only,
+ *   - king targets are tested with the king removed from the occupancy, so the
+ *     king can not step back along the ray of a checking slider.
+ * All moves of a side are emitted in one pass over its occupancy, castling, en
+ * passant and promotion are generated as move kinds of the same pass. Moves are
+ * appended in packed form (see Move) to a reused move list. Captures
+ * (including promotions) and quiet moves can be generated separately for
+ * staged move picking (see MovePicker) and tactical searches, positions in
+ * check are handled by a dedicated check evasion generator.
+ */
+public final class MoveGenerator {
+
+    // generated move kinds
+    public static final int CAPTURES = 1;
+    public static final int QUIETS = 2;
+    public static final int ALL = CAPTURES | QUIETS;
+    
+    // promotion piece slots of a side by preference: queen, rooks, bishops,
+    //  knights (side offset is added)
+    private static final int[][] promotionSlots = {{12}, {8, 15}, {10, 13},
+        {9, 14}};
+    
+    // last ranks of pawns by side
+    private static final long[] promotionRanks = {0xFF00000000000000L, 0xFFL};
+    
+    private MoveGenerator(){
+    
+    }
+    
+    /**
+     * Generates all legal moves of a side in a single pass
+     * @param side Side index of moving pieces (MACHINE_SIDE or HUMAN_SIDE of
+     *        GameBoardData)
+     * @param board Game board of the position
+     * @param moves Reused move list where the legal moves are appended to
+     */
+    public static void generateAll(int side, GameBoardData board, MoveList moves){
+    
+        if(board.getCheckers(side) != 0L){
+        
+            generateEvasions(board, side, moves);
+        }
+        else{
+        
+            generateLegal(board, side, -1L, ALL, moves);
+        }
+    }
+    
+    /**
+     * Generates legal captures and promotions of a side for tactical searches
+     * @param board Game board of the position
+     * @param side Side index of moving pieces (MACHINE_SIDE or HUMAN_SIDE of
+     *        GameBoardData)
+     * @param moves Reused move list where the legal moves are appended to
+     */
+    public static void generateCaptures(GameBoardData board, int side,
+            MoveList moves){
+        
+        generateLegal(board, side, -1L, CAPTURES, moves);
+    }
+    
+    /**
+     * Generates legal check evasions of a side in check. Instead of visiting
+     * every piece, the evasions are collected from the checker data of the
+     * position: king steps, then (in single check) captures of the checker by
+     * its attackers and interpositions onto the squares between checker and
+     * king. Pinned pieces can never resolve a check.
+     * @param board Game board of the position
+     * @param side Side index of king in check (MACHINE_SIDE or HUMAN_SIDE of
+     *        GameBoardData)
+     * @param moves Reused move list where the evasions are appended to
+     */
+    public static void generateEvasions(GameBoardData board, int side,
+            MoveList moves){
+        
+        int enemy = side ^ 1;
+        long own = board.getOccupancy(side);
+        long occupancy = own | board.getOccupancy(enemy);
+        int kingSquare = board.getKingSquare(side);
+        long checkers = board.getCheckers(side);
+        
+        if(kingSquare == 64){
+        
+            throw new RuntimeException("King of moving side is not on board.");
+        }
+        
+        // king steps, squares attacked in the current position are masked out,
+        //  the rest is tested with king removed from occupancy (x-ray of
+        //  checking sliders)
+        long targets = LeaperAttackTable.kingAttacks(kingSquare) & ~own
+                & ~board.getAttacks(enemy);
+        long kinglessOccupancy = occupancy ^ (1L << kingSquare);
+        
+        while(targets != 0L){
+        
+            int to = Long.numberOfTrailingZeros(targets);
+            
+            if(!board.isSquareAttacked(to, enemy, kinglessOccupancy)){
+            
+                addMove(board, kingSquare, to, 0, moves);
+            }
+            
+            targets &= targets - 1;
+        }
+        
+        // double check, only king moves are legal
+        if(checkers == 0L || (checkers & (checkers - 1)) != 0L){
+        
+            return;
+        }
+        
+        int checkerSquare = Long.numberOfTrailingZeros(checkers);
+        long movable = own & ~board.getPinned(side)
+                & ~board.getPieces(side, GameBoardData.KING);
+        long pawns = board.getPieces(side, GameBoardData.PAWN) & movable;
+        long promotionRank = promotionRanks[side];
+        
+        // capturing the checker
+        long attackers = board.attackersTo(checkerSquare, occupancy) & movable;
+        
+        while(attackers != 0L){
+        
+            int from = Long.numberOfTrailingZeros(attackers);
+            
+            if((pawns & (1L << from)) != 0L && (promotionRank & checkers) != 0L){
+            
+                addPromotions(board, side, from, checkerSquare, moves);
+            }
+            else{
+            
+                addMove(board, from, checkerSquare, 0, moves);
+            }
+            
+            attackers &= attackers - 1;
+        }
+        
+        generateEnPassant(board, side, -1L, kingSquare, checkers, checkers, moves);
+        
+        // interposing, pieces step onto empty squares between checker and king
+        long blockSquares = SlidingAttackTable.between(kingSquare, checkerSquare);
+        int push = side == GameBoardData.MACHINE_SIDE ? 8 : -8;
+        long doublePushRank = side == GameBoardData.MACHINE_SIDE
+                ? 0xFF000000L : 0xFF00000000L;
+        
+        while(blockSquares != 0L){
+        
+            int to = Long.numberOfTrailingZeros(blockSquares);
+            long toBit = 1L << to;
+            
+            // pawns attack diagonal squares only, they push instead
+            long blockers = board.attackersTo(to, occupancy) & movable & ~pawns;
+            
+            while(blockers != 0L){
+            
+                addMove(board, Long.numberOfTrailingZeros(blockers), to, 0, moves);
+                blockers &= blockers - 1;
+            }
+            
+            int from = to - push;
+            
+            // no pawn can push onto its own back rank
+            if(from < 0 || from > 63){
+            
+                blockSquares &= blockSquares - 1;
+                continue;
+            }
+            
+            if((pawns & (1L << from)) != 0L){
+            
+                if((promotionRank & toBit) != 0L){
+                
+                    addPromotions(board, side, from, to, moves);
+                }
+                else{
+                
+                    addMove(board, from, to, 0, moves);
+                }
+            }
+            else if((doublePushRank & toBit) != 0L && (occupancy & (1L << from)) == 0L
+                    && (pawns & (1L << (from - push))) != 0L){
+                
+                addMove(board, from - push, to, Move.FLAG_DOUBLE_PUSH, moves);
+            }
+            
+            blockSquares &= blockSquares - 1;
+        }
+    }
+    
+    /**
+     * Generates all legal moves of a side
+     * @param board Game board of the position
+     * @param side Side index of moving pieces (MACHINE_SIDE or HUMAN_SIDE of
+     *        GameBoardData)
+     * @param moves Reused move list where the legal moves are appended to
+     */
+    public static void generateLegal(GameBoardData board, int side, MoveList moves){
+    
+        generateLegal(board, side, -1L, ALL, moves);
+    }
+    
+    /**
+     * Generates legal moves of a side from a set of source squares
+     * @param board Game board of the position
+     * @param side Side index of moving pieces (MACHINE_SIDE or HUMAN_SIDE of
+     *        GameBoardData)
+     * @param fromMask Source squares of moves to be generated
+     * @param moves Reused move list where the legal moves are appended to
+     */
+    public static void generateLegal(GameBoardData board, int side, long fromMask,
+            MoveList moves){
+        
+        generateLegal(board, side, fromMask, ALL, moves);
+    }
+    
+    /**
+     * Generates legal moves of a kind from a set of source squares
+     * @param board Game board of the position
+     * @param side Side index of moving pieces (MACHINE_SIDE or HUMAN_SIDE of
+     *        GameBoardData)
+     * @param fromMask Source squares of moves to be generated
+     * @param kind CAPTURES (including en passant and promotions), QUIETS
+     *        (including castling) or ALL
+     * @param moves Reused move list where the legal moves are appended to
+     */
+    public static void generateLegal(GameBoardData board, int side, long fromMask,
+            int kind, MoveList moves){
+        
+        int enemy = side ^ 1;
+        long own = board.getOccupancy(side);
+        long occupancy = own | board.getOccupancy(enemy);
+        long kindMask = 0L;
+        
+        if((kind & CAPTURES) != 0){
+        
+            kindMask |= board.getOccupancy(enemy);
+        }
+        
+        if((kind & QUIETS) != 0){
+        
+            kindMask |= ~occupancy;
+        }
+        
+        int kingSquare = board.getKingSquare(side);
+        
+        if(kingSquare == 64){
+        
+            throw new RuntimeException("King of moving side is not on board.");
+        }
+        
+        long checkers = board.getCheckers(side);
+        long pinned = board.getPinned(side);
+        
+        // king moves, squares attacked in the current position are masked out,
+        //  in check the rest is tested with king removed from occupancy
+        if((fromMask & (1L << kingSquare)) != 0L){
+        
+            long targets = LeaperAttackTable.kingAttacks(kingSquare) & kindMask
+                    & ~board.getAttacks(enemy);
+            long kinglessOccupancy = occupancy ^ (1L << kingSquare);
+            
+            while(targets != 0L){
+            
+                int to = Long.numberOfTrailingZeros(targets);
+                
+                if(checkers == 0L
+                        || !board.isSquareAttacked(to, enemy, kinglessOccupancy)){
+                    
+                    addMove(board, kingSquare, to, 0, moves);
+                }
+                
+                targets &= targets - 1;
+            }
+            
+            if((kind & QUIETS) != 0 && checkers == 0L){
+            
+                generateCastling(board, side, kingSquare, occupancy, moves);
+            }
+        }
+        
+        // double check, only king moves are legal
+        if((checkers & (checkers - 1)) != 0L){
+        
+            return;
+        }
+        
+        long evasionMask = -1L;
+        
+        if(checkers != 0L){
+        
+            // capturing the checker or interposing
+            evasionMask = checkers | SlidingAttackTable.between(kingSquare,
+                    Long.numberOfTrailingZeros(checkers));
+        }
+        
+        long targetMask = kindMask & evasionMask;
+        
+        // pinned knights can never move
+        long pieces = board.getPieces(side, GameBoardData.KNIGHT) & fromMask & ~pinned;
+        
+        while(pieces != 0L){
+        
+            int from = Long.numberOfTrailingZeros(pieces);
+            addMoves(board, from, LeaperAttackTable.knightAttacks(from) & targetMask,
+                    moves);
+            pieces &= pieces - 1;
+        }
+        
+        pieces = board.getPieces(side, GameBoardData.BISHOP) & fromMask;
+        
+        while(pieces != 0L){
+        
+            int from = Long.numberOfTrailingZeros(pieces);
+            addMoves(board, from, pinFilter(kingSquare, from, pinned,
+                    SlidingAttackTable.bishopAttacks(from, occupancy) & targetMask),
+                    moves);
+            pieces &= pieces - 1;
+        }
+        
+        pieces = board.getPieces(side, GameBoardData.ROOK) & fromMask;
+        
+        while(pieces != 0L){
+        
+            int from = Long.numberOfTrailingZeros(pieces);
+            addMoves(board, from, pinFilter(kingSquare, from, pinned,
+                    SlidingAttackTable.rookAttacks(from, occupancy) & targetMask),
+                    moves);
+            pieces &= pieces - 1;
+        }
+        
+        pieces = board.getPieces(side, GameBoardData.QUEEN) & fromMask;
+        
+        while(pieces != 0L){
+        
+            int from = Long.numberOfTrailingZeros(pieces);
+            addMoves(board, from, pinFilter(kingSquare, from, pinned,
+                    SlidingAttackTable.queenAttacks(from, occupancy) & targetMask),
+                    moves);
+            pieces &= pieces - 1;
+        }
+        
+        long enemyPieces = board.getOccupancy(enemy);
+        long promotionRank = promotionRanks[side];
+        pieces = board.getPieces(side, GameBoardData.PAWN) & fromMask;
+        
+        while(pieces != 0L){
+        
+            int from = Long.numberOfTrailingZeros(pieces);
+            long targets = pinFilter(kingSquare, from, pinned,
+                    (LeaperAttackTable.pawnPushes(side, from, occupancy)
+                    | (LeaperAttackTable.pawnAttacks(side, from) & enemyPieces))
+                    & evasionMask);
+            
+            while(targets != 0L){
+            
+                int to = Long.numberOfTrailingZeros(targets);
+                long toBit = 1L << to;
+                
+                // promotions are tactical moves, both pushes and captures
+                if((promotionRank & toBit) != 0L){
+                
+                    if((kind & CAPTURES) != 0){
+                    
+                        addPromotions(board, side, from, to, moves);
+                    }
+                }
+                else if((kindMask & toBit) != 0L){
+                
+                    addMove(board, from, to,
+                            Math.abs(to - from) == 16 ? Move.FLAG_DOUBLE_PUSH : 0,
+                            moves);
+                }
+                
+                targets &= targets - 1;
+            }
+            
+            pieces &= pieces - 1;
+        }
+        
+        if((kind & CAPTURES) != 0){
+        
+            generateEnPassant(board, side, fromMask, kingSquare, checkers,
+                    evasionMask, moves);
+        }
+    }
+    
+    /**
+     * Checks whether a packed move is legal for the side to move, it is
+     * intended for moves from other sources than the generator of the
+     * position (e.g. hash or killer moves), only the moves of the source
+     * square are generated
+     * @param board Game board of the position
+     * @param move Packed move
+     * @param scratch Reused move list for the generated moves of the source
+     *        square
+     * @return True if the generator emits the same move in the position
+     */
+    public static boolean isLegal(GameBoardData board, int move, MoveList scratch){
+    
+        if(move == Move.NONE){
+        
+            return false;
+        }
+        
+        scratch.clear();
+        generateLegal(board, board.getSideToMove(), 1L << Move.getFrom(move),
+                ALL, scratch);
+        
+        for(int i = 0; i < scratch.size(); ++i){
+        
+            if(scratch.get(i) == move){
+            
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Generates castling moves. The right of a rook implies that neither the
+     * king nor the rook has moved and the rook has not been captured (see
+     * GameBoardData). The king moves two squares toward the rook, the squares
+     * between king and rook have to be empty, the king can not be in check and
+     * can not cross or land on an attacked square.
+     */
+    private static void generateCastling(GameBoardData board, int side,
+            int kingSquare, long occupancy, MoveList moves){
+        
+        int castlingRights = board.getCastlingRights();
+        int sideOffset = side << 4;
+        int rankBase = side == GameBoardData.MACHINE_SIDE ? 0 : 56;
+        
+        // king on its initial square (rights of loaded positions may be stale)
+        if(kingSquare != rankBase + 3){
+        
+            return;
+        }
+        
+        // rook with identifier offset 8 at file 0
+        int right = side == GameBoardData.MACHINE_SIDE
+                ? GameBoardData.CASTLING_MACHINE_ROOK_8
+                : GameBoardData.CASTLING_HUMAN_ROOK_8;
+        
+        if((castlingRights & right) != 0
+                && board.getBySquare(rankBase) == sideOffset + 8
+                && (SlidingAttackTable.between(kingSquare, rankBase) & occupancy) == 0L
+                && !board.isAttacked(kingSquare - 1, side ^ 1)
+                && !board.isAttacked(kingSquare - 2, side ^ 1)){
+            
+            moves.add(Move.encode(kingSquare, kingSquare - 2, sideOffset + 11, -1,
+                    -1, Move.FLAG_CASTLING));
+        }
+        
+        // rook with identifier offset 15 at file 7
+        right <<= 1;
+        
+        if((castlingRights & right) != 0
+                && board.getBySquare(rankBase + 7) == sideOffset + 15
+                && (SlidingAttackTable.between(kingSquare, rankBase + 7)
+                        & occupancy) == 0L
+                && !board.isAttacked(kingSquare + 1, side ^ 1)
+                && !board.isAttacked(kingSquare + 2, side ^ 1)){
+            
+            moves.add(Move.encode(kingSquare, kingSquare + 2, sideOffset + 11, -1,
+                    -1, Move.FLAG_CASTLING));
+        }
+    }
+    
+    /**
+     * Generates promotions of a pawn move. A promoted piece reuses the
+     * identifier of a captured piece of the same side (identifiers determine
+     * types), one promotion is generated per available type. If no piece has
+     * been captured, the pawn steps onto the last rank without promotion.
+     */
+    private static void addPromotions(GameBoardData board, int side, int from,
+            int to, MoveList moves){
+        
+        int pieceId = board.getBySquare(from);
+        int capturedId = board.getBySquare(to);
+        int sideOffset = side << 4;
+        int removedIds = board.getRemovedIds(side);
+        boolean promoted = false;
+        
+        for(int[] slots : promotionSlots){
+        
+            for(int slot : slots){
+            
+                if((removedIds & (1 << (sideOffset + slot))) != 0){
+                
+                    moves.add(Move.encode(from, to, pieceId, capturedId,
+                            sideOffset + slot, 0));
+                    promoted = true;
+                    break;
+                }
+            }
+        }
+        
+        if(!promoted){
+        
+            moves.add(Move.encode(from, to, pieceId, capturedId, -1, 0));
+        }
+    }
+    
+    /**
+     * Generates legal en passant captures. Captured pawn leaves its square too,
+     * therefore the resulting occupancy is tested against enemy sliders (also
+     * covering the horizontal pin of both pawns).
+     */
+    private static void generateEnPassant(GameBoardData board, int side,
+            long fromMask, int kingSquare, long checkers, long evasionMask,
+            MoveList moves){
+        
+        int enPassantSquare = board.getEnPassantSquare();
+        
+        if(enPassantSquare == -1){
+        
+            return;
+        }
+        
+        int enemy = side ^ 1;
+        long enPassantBit = 1L << enPassantSquare;
+        long candidates = LeaperAttackTable.pawnAttacks(enemy, enPassantSquare)
+                & board.getPieces(side, GameBoardData.PAWN) & fromMask;
+        
+        while(candidates != 0L){
+        
+            int from = Long.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            
+            int capturedSquare = (from & 0x38) | (enPassantSquare & 7);
+            long capturedBit = 1L << capturedSquare;
+            
+            // in check, only capturing the checking pawn or interposing helps
+            if(checkers != 0L && (checkers & capturedBit) == 0L
+                    && (evasionMask & enPassantBit) == 0L){
+                
+                continue;
+            }
+            
+            long occupancy = (board.getOccupancy() ^ (1L << from) ^ capturedBit)
+                    | enPassantBit;
+            long enemyQueens = board.getPieces(enemy, GameBoardData.QUEEN);
+            
+            if((SlidingAttackTable.rookAttacks(kingSquare, occupancy)
+                    & (board.getPieces(enemy, GameBoardData.ROOK) | enemyQueens)) != 0L
+                    || (SlidingAttackTable.bishopAttacks(kingSquare, occupancy)
+                    & (board.getPieces(enemy, GameBoardData.BISHOP) | enemyQueens)) != 0L){
+                
+                continue;
+            }
+            
+            moves.add(Move.encode(from, enPassantSquare, board.getBySquare(from),
+                    board.getBySquare(capturedSquare), -1, Move.FLAG_EN_PASSANT));
+        }
+    }
+    
+    /**
+     * Restricts targets of a pinned piece to the line of its king and pinner
+     */
+    private static long pinFilter(int kingSquare, int from, long pinned,
+            long targets){
+        
+        if((pinned & (1L << from)) != 0L){
+        
+            return targets & SlidingAttackTable.line(kingSquare, from);
+        }
+        
+        return targets;
+    }
+    
+    private static void addMoves(GameBoardData board, int from, long targets,
+            MoveList moves){
+        
+        while(targets != 0L){
+        
+            addMove(board, from, Long.numberOfTrailingZeros(targets), 0, moves);
+            targets &= targets - 1;
+        }
+    }
+    
+    private static void addMove(GameBoardData board, int from, int to, int flags,
+            MoveList moves){
+        
+        moves.add(Move.encode(from, to, board.getBySquare(from),
+                board.getBySquare(to), -1, flags));
+    }
+}
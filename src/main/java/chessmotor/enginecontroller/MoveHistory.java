@@ -0,0 +1,171 @@
+package chessmotor.enginecontroller;
+
+import java.util.Arrays;
+
+/**
+ * Quiet move ordering tables of a searcher, they are filled by beta cutoffs
+ * of the search and read by the move pickers:
+ *   - killer moves: the last two quiet cutoff moves of each ply
+ *   - butterfly history: score of quiet moves by side, source and target
+ *     square, cutoff moves get a depth dependent bonus, quiet moves searched
+ *     before them get the same malus (the scores saturate at MAX_HISTORY)
+ *   - counter moves: the last quiet cutoff move in reply to a move, indexed
+ *     by side, source and target square of the previous move
+ * The tables are allocated once and are not synchronized, every search thread
+ * owns its tables. Between searches they are aged by age().
+ */
+public class MoveHistory {
+
+    public static final int NUM_OF_KILLERS = 2;
+    
+    // absolute limit of history scores
+    public static final int MAX_HISTORY = 16384;
+    
+    // bonus depth is limited to keep single deep cutoffs from dominating
+    private static final int MAX_BONUS_DEPTH = 16;
+    
+    private final int[][] killers;
+    // indexed by side * 4096 + from * 64 + to
+    private final int[] history;
+    private final int[] counterMoves;
+    
+    /**
+     * Default constructor, killer slots are allocated up to Score.MAX_PLY
+     */
+    public MoveHistory(){
+    
+        killers = new int[Score.MAX_PLY][NUM_OF_KILLERS];
+        history = new int[2 * 64 * 64];
+        counterMoves = new int[2 * 64 * 64];
+    }
+    
+    /**
+     * Removes all entries
+     */
+    public void clear(){
+    
+        for(int[] slots : killers){
+        
+            Arrays.fill(slots, Move.NONE);
+        }
+        
+        Arrays.fill(history, 0);
+        Arrays.fill(counterMoves, Move.NONE);
+    }
+    
+    /**
+     * Ages the tables before a new search: killers are removed (their plies
+     * belong to the previous root), history scores are halved, counter moves
+     * are kept
+     */
+    public void age(){
+    
+        for(int[] slots : killers){
+        
+            Arrays.fill(slots, Move.NONE);
+        }
+        
+        for(int i = 0; i < history.length; ++i){
+        
+            history[i] /= 2;
+        }
+    }
+    
+    /**
+     * Obtains a killer move of a ply
+     * @param ply Distance from root
+     * @param slot Killer slot in range of [0, NUM_OF_KILLERS), 0 is the most
+     *        recent one
+     * @return Packed quiet move, Move.NONE if the slot is empty
+     */
+    public int getKiller(int ply, int slot){
+    
+        return killers[ply][slot];
+    }
+    
+    /**
+     * Obtains history score of a quiet move
+     * @param side Side of the moving piece
+     * @param move Packed move
+     * @return Score in range of [-MAX_HISTORY, MAX_HISTORY], higher is tried
+     *         first
+     */
+    public int getHistory(int side, int move){
+    
+        return history[index(side, move)];
+    }
+    
+    /**
+     * Obtains counter move of a previous move
+     * @param side Side to move (the opponent of the previous move)
+     * @param previousMove Packed previous move, Move.NONE at root
+     * @return Packed quiet move, Move.NONE if there is none
+     */
+    public int getCounterMove(int side, int previousMove){
+    
+        if(previousMove == Move.NONE){
+        
+            return Move.NONE;
+        }
+        
+        return counterMoves[index(side, previousMove)];
+    }
+    
+    /**
+     * Updates the tables by a quiet move that caused beta cutoff
+     * @param side Side of the moving piece
+     * @param move Packed quiet cutoff move
+     * @param previousMove Packed previous move, Move.NONE at root
+     * @param ply Distance from root
+     * @param depth Remaining depth of the node
+     * @param triedQuiets Quiet moves searched before the cutoff move without
+     *        cutoff
+     * @param numOfTriedQuiets Number of valid elements of triedQuiets
+     */
+    public void updateCutoff(int side, int move, int previousMove, int ply,
+            int depth, int[] triedQuiets, int numOfTriedQuiets){
+        
+        if(killers[ply][0] != move){
+        
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        
+        if(previousMove != Move.NONE){
+        
+            counterMoves[index(side, previousMove)] = move;
+        }
+        
+        int bonus = Math.min(depth, MAX_BONUS_DEPTH);
+        bonus *= bonus;
+        
+        updateHistory(index(side, move), bonus);
+        
+        for(int i = 0; i < numOfTriedQuiets; ++i){
+        
+            updateHistory(index(side, triedQuiets[i]), -bonus);
+        }
+    }
+    
+    /**
+     * Adds a bonus to a history score, the score moves towards the limit by
+     * the relative distance from it (it can not leave the range)
+     * @param i Index of the score
+     * @param bonus Positive bonus or negative malus
+     */
+    private void updateHistory(int i, int bonus){
+    
+        history[i] += bonus - history[i] * Math.abs(bonus) / MAX_HISTORY;
+    }
+    
+    /**
+     * Calculates table index of a move
+     * @param side Side index
+     * @param move Packed move
+     * @return Index of history and counter move tables
+     */
+    private static int index(int side, int move){
+    
+        return (side << 12) | (Move.getFrom(move) << 6) | Move.getTo(move);
+    }
+}
@@ -0,0 +1,169 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Reusable, fixed capacity list of packed moves. It is allocated once (e.g. per
+ * search ply) and reset by clear() instead of being reallocated, therefore
+ * generating a move does not allocate any object.
+ * Packed move layout: source square in bits [0, 6), target square in bits
+ * [6, 12), squares are indexed as rank * 8 + file.
+ */
+public class MoveList {
+
+    // upper bound of number of moves in any reachable position
+    public static final int DEFAULT_CAPACITY = 256;
+    
+    private final int[] moves;
+    private int size;
+    
+    /**
+     * Default constructor with default capacity
+     */
+    public MoveList(){
+    
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Parameterized constructor
+     * @param capacity Maximum number of stored moves
+     */
+    public MoveList(int capacity){
+    
+        if(capacity < 1){
+        
+            throw new RuntimeException("Capacity of move list is not positive.");
+        }
+        
+        moves = new int[capacity];
+        size = 0;
+    }
+    
+    /**
+     * Packs a source-target square pair into a move
+     * @param from Source square in range of [0, 64)
+     * @param to Target square in range of [0, 64)
+     * @return Packed move
+     */
+    public static int pack(int from, int to){
+    
+        return from | (to << 6);
+    }
+    
+    /**
+     * Obtains source square of a packed move
+     * @param move Packed move
+     * @return Source square
+     */
+    public static int getFrom(int move){
+    
+        return move & 0x3F;
+    }
+    
+    /**
+     * Obtains target square of a packed move
+     * @param move Packed move
+     * @return Target square
+     */
+    public static int getTo(int move){
+    
+        return (move >>> 6) & 0x3F;
+    }
+    
+    /**
+     * Appends a packed move
+     * @param move Packed move
+     */
+    public void add(int move){
+    
+        moves[size++] = move;
+    }
+    
+    /**
+     * Appends one move for each target square of a bitboard
+     * @param from Source square of moves
+     * @param targets Bitboard of target squares
+     */
+    public void addTargets(int from, long targets){
+    
+        while(targets != 0L){
+        
+            moves[size++] = from | (Long.numberOfTrailingZeros(targets) << 6);
+            targets &= targets - 1;
+        }
+    }
+    
+    /**
+     * Obtains a packed move by its index
+     * @param i Index of move in range of [0, size())
+     * @return Packed move
+     */
+    public int get(int i){
+    
+        return moves[i];
+    }
+    
+    /**
+     * Overwrites a packed move at given index
+     * @param i Index of move in range of [0, size())
+     * @param move Packed move
+     */
+    public void set(int i, int move){
+    
+        moves[i] = move;
+    }
+    
+    /**
+     * Obtains the number of stored moves
+     * @return Number of moves
+     */
+    public int size(){
+    
+        return size;
+    }
+    
+    /**
+     * Checks whether list is empty
+     * @return True if no move is stored
+     */
+    public boolean isEmpty(){
+    
+        return size == 0;
+    }
+    
+    /**
+     * Resets list for reuse, the storage is kept
+     */
+    public void clear(){
+    
+        size = 0;
+    }
+    
+    /**
+     * Checks whether a move with given target square is stored
+     * @param to Target square
+     * @return True if a stored move has the requested target square
+     */
+    public boolean containsTarget(int to){
+    
+        for(int i = 0; i < size; ++i){
+        
+            if(((moves[i] >>> 6) & 0x3F) == to){
+            
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Keeps only the moves of index range [from, to), the others are dropped
+     * @param from First kept index
+     * @param to Upper bound (exclusive) of kept indices
+     */
+    public void retainRange(int from, int to){
+    
+        System.arraycopy(moves, from, moves, 0, to - from);
+        size = to - from;
+    }
+}
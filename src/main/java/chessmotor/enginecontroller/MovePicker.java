@@ -0,0 +1,399 @@
+package chessmotor.enginecontroller;
+
+import chessmotor.enginecontroller.piecetypes.PieceType;
+
+/**
+ * Staged, lazy move source of a search node. Moves are yielded one by one in
+ * the following stages, a stage is generated only if the search of the
+ * previous stages did not cut off:
+ *   - hash move (e.g. principal variation move of a previous iteration)
+ *   - good captures and promotions, most valuable victim first (MVV-LVA
+ *     table)
+ *   - killer and counter moves (quiet moves that caused cutoffs at the same
+ *     ply or in reply to the same previous move, see MoveHistory)
+ *   - quiet moves, by history score if move history is given
+ *   - bad captures and promotions (losing material by static exchange
+ *     evaluation)
+ * Moves of earlier stages are not repeated. Moves given from outside (hash,
+ * killer and counter moves) are validated against the position before they
+ * are yielded. One picker is allocated per ply and reused by init(), picking
+ * does not allocate objects.
+ */
+public class MovePicker {
+
+    public static final int STAGE_HASH_MOVE = 0;
+    public static final int STAGE_GENERATE_CAPTURES = 1;
+    public static final int STAGE_GOOD_CAPTURES = 2;
+    public static final int STAGE_KILLERS = 3;
+    public static final int STAGE_GENERATE_QUIETS = 4;
+    public static final int STAGE_QUIETS = 5;
+    public static final int STAGE_BAD_CAPTURES = 6;
+    public static final int STAGE_DONE = 7;
+    
+    // killer moves followed by the counter move
+    private static final int NUM_OF_REFUTATIONS = MoveHistory.NUM_OF_KILLERS + 1;
+    
+    // capture order scores indexed by victim type * NUM_OF_TYPES + attacker
+    //  type, most valuable victim first, then least valuable attacker
+    private static final int[] mvvLva =
+            new int[GameBoardData.NUM_OF_TYPES * GameBoardData.NUM_OF_TYPES];
+    
+    static{
+    
+        for(int victim = 0; victim < GameBoardData.NUM_OF_TYPES; ++victim){
+        
+            for(int attacker = 0; attacker < GameBoardData.NUM_OF_TYPES; ++attacker){
+            
+                // attacker values are below 2^15
+                mvvLva[victim * GameBoardData.NUM_OF_TYPES + attacker] =
+                        (PieceType.ofIndex(victim).getValue() << 15)
+                        - PieceType.ofIndex(attacker).getValue();
+            }
+        }
+    }
+    
+    private GameBoardData board;
+    private int stage;
+    
+    private int hashMove;
+    private final int[] refutations;
+    private int refutationIndex;
+    
+    // quiet move order source, null if quiet moves are yielded in generation
+    //  order
+    private MoveHistory history;
+    
+    private final MoveList captures;
+    private final int[] captureScores;
+    private int captureIndex;
+    
+    private final MoveList badCaptures;
+    private int badCaptureIndex;
+    
+    private final MoveList quiets;
+    private final int[] quietScores;
+    private int quietIndex;
+    
+    // generated moves of a single source square for validation
+    private final MoveList validationMoves;
+    
+    /**
+     * Default constructor
+     */
+    public MovePicker(){
+    
+        refutations = new int[NUM_OF_REFUTATIONS];
+        
+        captures = new MoveList();
+        captureScores = new int[MoveList.DEFAULT_CAPACITY];
+        badCaptures = new MoveList();
+        quiets = new MoveList();
+        quietScores = new int[MoveList.DEFAULT_CAPACITY];
+        validationMoves = new MoveList();
+        
+        stage = STAGE_DONE;
+    }
+    
+    /**
+     * Prepares picking the moves of the side to move of a position
+     * @param board Game board of the position, it must not be changed between
+     *        picks except for making and taking back the picked moves
+     * @param hashMove Packed move to be tried first, Move.NONE if there is none
+     * @param killer1 Primary killer move of the ply, Move.NONE if there is none
+     * @param killer2 Secondary killer move of the ply, Move.NONE if there is
+     *        none
+     */
+    public void init(GameBoardData board, int hashMove, int killer1, int killer2){
+    
+        init(board, hashMove, killer1, killer2, Move.NONE, null);
+    }
+    
+    /**
+     * Prepares picking the moves of the side to move of a position, quiet
+     * moves are ordered by move history
+     * @param board Game board of the position, it must not be changed between
+     *        picks except for making and taking back the picked moves
+     * @param hashMove Packed move to be tried first, Move.NONE if there is none
+     * @param history Move history of the searching thread
+     * @param ply Distance of position from root
+     * @param previousMove Packed move that led to the position, Move.NONE at
+     *        root
+     */
+    public void init(GameBoardData board, int hashMove, MoveHistory history,
+            int ply, int previousMove){
+        
+        init(board, hashMove, history.getKiller(ply, 0),
+                history.getKiller(ply, 1),
+                history.getCounterMove(board.getSideToMove(), previousMove),
+                history);
+    }
+    
+    /**
+     * Prepares picking
+     * @param board Game board of the position
+     * @param hashMove Packed move to be tried first, Move.NONE if there is none
+     * @param killer1 Primary killer move, Move.NONE if there is none
+     * @param killer2 Secondary killer move, Move.NONE if there is none
+     * @param counterMove Counter move of the previous move, Move.NONE if there
+     *        is none
+     * @param history Move history, null if quiet moves are not ordered
+     */
+    private void init(GameBoardData board, int hashMove, int killer1,
+            int killer2, int counterMove, MoveHistory history){
+        
+        this.board = board;
+        this.hashMove = hashMove;
+        this.history = history;
+        refutations[0] = killer1;
+        refutations[1] = killer1 == killer2 ? Move.NONE : killer2;
+        refutations[2] = counterMove == killer1 || counterMove == killer2
+                ? Move.NONE : counterMove;
+        refutationIndex = 0;
+        
+        captures.clear();
+        captureIndex = 0;
+        badCaptures.clear();
+        badCaptureIndex = 0;
+        quiets.clear();
+        quietIndex = 0;
+        
+        stage = STAGE_HASH_MOVE;
+    }
+    
+    /**
+     * Obtains the current stage
+     * @return One of STAGE_* values
+     */
+    public int getStage(){
+    
+        return stage;
+    }
+    
+    /**
+     * Yields the next move
+     * @return Packed legal move, Move.NONE if all moves have been yielded
+     */
+    public int next(){
+    
+        while(true){
+        
+            if(stage == STAGE_HASH_MOVE){
+            
+                stage = STAGE_GENERATE_CAPTURES;
+                
+                if(MoveGenerator.isLegal(board, hashMove, validationMoves)){
+                
+                    return hashMove;
+                }
+                
+                hashMove = Move.NONE;
+            }
+            else if(stage == STAGE_GENERATE_CAPTURES){
+            
+                MoveGenerator.generateLegal(board, board.getSideToMove(), -1L,
+                        MoveGenerator.CAPTURES, captures);
+                
+                for(int i = 0; i < captures.size(); ++i){
+                
+                    captureScores[i] = scoreCapture(captures.get(i));
+                }
+                
+                stage = STAGE_GOOD_CAPTURES;
+            }
+            else if(stage == STAGE_GOOD_CAPTURES){
+            
+                while(captureIndex < captures.size()){
+                
+                    int move = selectBestCapture();
+                    
+                    if(move == hashMove){
+                    
+                        continue;
+                    }
+                    
+                    if(!isGoodCapture(board, move)){
+                    
+                        badCaptures.add(move);
+                        continue;
+                    }
+                    
+                    return move;
+                }
+                
+                stage = STAGE_KILLERS;
+            }
+            else if(stage == STAGE_KILLERS){
+            
+                while(refutationIndex < NUM_OF_REFUTATIONS){
+                
+                    int move = refutations[refutationIndex++];
+                    
+                    // refutations are quiet moves of other positions
+                    if(move != hashMove && !Move.isCapture(move)
+                            && !Move.isPromotion(move)
+                            && MoveGenerator.isLegal(board, move, validationMoves)){
+                        
+                        return move;
+                    }
+                    
+                    refutations[refutationIndex - 1] = Move.NONE;
+                }
+                
+                stage = STAGE_GENERATE_QUIETS;
+            }
+            else if(stage == STAGE_GENERATE_QUIETS){
+            
+                MoveGenerator.generateLegal(board, board.getSideToMove(), -1L,
+                        MoveGenerator.QUIETS, quiets);
+                
+                if(history != null){
+                
+                    int side = board.getSideToMove();
+                    
+                    for(int i = 0; i < quiets.size(); ++i){
+                    
+                        quietScores[i] = history.getHistory(side, quiets.get(i));
+                    }
+                }
+                
+                stage = STAGE_QUIETS;
+            }
+            else if(stage == STAGE_QUIETS){
+            
+                while(quietIndex < quiets.size()){
+                
+                    int move = history != null ? selectBestQuiet()
+                            : quiets.get(quietIndex++);
+                    
+                    if(move != hashMove && move != refutations[0]
+                            && move != refutations[1] && move != refutations[2]){
+                        
+                        return move;
+                    }
+                }
+                
+                stage = STAGE_BAD_CAPTURES;
+            }
+            else if(stage == STAGE_BAD_CAPTURES){
+            
+                if(badCaptureIndex < badCaptures.size()){
+                
+                    return badCaptures.get(badCaptureIndex++);
+                }
+                
+                stage = STAGE_DONE;
+            }
+            else{
+            
+                return Move.NONE;
+            }
+        }
+    }
+    
+    /**
+     * Selects the highest scored remaining capture by swapping it to the
+     * current position, only the yielded part of the list gets sorted
+     * @return Packed capture
+     */
+    private int selectBestCapture(){
+    
+        int bestI = captureIndex;
+        
+        for(int i = captureIndex + 1; i < captures.size(); ++i){
+        
+            if(captureScores[i] > captureScores[bestI]){
+            
+                bestI = i;
+            }
+        }
+        
+        int move = captures.get(bestI);
+        
+        captures.set(bestI, captures.get(captureIndex));
+        captureScores[bestI] = captureScores[captureIndex];
+        captures.set(captureIndex, move);
+        ++captureIndex;
+        
+        return move;
+    }
+    
+    /**
+     * Selects the highest history scored remaining quiet move by swapping it
+     * to the current position
+     * @return Packed quiet move
+     */
+    private int selectBestQuiet(){
+    
+        int bestI = quietIndex;
+        
+        for(int i = quietIndex + 1; i < quiets.size(); ++i){
+        
+            if(quietScores[i] > quietScores[bestI]){
+            
+                bestI = i;
+            }
+        }
+        
+        int move = quiets.get(bestI);
+        
+        quiets.set(bestI, quiets.get(quietIndex));
+        quietScores[bestI] = quietScores[quietIndex];
+        quiets.set(quietIndex, move);
+        ++quietIndex;
+        
+        return move;
+    }
+    
+    /**
+     * Obtains capture order score of a move by table lookup
+     * @param move Packed capture or promotion
+     * @return MVV-LVA score (increased by the value of promoted piece), higher
+     *         score is tried first
+     */
+    public static int scoreCapture(int move){
+    
+        int score = 0;
+        
+        if(Move.isCapture(move)){
+        
+            score = mvvLva[GameBoardData.typeOf(Move.getCapturedId(move))
+                    * GameBoardData.NUM_OF_TYPES
+                    + GameBoardData.typeOf(Move.getPieceId(move))];
+        }
+        
+        if(Move.isPromotion(move)){
+        
+            score += PieceType.ofId(Move.getPromotionId(move)).getValue() << 15;
+        }
+        
+        return score;
+    }
+    
+    /**
+     * Checks whether a capture or promotion does not lose material, static
+     * exchange is evaluated only if the victim is less valuable than the
+     * attacker or if there is no victim
+     * @param board Game board of the position
+     * @param move Packed capture or promotion
+     * @return True if the move is good
+     */
+    public static boolean isGoodCapture(GameBoardData board, int move){
+    
+        if(!Move.isCapture(move)){
+        
+            return board.see(move) >= 0;
+        }
+        
+        PieceType attacker = PieceType.ofId(Move.getPieceId(move));
+        
+        // legal king captures take undefended pieces
+        if(attacker == PieceType.KING
+                || PieceType.ofId(Move.getCapturedId(move)).getValue()
+                >= attacker.getValue()){
+            
+            return true;
+        }
+        
+        return board.see(move) >= 0;
+    }
+}
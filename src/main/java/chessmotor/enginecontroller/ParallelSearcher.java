@@ -0,0 +1,214 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Parallel search by shared transposition table (lazy SMP). The root position
+ * is searched by several searchers at the same time, each thread works on its
+ * own board copy and the threads are not synchronized otherwise: they profit
+ * from the results of each other through the lock-free table.
+ *   - main searcher: it runs on the calling thread, keeps the time budget and
+ *     provides the result
+ *   - helper searchers: they run on own threads without time limit and are
+ *     stopped when the main searcher returns
+ */
+public class ParallelSearcher {
+
+    // a stop request is repeated in this interval until the helper terminates
+    private static final long STOP_INTERVAL = 1;
+    
+    private final TranspositionTable table;
+    private final Searcher[] searchers;
+    
+    /**
+     * Constructor
+     * @param numOfThreads Number of search threads (the calling thread
+     *        included)
+     * @param hashSizeMb Size of the shared transposition table in megabytes
+     * @throws RuntimeException Non-positive number of threads or table size
+     */
+    public ParallelSearcher(int numOfThreads, int hashSizeMb){
+    
+        if(numOfThreads < 1){
+        
+            throw new RuntimeException("Number of threads has to be positive.");
+        }
+        
+        table = new TranspositionTable(hashSizeMb);
+        searchers = new Searcher[numOfThreads];
+        
+        for(int i = 0; i < numOfThreads; ++i){
+        
+            searchers[i] = new Searcher(table);
+        }
+    }
+    
+    /**
+     * Searches the best move of the side to move by all threads, see
+     * Searcher.search
+     * @param board Game board of the root position, it is restored on return
+     * @param maxDepth Depth limit in plies
+     * @param timeBudget Time budget in milliseconds, 0 stands for unlimited
+     * @return Best packed move of the main searcher, Move.NONE if the side to
+     *         move has no legal move
+     * @throws RuntimeException Depth out of range of [1, Score.MAX_PLY),
+     *         negative time budget
+     */
+    public int search(GameBoardData board, int maxDepth, long timeBudget){
+    
+        if(maxDepth < 1 || maxDepth >= Score.MAX_PLY){
+        
+            throw new RuntimeException("Search depth is out of range.");
+        }
+        
+        if(timeBudget < 0){
+        
+            throw new RuntimeException("Time budget can not be negative.");
+        }
+        
+        table.newSearch();
+        
+        Thread[] helpers = new Thread[searchers.length - 1];
+        
+        for(int i = 0; i < helpers.length; ++i){
+        
+            // copies are made before the main search changes the board
+            Searcher helper = searchers[i + 1];
+            GameBoardData boardCopy = new GameBoardData(board);
+            
+            helpers[i] = new Thread(() -> helper.search(boardCopy, maxDepth, 0));
+            helpers[i].setDaemon(true);
+            helpers[i].start();
+        }
+        
+        try{
+        
+            return searchers[0].search(board, maxDepth, timeBudget);
+        }
+        finally{
+        
+            for(int i = 0; i < helpers.length; ++i){
+            
+                stopHelper(helpers[i], searchers[i + 1]);
+            }
+        }
+    }
+    
+    /**
+     * Clears the shared transposition table (e.g. at new game)
+     */
+    public void clear(){
+    
+        table.clear();
+    }
+    
+    /**
+     * Obtains shared transposition table
+     * @return Transposition table
+     */
+    public TranspositionTable getTranspositionTable(){
+    
+        return table;
+    }
+    
+    /**
+     * Obtains number of search threads
+     * @return Number of threads (the calling thread included)
+     */
+    public int getNumOfThreads(){
+    
+        return searchers.length;
+    }
+    
+    /**
+     * Obtains score of the recent search
+     * @return Score of the root position relative to the side to move
+     */
+    public int getScore(){
+    
+        return searchers[0].getScore();
+    }
+    
+    /**
+     * Obtains principal variation of the recent search
+     * @return Packed moves of the expected line from the root position
+     */
+    public int[] getPrincipalVariation(){
+    
+        return searchers[0].getPrincipalVariation();
+    }
+    
+    /**
+     * Obtains depth of the last completed iteration of the recent search
+     * @return Depth in plies of the main searcher
+     */
+    public int getCompletedDepth(){
+    
+        return searchers[0].getCompletedDepth();
+    }
+    
+    /**
+     * Obtains number of visited nodes of the recent search
+     * @return Number of nodes of all threads
+     */
+    public long getNodes(){
+    
+        long nodes = 0;
+        
+        for(Searcher searcher : searchers){
+        
+            nodes += searcher.getNodes();
+        }
+        
+        return nodes;
+    }
+    
+    /**
+     * Obtains re-search rate of principal variation search of the recent
+     * search, see Searcher.getResearchRate
+     * @return Re-search rate of the main searcher
+     */
+    public double getResearchRate(){
+    
+        return searchers[0].getResearchRate();
+    }
+    
+    /**
+     * Obtains first move cutoff rate of the recent search, see
+     * Searcher.getFirstMoveCutoffRate
+     * @return First move cutoff rate of the main searcher
+     */
+    public double getFirstMoveCutoffRate(){
+    
+        return searchers[0].getFirstMoveCutoffRate();
+    }
+    
+    /**
+     * Stops a helper searcher and waits for its thread
+     * @param helper Thread of the helper
+     * @param searcher Searcher of the helper
+     */
+    private void stopHelper(Thread helper, Searcher searcher){
+    
+        boolean interrupted = false;
+        
+        // a request can be lost if the helper search has not started yet (it
+        //  clears the recent request), therefore it is repeated
+        while(helper.isAlive()){
+        
+            searcher.stop();
+            
+            try{
+            
+                helper.join(STOP_INTERVAL);
+            }
+            catch(InterruptedException e){
+            
+                interrupted = true;
+            }
+        }
+        
+        if(interrupted){
+        
+            Thread.currentThread().interrupt();
+        }
+    }
+}
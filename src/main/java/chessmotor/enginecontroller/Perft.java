@@ -0,0 +1,377 @@
+package chessmotor.enginecontroller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Performance test of move generation. It counts the leaf nodes of the legal
+ * move tree to a given depth, the counts are compared to published reference
+ * values in order to verify move generation, and the elapsed time gives the
+ * raw generator throughput (nodes per second).
+ *   - divide: leaf counts per root move, for locating generator bugs
+ *   - hash table: subtree counts are stored by position hash and depth,
+ *     transpositions are counted once (entries are XOR-verified, therefore
+ *     the table is shared by threads without locking)
+ *   - parallel mode: root moves are split across cores by fork/join, each
+ *     task works on its own board copy
+ * Leaf nodes are bulk counted, the last ply is not made.
+ */
+public class Perft {
+
+    // one entry consists of a verification key and a count
+    private final long[] hashTable;
+    private final int hashMask;
+    
+    // statistics of the recent run
+    private long nodes;
+    private long elapsedNanos;
+    private LinkedHashMap<Integer, Long> rootCounts;
+    
+    /**
+     * Default constructor without hash table
+     */
+    public Perft(){
+    
+        this(0);
+    }
+    
+    /**
+     * Constructor with hash table
+     * @param hashSizeMb Size of hash table in megabytes, 0 disables hashing
+     * @throws RuntimeException Negative size
+     */
+    public Perft(int hashSizeMb){
+    
+        if(hashSizeMb < 0){
+        
+            throw new RuntimeException("Hash table size can not be negative.");
+        }
+        
+        if(hashSizeMb == 0){
+        
+            hashTable = null;
+            hashMask = 0;
+        }
+        else{
+        
+            // 16 bytes per entry, number of entries is a power of 2
+            int entries = Integer.highestOneBit(hashSizeMb * (1024 * 1024 / 16));
+            hashTable = new long[2 * entries];
+            hashMask = entries - 1;
+        }
+        
+        rootCounts = new LinkedHashMap<>();
+    }
+    
+    /**
+     * Counts leaf nodes to the given depth on the calling thread
+     * @param board Game board of the root position, it is restored on return
+     * @param depth Depth in plies
+     * @return Number of leaf nodes
+     */
+    public long run(GameBoardData board, int depth){
+    
+        return divide(board, depth, 1);
+    }
+    
+    /**
+     * Counts leaf nodes to the given depth, root moves are distributed among
+     * fork/join worker threads
+     * @param board Game board of the root position, it is not modified
+     * @param depth Depth in plies
+     * @param parallelism Number of worker threads
+     * @return Number of leaf nodes
+     */
+    public long runParallel(GameBoardData board, int depth, int parallelism){
+    
+        return divide(board, depth, parallelism);
+    }
+    
+    /**
+     * Counts leaf nodes to the given depth with per root move breakdown, the
+     * breakdown is available by getRootCounts()
+     * @param board Game board of the root position
+     * @param depth Depth in plies
+     * @param parallelism Number of worker threads, 1 stands for counting on
+     *        the calling thread
+     * @return Number of leaf nodes
+     * @throws RuntimeException Non-positive parallelism
+     */
+    public long divide(GameBoardData board, int depth, int parallelism){
+    
+        if(parallelism < 1){
+        
+            throw new RuntimeException("Parallelism has to be positive.");
+        }
+        
+        long startTime = System.nanoTime();
+        LinkedHashMap<Integer, Long> counts = new LinkedHashMap<>();
+        long total = 0;
+        
+        if(depth <= 0){
+        
+            total = 1;
+        }
+        else{
+        
+            MoveList rootMoves = new MoveList();
+            MoveGenerator.generateAll(board.getSideToMove(), board, rootMoves);
+            
+            if(parallelism == 1){
+            
+                MoveList[] moveLists = allocateMoveLists(depth);
+                
+                for(int i = 0; i < rootMoves.size(); ++i){
+                
+                    int move = rootMoves.get(i);
+                    board.makeMove(move);
+                    long count = count(board, depth - 1, 1, moveLists);
+                    board.unmakeMove();
+                    
+                    counts.put(move, count);
+                    total += count;
+                }
+            }
+            else{
+            
+                ArrayList<SubtreeTask> tasks = new ArrayList<>();
+                
+                for(int i = 0; i < rootMoves.size(); ++i){
+                
+                    tasks.add(new SubtreeTask(board, rootMoves.get(i), depth - 1));
+                }
+                
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                
+                try{
+                
+                    for(SubtreeTask task : tasks){
+                    
+                        pool.execute(task);
+                    }
+                    
+                    for(SubtreeTask task : tasks){
+                    
+                        long count = task.join();
+                        counts.put(task.rootMove, count);
+                        total += count;
+                    }
+                }
+                finally{
+                
+                    pool.shutdown();
+                }
+            }
+        }
+        
+        elapsedNanos = System.nanoTime() - startTime;
+        nodes = total;
+        rootCounts = counts;
+        
+        return total;
+    }
+    
+    /**
+     * Obtains leaf node count of the recent run
+     * @return Number of leaf nodes
+     */
+    public long getNodes(){
+    
+        return nodes;
+    }
+    
+    /**
+     * Obtains duration of the recent run
+     * @return Elapsed time in nanoseconds
+     */
+    public long getElapsedNanos(){
+    
+        return elapsedNanos;
+    }
+    
+    /**
+     * Obtains throughput of the recent run
+     * @return Leaf nodes per second
+     */
+    public long getNodesPerSecond(){
+    
+        return elapsedNanos == 0 ? 0 : nodes * 1000000000L / elapsedNanos;
+    }
+    
+    /**
+     * Obtains per root move breakdown of the recent run
+     * @return Leaf node counts by packed root moves in generation order
+     */
+    public Map<Integer, Long> getRootCounts(){
+    
+        return rootCounts;
+    }
+    
+    /**
+     * Creates divide output of the recent run
+     * @return One line per root move, followed by total and throughput
+     */
+    public String getReport(){
+    
+        StringBuilder report = new StringBuilder();
+        
+        for(Map.Entry<Integer, Long> entry : rootCounts.entrySet()){
+        
+            report.append(Move.toString(entry.getKey())).append(": ")
+                    .append(entry.getValue()).append('\n');
+        }
+        
+        report.append("moves: ").append(rootCounts.size()).append('\n')
+                .append("nodes: ").append(nodes).append('\n')
+                .append("time: ").append(elapsedNanos / 1000000).append(" ms\n")
+                .append("nps: ").append(getNodesPerSecond()).append('\n');
+        
+        return report.toString();
+    }
+    
+    /**
+     * Clears hash table entries
+     */
+    public void clearHash(){
+    
+        if(hashTable != null){
+        
+            Arrays.fill(hashTable, 0L);
+        }
+    }
+    
+    /**
+     * Counts leaf nodes recursively
+     * @param board Game board of the position
+     * @param depth Remaining depth
+     * @param ply Distance from root, it selects the reused move list
+     * @param moveLists Move lists by ply
+     * @return Number of leaf nodes
+     */
+    private long count(GameBoardData board, int depth, int ply,
+            MoveList[] moveLists){
+        
+        if(depth == 0){
+        
+            return 1;
+        }
+        
+        // the last ply is bulk counted, it is not stored
+        boolean hashed = hashTable != null && depth > 1;
+        long key = 0L;
+        int index = 0;
+        
+        // a stored count spares the move generation as well
+        if(hashed){
+        
+            key = board.hash() ^ (depth * 0x9E3779B97F4A7C15L);
+            index = ((int)key & hashMask) << 1;
+            
+            long storedCount = hashTable[index + 1];
+            
+            if((hashTable[index] ^ storedCount) == key){
+            
+                return storedCount;
+            }
+        }
+        
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        MoveGenerator.generateAll(board.getSideToMove(), board, moves);
+        
+        // bulk counting, legal moves of the last ply are not made
+        if(depth == 1){
+        
+            return moves.size();
+        }
+        
+        long total = 0;
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            board.makeMove(moves.get(i));
+            total += count(board, depth - 1, ply + 1, moveLists);
+            board.unmakeMove();
+        }
+        
+        if(hashed){
+        
+            // a torn entry of concurrent writers fails verification
+            hashTable[index] = key ^ total;
+            hashTable[index + 1] = total;
+        }
+        
+        return total;
+    }
+    
+    private static MoveList[] allocateMoveLists(int depth){
+    
+        MoveList[] moveLists = new MoveList[depth + 1];
+        
+        for(int i = 0; i <= depth; ++i){
+        
+            moveLists[i] = new MoveList();
+        }
+        
+        return moveLists;
+    }
+    
+    /**
+     * Counting task of the subtree of a root move
+     */
+    private class SubtreeTask extends RecursiveTask<Long> {
+    
+        private static final long serialVersionUID = 1L;
+        
+        private final GameBoardData board;
+        private final int rootMove;
+        private final int depth;
+        
+        SubtreeTask(GameBoardData rootBoard, int rootMove, int depth){
+        
+            // board copy is created on the caller thread, the root board is not
+            //  modified while tasks are created
+            this.board = new GameBoardData(rootBoard);
+            this.rootMove = rootMove;
+            this.depth = depth;
+        }
+        
+        @Override
+        protected Long compute(){
+        
+            board.makeMove(rootMove);
+            
+            return count(board, depth, 1, allocateMoveLists(depth + 1));
+        }
+    }
+    
+    /**
+     * Command line entry of perft
+     * @param args FEN record (or "startpos"), depth, optional number of threads
+     *        and optional hash table size in megabytes
+     */
+    public static void main(String[] args){
+    
+        if(args.length < 2){
+        
+            System.out.println("Usage: Perft <fen|startpos> <depth> [threads] "
+                    + "[hashMb]");
+            return;
+        }
+        
+        GameBoardData board = FenParser.parse(args[0].equals("startpos")
+                ? FenParser.START_POSITION : args[0]);
+        int depth = Integer.parseInt(args[1]);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        int hashSizeMb = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        
+        Perft perft = new Perft(hashSizeMb);
+        perft.divide(board, depth, threads);
+        
+        System.out.print(perft.getReport());
+    }
+}
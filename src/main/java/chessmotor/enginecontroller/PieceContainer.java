@@ -3,18 +3,67 @@ package chessmotor.enginecontroller;
 import chessmotor.enginecontroller.piecetypes.GenPiece;
 
 /**
- * This class stores the actualized, explicit piece object for a game play
+ * This class stores the actualized, explicit piece object for a game play.
+ * Besides the piece objects (used by the game boundary and GUI) it keeps a
+ * primitive struct-of-arrays layout of pieces by identifier (type, square,
+ * colour) and a packed list of live (not captured) piece identifiers for each
+ * side. The arrays are kept in sync by the linked game board (see
+ * GameBoardData), iterating a side touches only its live entries.
  */
 public class PieceContainer {
 
     private final GenPiece pieces[];
 
+    // piece data by identifier in range of [0, 32)
+    private final byte[] type;
+    // square of piece, -1 stands for captured piece
+    private final byte[] square;
+    private final byte[] colour;
+    
+    // live piece identifiers of sides, indexed by side * 16 + position
+    private final byte[] liveIds;
+    // position of a live piece in its side list, indexed by identifier
+    private final byte[] liveIndex;
+    private final int[] liveCount;
+    
     /**
      * Default constructor with fixed length initialization of piece array
      */
     public PieceContainer(){
         
         pieces = new GenPiece[32];
+        
+        type = new byte[32];
+        square = new byte[32];
+        colour = new byte[32];
+        liveIds = new byte[32];
+        liveIndex = new byte[32];
+        liveCount = new int[2];
+        
+        for(int i = 0; i < 32; ++i){
+        
+            type[i] = (byte)GameBoardData.typeOf(i);
+            colour[i] = (byte)GameBoardData.sideOf(i);
+            square[i] = -1;
+        }
+    }
+    
+    /**
+     * Copy constructor, it copies only primitive arrays, the piece objects are
+     * shared (the search uses the primitive layout only), therefore it is cheap
+     * enough to be used per search thread
+     * @param orig object to be copied
+     */
+    public PieceContainer(PieceContainer orig){
+    
+        pieces = orig.pieces.clone();
+        
+        type = orig.type.clone();
+        square = orig.square.clone();
+        colour = orig.colour.clone();
+        liveIds = orig.liveIds.clone();
+        liveIndex = orig.liveIndex.clone();
+        liveCount = orig.liveCount.clone();
     }
     
     /**
@@ -44,4 +93,134 @@ public class PieceContainer {
     
         return pieces[i];
     }
+    
+    /**
+     * Copies the square of a piece from the primitive layout into its piece
+     * object (rank and file), it is used after a move has been made on the
+     * linked game board
+     * @param pieceId Piece identifier in range of [0, 32)
+     */
+    public void syncPosition(int pieceId){
+    
+        if(pieces[pieceId] != null && square[pieceId] != -1){
+        
+            pieces[pieceId].setPosition(square[pieceId] >>> 3, square[pieceId] & 7);
+        }
+    }
+    
+    /**
+     * Places a piece on a square, captured piece becomes live again (promotion
+     * reuses captured identifiers)
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @param newSquare Square index in range of [0, 64)
+     */
+    public void place(int pieceId, int newSquare){
+    
+        if(square[pieceId] == -1){
+        
+            int side = colour[pieceId];
+            liveIndex[pieceId] = (byte)liveCount[side];
+            liveIds[(side << 4) + liveCount[side]] = (byte)pieceId;
+            ++liveCount[side];
+        }
+        
+        square[pieceId] = (byte)newSquare;
+    }
+    
+    /**
+     * Removes a piece from the live pieces (capture or promoted pawn), the last
+     * live piece of the side takes its position in the packed list
+     * @param pieceId Piece identifier in range of [0, 32)
+     */
+    public void remove(int pieceId){
+    
+        if(square[pieceId] == -1){
+        
+            return;
+        }
+        
+        int side = colour[pieceId];
+        int last = liveIds[(side << 4) + liveCount[side] - 1];
+        
+        liveIds[(side << 4) + liveIndex[pieceId]] = (byte)last;
+        liveIndex[last] = liveIndex[pieceId];
+        --liveCount[side];
+        
+        square[pieceId] = -1;
+    }
+    
+    /**
+     * Removes all pieces from the live pieces
+     */
+    public void clearLive(){
+    
+        for(int i = 0; i < 32; ++i){
+        
+            square[i] = -1;
+        }
+        
+        liveCount[0] = 0;
+        liveCount[1] = 0;
+    }
+    
+    /**
+     * Obtains type index of piece (see GameBoardData)
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @return Type index
+     */
+    public int getType(int pieceId){
+    
+        return type[pieceId];
+    }
+    
+    /**
+     * Obtains square of piece
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @return Square index, -1 in case of captured piece
+     */
+    public int getSquare(int pieceId){
+    
+        return square[pieceId];
+    }
+    
+    /**
+     * Obtains colour (side index) of piece
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @return Side index (MACHINE_SIDE or HUMAN_SIDE of GameBoardData)
+     */
+    public int getColour(int pieceId){
+    
+        return colour[pieceId];
+    }
+    
+    /**
+     * Checks whether piece is on the board
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @return True if piece is not captured
+     */
+    public boolean isLive(int pieceId){
+    
+        return square[pieceId] != -1;
+    }
+    
+    /**
+     * Obtains number of live pieces of a side
+     * @param side Side index (MACHINE_SIDE or HUMAN_SIDE of GameBoardData)
+     * @return Number of live pieces
+     */
+    public int getLiveCount(int side){
+    
+        return liveCount[side];
+    }
+    
+    /**
+     * Obtains a live piece identifier of a side
+     * @param side Side index (MACHINE_SIDE or HUMAN_SIDE of GameBoardData)
+     * @param i Position in live list in range of [0, getLiveCount(side))
+     * @return Piece identifier
+     */
+    public int getLiveId(int side, int i){
+    
+        return liveIds[(side << 4) + i];
+    }
 }
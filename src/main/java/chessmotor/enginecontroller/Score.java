@@ -0,0 +1,141 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Integer score domain of the engine. Scores are centipawns from the point of
+ * view of a given side (material values see PieceType), mate scores are
+ * encoded by their distance from the root:
+ *   - MATE - ply: the side mates in ply plies
+ *   - -MATE + ply: the side is mated in ply plies
+ * All scores are within (-INFINITE, INFINITE), they fit into 16 bits and can
+ * be packed into move and node records. Floating point values are used for
+ * display purposes only (see toPawns and toString).
+ */
+public final class Score {
+
+    public static final int DRAW = 0;
+    
+    // maximum search depth in plies, mate scores are distinguished by it
+    public static final int MAX_PLY = 128;
+    
+    public static final int MATE = 30000;
+    // scores at or beyond this bound (in absolute value) are mate scores
+    public static final int MATE_BOUND = MATE - MAX_PLY;
+    // bound of search windows, exceeds any score
+    public static final int INFINITE = 32000;
+    
+    private Score(){
+    
+    }
+    
+    /**
+     * Creates score of mating the opponent
+     * @param ply Distance of mate from root in plies
+     * @return Mate score
+     */
+    public static int mateIn(int ply){
+    
+        return MATE - ply;
+    }
+    
+    /**
+     * Creates score of being mated
+     * @param ply Distance of mate from root in plies
+     * @return Negative mate score
+     */
+    public static int matedIn(int ply){
+    
+        return -MATE + ply;
+    }
+    
+    /**
+     * Checks whether a score is a mate score
+     * @param score Score
+     * @return True in case of mate score of either side
+     */
+    public static boolean isMate(int score){
+    
+        return score >= MATE_BOUND || score <= -MATE_BOUND;
+    }
+    
+    /**
+     * Obtains distance of mate from root
+     * @param score Mate score
+     * @return Number of plies to mate, positive if the side mates, negative if
+     *         the side is mated
+     */
+    public static int mateDistance(int score){
+    
+        return score > 0 ? MATE - score : -MATE - score;
+    }
+    
+    /**
+     * Converts a score relative to root into score relative to a node, mate
+     * scores are stored this way in tables shared by nodes of different plies
+     * @param score Score relative to root
+     * @param ply Distance of node from root
+     * @return Score relative to node
+     */
+    public static int toNodeRelative(int score, int ply){
+    
+        if(score >= MATE_BOUND){
+        
+            return score + ply;
+        }
+        else if(score <= -MATE_BOUND){
+        
+            return score - ply;
+        }
+        
+        return score;
+    }
+    
+    /**
+     * Converts a score relative to a node back into score relative to root
+     * @param score Score relative to node
+     * @param ply Distance of node from root
+     * @return Score relative to root
+     */
+    public static int toRootRelative(int score, int ply){
+    
+        if(score >= MATE_BOUND){
+        
+            return score - ply;
+        }
+        else if(score <= -MATE_BOUND){
+        
+            return score + ply;
+        }
+        
+        return score;
+    }
+    
+    /**
+     * Converts a score into pawn units for display
+     * @param score Score in centipawns
+     * @return Score in pawns
+     */
+    public static double toPawns(int score){
+    
+        return score / 100.0;
+    }
+    
+    /**
+     * Creates a readable form of a score for display and logging purposes
+     * @param score Score
+     * @return Pawn units with sign (e.g. "+1.25"), mate scores in moves with
+     *         '#' prefix (e.g. "#3", "#-2")
+     */
+    public static String toString(int score){
+    
+        if(isMate(score)){
+        
+            int plies = mateDistance(score);
+            int moves = plies > 0 ? (plies + 1) / 2 : (plies - 1) / 2;
+            
+            return "#" + moves;
+        }
+        
+        return (score >= 0 ? "+" : "-") + Math.abs(score) / 100 + "."
+                + String.format("%02d", Math.abs(score) % 100);
+    }
+}
@@ -0,0 +1,754 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Depth-first negamax search with alpha-beta pruning. Only the current path is
+ * kept: the moves of each ply are picked lazily by a per ply move picker and
+ * made/taken back on a single game board, therefore the memory usage is
+ * proportional to the depth (instead of the size of the searched tree).
+ *   - iterative deepening: depth 1, 2, ... is searched until the depth limit or
+ *     the time budget, the principal variation of the previous iteration is
+ *     tried first, the best move of the last completed iteration is returned
+ *   - principal variation search: the first move of a node is searched with
+ *     the full window, the further moves with a null window, they are
+ *     searched again with the full window only if they fail high
+ *   - aspiration windows: deeper iterations start with a narrow window
+ *     around the score of the previous iteration, it is widened on failure
+ *   - transposition table: results of nodes are cached by position hash,
+ *     bounds of sufficient depth cut off non-PV nodes, stored best moves are
+ *     tried first (the table can be shared by searchers of parallel threads,
+ *     see ParallelSearcher)
+ *   - principal variation: triangular table of the best lines by ply
+ *   - quiet move ordering: killer moves, counter moves and butterfly history
+ *     are updated by cutoffs (see MoveHistory), they are owned by the
+ *     searcher and aged between searches
+ *   - quiescence search: captures and promotions are resolved at the leaves
+ *     (losing captures by static exchange evaluation are skipped)
+ *   - check extension, mate and draw (50-move rule, repetition) detection
+ * Scores are centipawns relative to the side to move (see Score).
+ */
+public class Searcher {
+
+    // weight of an attacked, not own occupied square in centipawns
+    private static final int MOBILITY_WEIGHT = 2;
+    
+    // halfmove clock value of the 50-move rule
+    private static final int FIFTY_MOVE_LIMIT = 100;
+    
+    // the clock is read once per this many nodes (power of 2)
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    
+    // initial half width of aspiration windows in centipawns, it is doubled
+    //  at each failure
+    private static final int ASPIRATION_WINDOW = 25;
+    // the first iterations are searched with full window
+    private static final int ASPIRATION_MIN_DEPTH = 4;
+    
+    private final TranspositionTable table;
+    
+    private final MovePicker[] pickers;
+    private final MoveList[] quiescenceMoves;
+    // capture order scores of the quiescence move list of each ply
+    private final int[][] quiescenceScores;
+    
+    // principal variation of the node at ply i is pvTable[i][i..pvLength[i])
+    private final int[][] pvTable;
+    private final int[] pvLength;
+    
+    private final MoveHistory history;
+    // move made at each ply of the current path
+    private final int[] pathMoves;
+    // quiet moves searched without cutoff at each ply of the current path
+    private final int[][] triedQuiets;
+    
+    // time control of the current search
+    private long deadline;
+    private boolean stopped;
+    private volatile boolean stopRequested;
+    
+    // the first moves of nodes are taken from the principal variation of the
+    //  previous iteration as long as the search follows it
+    private boolean followPv;
+    private int numOfRootMoves;
+    
+    // statistics and result of the recent search
+    private long nodes;
+    private long nullWindowSearches;
+    private long researches;
+    private long aspirationResearches;
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    private int score;
+    private int completedDepth;
+    private int[] principalVariation;
+    
+    /**
+     * Default constructor with an own transposition table of
+     * TranspositionTable.DEFAULT_SIZE_MB megabytes
+     */
+    public Searcher(){
+    
+        this(new TranspositionTable());
+    }
+    
+    /**
+     * Constructor, per ply data are allocated up to Score.MAX_PLY
+     * @param table Transposition table, it may be shared with other searchers
+     * @throws RuntimeException Missing table
+     */
+    public Searcher(TranspositionTable table){
+    
+        if(table == null){
+        
+            throw new RuntimeException("Transposition table is null.");
+        }
+        
+        this.table = table;
+        pickers = new MovePicker[Score.MAX_PLY];
+        quiescenceMoves = new MoveList[Score.MAX_PLY];
+        quiescenceScores = new int[Score.MAX_PLY][MoveList.DEFAULT_CAPACITY];
+        
+        for(int ply = 0; ply < Score.MAX_PLY; ++ply){
+        
+            pickers[ply] = new MovePicker();
+            quiescenceMoves[ply] = new MoveList();
+        }
+        
+        pvTable = new int[Score.MAX_PLY][Score.MAX_PLY];
+        pvLength = new int[Score.MAX_PLY];
+        history = new MoveHistory();
+        pathMoves = new int[Score.MAX_PLY];
+        triedQuiets = new int[Score.MAX_PLY][MoveList.DEFAULT_CAPACITY];
+        
+        principalVariation = new int[0];
+    }
+    
+    /**
+     * Searches the best move of the side to move to a fixed depth (iterative
+     * deepening without time limit)
+     * @param board Game board of the root position, it is restored on return
+     * @param depth Depth in plies
+     * @return Best packed move, Move.NONE if the side to move has no legal move
+     * @throws RuntimeException Depth out of range of [1, Score.MAX_PLY)
+     */
+    public int search(GameBoardData board, int depth){
+    
+        return search(board, depth, 0);
+    }
+    
+    /**
+     * Searches the best move of the side to move by iterative deepening. An
+     * iteration is interrupted at the time budget, the result of the last
+     * completed iteration is kept (the first iteration is always completed). A
+     * new iteration is not started if half of the budget has elapsed, nor if
+     * there is only one legal move or a mate has been found.
+     * @param board Game board of the root position, it is restored on return
+     * @param maxDepth Depth limit in plies
+     * @param timeBudget Time budget in milliseconds, 0 stands for unlimited
+     * @return Best packed move, Move.NONE if the side to move has no legal move
+     * @throws RuntimeException Depth out of range of [1, Score.MAX_PLY), 
+     *         negative time budget
+     */
+    public int search(GameBoardData board, int maxDepth, long timeBudget){
+    
+        if(maxDepth < 1 || maxDepth >= Score.MAX_PLY){
+        
+            throw new RuntimeException("Search depth is out of range.");
+        }
+        
+        if(timeBudget < 0){
+        
+            throw new RuntimeException("Time budget can not be negative.");
+        }
+        
+        long startTime = System.nanoTime();
+        deadline = timeBudget == 0 ? Long.MAX_VALUE
+                : startTime + timeBudget * 1000000L;
+        stopped = false;
+        stopRequested = false;
+        
+        nodes = 0;
+        nullWindowSearches = 0;
+        researches = 0;
+        aspirationResearches = 0;
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        score = 0;
+        completedDepth = 0;
+        principalVariation = new int[0];
+        
+        history.age();
+        
+        for(int depth = 1; depth <= maxDepth; ++depth){
+        
+            int value = searchRoot(board, depth);
+            
+            if(stopped){
+            
+                break;
+            }
+            
+            score = value;
+            completedDepth = depth;
+            principalVariation = new int[pvLength[0]];
+            System.arraycopy(pvTable[0], 0, principalVariation, 0, pvLength[0]);
+            
+            if(numOfRootMoves <= 1 || Score.isMate(value)){
+            
+                break;
+            }
+            
+            // the next iteration takes longer than the previous ones together
+            if(timeBudget != 0
+                    && (System.nanoTime() - startTime) * 2 >= timeBudget * 1000000L){
+                
+                break;
+            }
+        }
+        
+        return principalVariation.length > 0 ? principalVariation[0] : Move.NONE;
+    }
+    
+    /**
+     * Requests termination of the running search (e.g. from another thread),
+     * the search returns the result of the last completed iteration
+     */
+    public void stop(){
+    
+        stopRequested = true;
+    }
+    
+    /**
+     * Obtains transposition table of the searcher
+     * @return Transposition table
+     */
+    public TranspositionTable getTranspositionTable(){
+    
+        return table;
+    }
+    
+    /**
+     * Obtains score of the recent search
+     * @return Score of the root position relative to the side to move
+     */
+    public int getScore(){
+    
+        return score;
+    }
+    
+    /**
+     * Obtains principal variation of the recent search
+     * @return Packed moves of the expected line from the root position
+     */
+    public int[] getPrincipalVariation(){
+    
+        return principalVariation;
+    }
+    
+    /**
+     * Obtains depth of the last completed iteration of the recent search
+     * @return Depth in plies
+     */
+    public int getCompletedDepth(){
+    
+        return completedDepth;
+    }
+    
+    /**
+     * Obtains number of visited nodes of the recent search
+     * @return Number of nodes (quiescence nodes included)
+     */
+    public long getNodes(){
+    
+        return nodes;
+    }
+    
+    /**
+     * Obtains number of null window searches of the recent search
+     * @return Number of moves searched with null window
+     */
+    public long getNullWindowSearches(){
+    
+        return nullWindowSearches;
+    }
+    
+    /**
+     * Obtains number of full window re-searches of null window failures of
+     * the recent search
+     * @return Number of re-searches
+     */
+    public long getResearches(){
+    
+        return researches;
+    }
+    
+    /**
+     * Obtains re-search rate of the recent search, a low rate indicates good
+     * move ordering (the first move is mostly the best one)
+     * @return Ratio of re-searches and null window searches, 0 if there was
+     *         no null window search
+     */
+    public double getResearchRate(){
+    
+        return nullWindowSearches == 0 ? 0
+                : (double)researches / nullWindowSearches;
+    }
+    
+    /**
+     * Obtains number of failed aspiration windows of the recent search
+     * @return Number of root re-searches with widened window
+     */
+    public long getAspirationResearches(){
+    
+        return aspirationResearches;
+    }
+    
+    /**
+     * Obtains rate of cutoffs by the first searched move of the recent
+     * search, a high rate indicates good move ordering
+     * @return Ratio of first move cutoffs and all cutoffs, 0 if there was no
+     *         cutoff
+     */
+    public double getFirstMoveCutoffRate(){
+    
+        return cutoffs == 0 ? 0 : (double)firstMoveCutoffs / cutoffs;
+    }
+    
+    /**
+     * Obtains move history (move ordering tables) of the searcher
+     * @return Move history
+     */
+    public MoveHistory getMoveHistory(){
+    
+        return history;
+    }
+    
+    /**
+     * Evaluates a position statically: material and mobility (attacked squares
+     * not occupied by own pieces) from the incrementally maintained removed
+     * piece masks and attack maps
+     * @param board Game board of the position
+     * @return Score relative to the side to move
+     */
+    public static int evaluate(GameBoardData board){
+    
+        int side = board.getSideToMove();
+        int enemy = side ^ 1;
+        
+        int material = board.getMaterial(side) - board.getMaterial(enemy);
+        int mobility = Long.bitCount(board.getAttacks(side)
+                & ~board.getOccupancy(side))
+                - Long.bitCount(board.getAttacks(enemy)
+                & ~board.getOccupancy(enemy));
+        
+        return material + MOBILITY_WEIGHT * mobility;
+    }
+    
+    /**
+     * Searches the root position to a given depth by aspiration windows, a
+     * failed window is widened towards the side of failure
+     * @param board Game board of the root position
+     * @param depth Depth of the iteration
+     * @return Score of the root position, it is meaningless if the search
+     *         has been stopped
+     */
+    private int searchRoot(GameBoardData board, int depth){
+    
+        int alpha = -Score.INFINITE;
+        int beta = Score.INFINITE;
+        int delta = ASPIRATION_WINDOW;
+        
+        if(depth >= ASPIRATION_MIN_DEPTH && !Score.isMate(score)){
+        
+            alpha = Math.max(score - delta, -Score.INFINITE);
+            beta = Math.min(score + delta, Score.INFINITE);
+        }
+        
+        while(true){
+        
+            followPv = true;
+            int value = negamax(board, depth, alpha, beta, 0);
+            
+            if(stopped){
+            
+                return value;
+            }
+            
+            if(value <= alpha && alpha > -Score.INFINITE){
+            
+                alpha = Math.max(value - delta, -Score.INFINITE);
+            }
+            else if(value >= beta && beta < Score.INFINITE){
+            
+                beta = Math.min(value + delta, Score.INFINITE);
+            }
+            else{
+            
+                return value;
+            }
+            
+            ++aspirationResearches;
+            delta *= 2;
+        }
+    }
+    
+    /**
+     * Searches a node in the full-width part of the tree
+     * @param board Game board of the node
+     * @param depth Remaining depth
+     * @param alpha Lower bound of the search window
+     * @param beta Upper bound of the search window
+     * @param ply Distance from root
+     * @return Score of the node relative to its side to move
+     */
+    private int negamax(GameBoardData board, int depth, int alpha, int beta,
+            int ply){
+        
+        pvLength[ply] = ply;
+        
+        if(ply > 0 && (board.getHalfmoveClock() >= FIFTY_MOVE_LIMIT
+                || board.isRepetition())){
+            
+            return Score.DRAW;
+        }
+        
+        boolean inCheck = board.isInCheck(board.getSideToMove());
+        
+        // checks are resolved a ply deeper
+        if(inCheck){
+        
+            ++depth;
+        }
+        
+        if(depth <= 0){
+        
+            return quiescence(board, alpha, beta, ply);
+        }
+        
+        if(ply >= Score.MAX_PLY - 1){
+        
+            return evaluate(board);
+        }
+        
+        if(isStopped()){
+        
+            return 0;
+        }
+        
+        boolean pvNode = beta - alpha > 1;
+        long key = board.hash();
+        long entry = table.probe(key);
+        int hashMove = TranspositionTable.getMove(entry);
+        
+        // the principal variation is not cut off in order to keep it complete
+        if(entry != 0 && !pvNode && TranspositionTable.getDepth(entry) >= depth){
+        
+            int entryScore = TranspositionTable.getScore(entry, ply);
+            int bound = TranspositionTable.getBound(entry);
+            
+            if(bound == TranspositionTable.BOUND_EXACT
+                    || (bound == TranspositionTable.BOUND_LOWER && entryScore >= beta)
+                    || (bound == TranspositionTable.BOUND_UPPER && entryScore <= alpha)){
+                
+                return entryScore;
+            }
+        }
+        
+        if(followPv){
+        
+            if(ply < principalVariation.length){
+            
+                hashMove = principalVariation[ply];
+            }
+            else{
+            
+                followPv = false;
+            }
+        }
+        
+        MovePicker picker = pickers[ply];
+        picker.init(board, hashMove, history, ply,
+                ply > 0 ? pathMoves[ply - 1] : Move.NONE);
+        
+        int originalAlpha = alpha;
+        int bestScore = -Score.INFINITE;
+        int bestMove = Move.NONE;
+        int numOfMoves = 0;
+        int numOfTriedQuiets = 0;
+        int move;
+        
+        while((move = picker.next()) != Move.NONE){
+        
+            ++numOfMoves;
+            boolean quiet = !Move.isCapture(move) && !Move.isPromotion(move);
+            
+            pathMoves[ply] = move;
+            board.makeMove(move);
+            int value;
+            
+            if(numOfMoves == 1){
+            
+                value = -negamax(board, depth - 1, -beta, -alpha, ply + 1);
+            }
+            else{
+            
+                // the move is only proven to be worse than the best one
+                value = -negamax(board, depth - 1, -alpha - 1, -alpha, ply + 1);
+                ++nullWindowSearches;
+                
+                if(value > alpha && value < beta && !stopped){
+                
+                    ++researches;
+                    value = -negamax(board, depth - 1, -beta, -alpha, ply + 1);
+                }
+            }
+            
+            board.unmakeMove();
+            
+            // only the first line follows the previous principal variation
+            followPv = false;
+            
+            if(stopped){
+            
+                return 0;
+            }
+            
+            if(value > bestScore){
+            
+                bestScore = value;
+                
+                if(value > alpha){
+                
+                    alpha = value;
+                    bestMove = move;
+                    updatePrincipalVariation(move, ply);
+                    
+                    if(value >= beta){
+                    
+                        ++cutoffs;
+                        
+                        if(numOfMoves == 1){
+                        
+                            ++firstMoveCutoffs;
+                        }
+                        
+                        if(quiet){
+                        
+                            history.updateCutoff(board.getSideToMove(), move,
+                                    ply > 0 ? pathMoves[ply - 1] : Move.NONE,
+                                    ply, depth, triedQuiets[ply],
+                                    numOfTriedQuiets);
+                        }
+                        
+                        break;
+                    }
+                }
+            }
+            
+            if(quiet && numOfTriedQuiets < MoveList.DEFAULT_CAPACITY){
+            
+                triedQuiets[ply][numOfTriedQuiets++] = move;
+            }
+        }
+        
+        if(ply == 0){
+        
+            numOfRootMoves = numOfMoves;
+        }
+        
+        if(numOfMoves == 0){
+        
+            bestScore = inCheck ? Score.matedIn(ply) : Score.DRAW;
+            table.store(key, Move.NONE, bestScore, depth,
+                    TranspositionTable.BOUND_EXACT, ply);
+            
+            return bestScore;
+        }
+        
+        int bound = TranspositionTable.BOUND_UPPER;
+        
+        if(bestScore >= beta){
+        
+            bound = TranspositionTable.BOUND_LOWER;
+        }
+        else if(bestScore > originalAlpha){
+        
+            bound = TranspositionTable.BOUND_EXACT;
+        }
+        
+        table.store(key, bestMove, bestScore, depth, bound, ply);
+        
+        return bestScore;
+    }
+    
+    /**
+     * Searches captures and promotions until the position is quiet, the side
+     * to move can stand pat on the static evaluation unless it is in check
+     * @param board Game board of the node
+     * @param alpha Lower bound of the search window
+     * @param beta Upper bound of the search window
+     * @param ply Distance from root
+     * @return Score of the node relative to its side to move
+     */
+    private int quiescence(GameBoardData board, int alpha, int beta, int ply){
+    
+        pvLength[ply] = ply;
+        
+        if(isStopped()){
+        
+            return 0;
+        }
+        
+        if(ply >= Score.MAX_PLY - 1){
+        
+            return evaluate(board);
+        }
+        
+        int side = board.getSideToMove();
+        boolean inCheck = board.isInCheck(side);
+        int bestScore = -Score.INFINITE;
+        
+        if(!inCheck){
+        
+            bestScore = evaluate(board);
+            
+            if(bestScore >= beta){
+            
+                return bestScore;
+            }
+            
+            if(bestScore > alpha){
+            
+                alpha = bestScore;
+            }
+        }
+        
+        MoveList moves = quiescenceMoves[ply];
+        moves.clear();
+        
+        // all evasions are searched in check
+        if(inCheck){
+        
+            MoveGenerator.generateEvasions(board, side, moves);
+            
+            if(moves.isEmpty()){
+            
+                return Score.matedIn(ply);
+            }
+        }
+        else{
+        
+            MoveGenerator.generateCaptures(board, side, moves);
+        }
+        
+        int[] scores = quiescenceScores[ply];
+        int sizeOfMoves = moves.size();
+        
+        for(int i = 0; i < sizeOfMoves; ++i){
+        
+            scores[i] = MovePicker.scoreCapture(moves.get(i));
+        }
+        
+        for(int i = 0; i < sizeOfMoves; ++i){
+        
+            int move = selectBest(moves, scores, i);
+            
+            if(!inCheck && !MovePicker.isGoodCapture(board, move)){
+            
+                continue;
+            }
+            
+            board.makeMove(move);
+            int value = -quiescence(board, -beta, -alpha, ply + 1);
+            board.unmakeMove();
+            
+            if(stopped){
+            
+                return 0;
+            }
+            
+            if(value > bestScore){
+            
+                bestScore = value;
+                
+                if(value > alpha){
+                
+                    alpha = value;
+                    updatePrincipalVariation(move, ply);
+                    
+                    if(value >= beta){
+                    
+                        break;
+                    }
+                }
+            }
+        }
+        
+        return bestScore;
+    }
+    
+    /**
+     * Counts a visited node and checks whether the search has to be
+     * terminated, the first iteration is not interrupted (it provides the
+     * move to be returned)
+     * @return True if the search is stopped
+     */
+    private boolean isStopped(){
+    
+        ++nodes;
+        
+        if(!stopped && completedDepth > 0 && (stopRequested
+                || ((nodes & (TIME_CHECK_INTERVAL - 1)) == 0
+                && System.nanoTime() >= deadline))){
+            
+            stopped = true;
+        }
+        
+        return stopped;
+    }
+    
+    /**
+     * Swaps the highest scored move of the remaining part of a quiescence move
+     * list to a given position
+     * @param moves Move list
+     * @param scores Order scores of the moves
+     * @param i Position of the next move
+     * @return Packed move at the position
+     */
+    private int selectBest(MoveList moves, int[] scores, int i){
+    
+        int bestI = i;
+        
+        for(int j = i + 1; j < moves.size(); ++j){
+        
+            if(scores[j] > scores[bestI]){
+            
+                bestI = j;
+            }
+        }
+        
+        int move = moves.get(bestI);
+        
+        moves.set(bestI, moves.get(i));
+        scores[bestI] = scores[i];
+        moves.set(i, move);
+        
+        return move;
+    }
+    
+    /**
+     * Stores the principal variation of a node: its best move followed by the
+     * principal variation of the child
+     * @param move Best move of the node
+     * @param ply Distance of node from root
+     */
+    private void updatePrincipalVariation(int move, int ply){
+    
+        int[] line = pvTable[ply];
+        int childLength = pvLength[ply + 1];
+        
+        line[ply] = move;
+        System.arraycopy(pvTable[ply + 1], ply + 1, line, ply + 1,
+                childLength - (ply + 1));
+        pvLength[ply] = childLength;
+    }
+}
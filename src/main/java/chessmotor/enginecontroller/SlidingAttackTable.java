@@ -0,0 +1,291 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Precomputed magic bitboard attack tables for sliding pieces (rook, bishop,
+ * queen). The tables are built once at class loading. An attack set lookup
+ * costs one mask, one multiplication, one shift and one table read. Squares are
+ * indexed as rank * 8 + file, see GameBoardData. Line and between masks of
+ * square pairs (used for pin and check handling) are tabulated as well.
+ */
+public final class SlidingAttackTable {
+
+    private static final int[][] rookDirections = {
+        {1, 0}, {-1, 0}, {0, 1}, {0, -1}
+    };
+    
+    private static final int[][] bishopDirections = {
+        {1, 1}, {1, -1}, {-1, 1}, {-1, -1}
+    };
+    
+    // magic multipliers, found once by a sparse random search over candidates
+    //  without destructive index collisions for the relevant occupancy subsets
+    private static final long[] rookMagics = {
+        0x008000908064C000L, 0x0040200040001000L, 0x0180100080A0010AL,
+        0x8880041000800800L, 0x1200100201200804L, 0x0200020004011008L,
+        0x2180010000800600L, 0x0200005088210204L, 0x0400800040008021L,
+        0x0400400020005000L, 0x8240801000200080L, 0x8611001004200900L,
+        0x008180800C001800L, 0x0100800200800400L, 0x0A02000102000408L,
+        0x8020802300104280L, 0x0080004000402000L, 0xE010104000402000L,
+        0x0800808010002000L, 0xA280210008100100L, 0x0001818014000800L,
+        0xA002010100080400L, 0x0080240001020870L, 0x0001020004048845L,
+        0x0081826280004004L, 0x2020810900284000L, 0x0200100080802000L,
+        0x0200080080100080L, 0x8083080100100500L, 0x4406000901000400L,
+        0x0005020080800100L, 0x0090204200008114L, 0x0010400094800420L,
+        0x0900804000802002L, 0x0201001841002000L, 0x4100080080801000L,
+        0x4540040080800800L, 0x0002001004040020L, 0x0281195814001002L,
+        0x1240800040800100L, 0x0880042000524004L, 0x02C080410206002CL,
+        0x0801200241050010L, 0x8400080010008080L, 0x0008000500090010L,
+        0x0082009084020008L, 0x4012000108020004L, 0x9000104D08860004L,
+        0x2004204114800100L, 0x0148802112400300L, 0x0202842000100880L,
+        0x001B080080900080L, 0x001A002008100600L, 0x0004008004020080L,
+        0x5181000600040300L, 0x0000044401128A00L, 0x8044110480002441L,
+        0x2008110084402202L, 0x90806005090010C1L, 0x000420310A004A42L,
+        0x0023001004020801L, 0x0882001008040102L, 0x000230088118020CL,
+        0x0000019025040042L
+    };
+    
+    private static final long[] bishopMagics = {
+        0x0045010808008680L, 0x2002080204004898L, 0x0210009A10400006L,
+        0x0824050200810200L, 0x0006061105004090L, 0x00010108C0000000L,
+        0x0814040282104004L, 0x0012012201106800L, 0x10823014100C1040L,
+        0x0080C2088802808CL, 0x0281108410404000L, 0x0101212041826200L,
+        0x0020141028221058L, 0x2201020202200202L, 0x000082A801482000L,
+        0x0000008401411044L, 0x0007103014300404L, 0x0002091110010100L,
+        0x42140012040C0808L, 0x0800808802004020L, 0x90C4004210140000L,
+        0x0800200900A01000L, 0x00D0400201108810L, 0x80820183814412A0L,
+        0x00A01008202202B4L, 0x01C2021A09500402L, 0x0084440208042400L,
+        0x800400400C090100L, 0xBA10040010802100L, 0xD182009006005000L,
+        0x5011021001009004L, 0x0020420200510400L, 0x0292104000468800L,
+        0x00043009091C0500L, 0x0280441000020025L, 0x0042820080080080L,
+        0x0440101010010040L, 0x1000900100808080L, 0x0108108120089800L,
+        0x0044010200012682L, 0xC002500420900400L, 0x0040482210710800L,
+        0x0002060024000200L, 0x0281020A44000800L, 0xA0021200A4000200L,
+        0x0001301000840840L, 0x2868500108444220L, 0x0004111041000200L,
+        0x8044020842080200L, 0x0000220104210200L, 0x0000021201044000L,
+        0x0000280884040028L, 0x4012114010858003L, 0x0000081004082B88L,
+        0x3892700508208002L, 0x00220A041B060400L, 0x0812020284014881L,
+        0x010434A282103100L, 0x0490400824020800L, 0x4A20002C00208800L,
+        0x000000A011020200L, 0x4002940A02482202L, 0x5100100202140406L,
+        0x02102000840540C1L
+    };
+    
+    private static final long[] rookMasks = new long[64];
+    private static final int[] rookShifts = new int[64];
+    private static final int[] rookOffsets = new int[64];
+    private static final long[] rookAttacks;
+    
+    private static final long[] bishopMasks = new long[64];
+    private static final int[] bishopShifts = new int[64];
+    private static final int[] bishopOffsets = new int[64];
+    private static final long[] bishopAttacks;
+    
+    // squares strictly between two squares of a common line, indexed by
+    //  a * 64 + b, 0 if squares are not aligned
+    private static final long[] betweenMasks = new long[64 * 64];
+    // full board line through two aligned squares, 0 if they are not aligned
+    private static final long[] lineMasks = new long[64 * 64];
+    
+    static{
+    
+        rookAttacks = buildTable(rookDirections, rookMagics, rookMasks,
+                rookShifts, rookOffsets);
+        bishopAttacks = buildTable(bishopDirections, bishopMagics, bishopMasks,
+                bishopShifts, bishopOffsets);
+        
+        for(int a = 0; a < 64; ++a){
+        
+            for(int b = 0; b < 64; ++b){
+            
+                if(a == b){
+                
+                    continue;
+                }
+                
+                long bBit = 1L << b;
+                int[][] directions = null;
+                
+                if((walkRays(a, 0L, rookDirections) & bBit) != 0){
+                
+                    directions = rookDirections;
+                }
+                else if((walkRays(a, 0L, bishopDirections) & bBit) != 0){
+                
+                    directions = bishopDirections;
+                }
+                
+                if(directions != null){
+                
+                    lineMasks[(a << 6) + b] = (walkRays(a, 0L, directions)
+                            & walkRays(b, 0L, directions)) | (1L << a) | bBit;
+                    betweenMasks[(a << 6) + b] = walkRays(a, bBit, directions)
+                            & walkRays(b, 1L << a, directions);
+                }
+            }
+        }
+    }
+    
+    private SlidingAttackTable(){
+    
+    }
+    
+    /**
+     * Obtains rook attack set
+     * @param square Square of rook in range of [0, 64)
+     * @param occupancy Occupancy of both sides
+     * @return Attacked squares including the first blocker on each ray
+     */
+    public static long rookAttacks(int square, long occupancy){
+    
+        return rookAttacks[rookOffsets[square] + (int)(((occupancy
+                & rookMasks[square]) * rookMagics[square]) >>> rookShifts[square])];
+    }
+    
+    /**
+     * Obtains bishop attack set
+     * @param square Square of bishop in range of [0, 64)
+     * @param occupancy Occupancy of both sides
+     * @return Attacked squares including the first blocker on each ray
+     */
+    public static long bishopAttacks(int square, long occupancy){
+    
+        return bishopAttacks[bishopOffsets[square] + (int)(((occupancy
+                & bishopMasks[square]) * bishopMagics[square]) >>> bishopShifts[square])];
+    }
+    
+    /**
+     * Obtains queen attack set
+     * @param square Square of queen in range of [0, 64)
+     * @param occupancy Occupancy of both sides
+     * @return Attacked squares including the first blocker on each ray
+     */
+    public static long queenAttacks(int square, long occupancy){
+    
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+    
+    /**
+     * Obtains squares strictly between two aligned squares
+     * @param a First square in range of [0, 64)
+     * @param b Second square in range of [0, 64)
+     * @return Squares between a and b, 0 if they are not on a common line
+     */
+    public static long between(int a, int b){
+    
+        return betweenMasks[(a << 6) + b];
+    }
+    
+    /**
+     * Obtains full board line through two aligned squares
+     * @param a First square in range of [0, 64)
+     * @param b Second square in range of [0, 64)
+     * @return Line squares including a and b, 0 if they are not on a common line
+     */
+    public static long line(int a, int b){
+    
+        return lineMasks[(a << 6) + b];
+    }
+    
+    /**
+     * Computes sliding attacks by walking rays, it is only used at table building
+     * @param square Square of slider
+     * @param occupancy Occupancy of both sides
+     * @param directions Rank-file directions of rays
+     * @return Attacked squares including the first blocker on each ray
+     */
+    private static long walkRays(int square, long occupancy, int[][] directions){
+    
+        long attacks = 0L;
+        
+        for(int[] direction : directions){
+        
+            int sRank = (square >>> 3) + direction[0];
+            int sFile = (square & 7) + direction[1];
+            
+            while(sRank >= 0 && sRank < 8 && sFile >= 0 && sFile < 8){
+            
+                long squareBit = 1L << (sRank * 8 + sFile);
+                attacks |= squareBit;
+                
+                if((occupancy & squareBit) != 0){
+                
+                    break;
+                }
+                
+                sRank += direction[0];
+                sFile += direction[1];
+            }
+        }
+        
+        return attacks;
+    }
+    
+    /**
+     * Computes relevant occupancy mask of a slider, ray end squares are excluded
+     * since they do not influence the attack set
+     * @param square Square of slider
+     * @param directions Rank-file directions of rays
+     * @return Relevant occupancy mask
+     */
+    private static long relevantMask(int square, int[][] directions){
+    
+        long mask = 0L;
+        
+        for(int[] direction : directions){
+        
+            int sRank = (square >>> 3) + direction[0];
+            int sFile = (square & 7) + direction[1];
+            
+            while(sRank + direction[0] >= 0 && sRank + direction[0] < 8
+                    && sFile + direction[1] >= 0 && sFile + direction[1] < 8){
+                
+                mask |= 1L << (sRank * 8 + sFile);
+                sRank += direction[0];
+                sFile += direction[1];
+            }
+        }
+        
+        return mask;
+    }
+    
+    /**
+     * Builds a complete attack table of a slider type using the magic multipliers
+     * @param directions Rank-file directions of rays
+     * @param magics Magic multipliers by squares
+     * @param masks Output of relevant occupancy masks
+     * @param shifts Output of index shifts
+     * @param offsets Output of table offsets by squares
+     * @return Attack table of all squares
+     */
+    private static long[] buildTable(int[][] directions, long[] magics,
+            long[] masks, int[] shifts, int[] offsets){
+        
+        int tableSize = 0;
+        
+        for(int square = 0; square < 64; ++square){
+        
+            masks[square] = relevantMask(square, directions);
+            shifts[square] = 64 - Long.bitCount(masks[square]);
+            offsets[square] = tableSize;
+            tableSize += 1 << Long.bitCount(masks[square]);
+        }
+        
+        long[] table = new long[tableSize];
+        
+        for(int square = 0; square < 64; ++square){
+        
+            long mask = masks[square];
+            long subset = 0L;
+            
+            // enumerating all subsets of mask (carry-rippler)
+            do{
+            
+                table[offsets[square] + (int)((subset * magics[square])
+                        >>> shifts[square])] = walkRays(square, subset, directions);
+                subset = (subset - mask) & mask;
+            }
+            while(subset != 0L);
+        }
+        
+        return table;
+    }
+}
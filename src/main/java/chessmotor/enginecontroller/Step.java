@@ -8,10 +8,13 @@ public class Step{
     private int pieceId;
     private int rank;
     private int file;
-    private double value;
+    // scores in centipawns (see Score)
+    private int value;
     // counting changes in tendency for certain number of steps
     private int cumulativeChangeCount;
-    private double cumulativeValue;
+    private int cumulativeValue;
+    // packed move of generated steps (see Move), Move.NONE if it is unknown
+    private int move;
 
     /**
      * Default constructor for Step
@@ -29,8 +32,7 @@ public class Step{
      * @param pieceId The identifier of involved piece
      * @param rank Position rank of step
      * @param file Position file of step
-     * @param value Step strength in floating point precision for general purpose 
-     *        usage
+     * @param value Step strength in centipawns (see Score)
      * @param cumulativeChangeCount Number of decrease in value
      *        (for negative tendency count)
      * @param cumulativeValue Accumulated value of step chain starting from the 
@@ -39,12 +41,8 @@ public class Step{
      *         Rank range violation
      *         File range violation
      */
-    public Step(String stepType, int pieceId, int rank, int file, double value, 
-            int cumulativeChangeCount, double cumulativeValue) throws Exception{
-
-        this.stepType = stepType;
-        
-        this.pieceId = pieceId;
+    public Step(String stepType, int pieceId, int rank, int file, int value, 
+            int cumulativeChangeCount, int cumulativeValue) throws Exception{
 
         if(rank < 0 || 7 < rank)
             throw new ValueOutOfRangeException("Rank is out of range.");
@@ -52,12 +50,45 @@ public class Step{
         if(file < 0 && 7 < file)
             throw new ValueOutOfRangeException("File is out of range.");
 
-        this.rank = rank;
+        assign(stepType, pieceId, rank, file, value, cumulativeChangeCount, 
+                cumulativeValue);
+    }
+    
+    /**
+     * Creates a step without range validation. It is the fast path of steps 
+     * that are created from generated moves inside search, input of the public 
+     * API (user input, loaded games) has to use the validating constructor.
+     * @param stepType Type of step: standard, hit, castling, promotion
+     * @param pieceId The identifier of involved piece
+     * @param rank Position rank of step in range of [0, 8)
+     * @param file Position file of step in range of [0, 8)
+     * @param value Step strength
+     * @param cumulativeChangeCount Number of decrease in value
+     * @param cumulativeValue Accumulated value of step chain
+     * @return Step object
+     */
+    static Step createUnchecked(String stepType, int pieceId, int rank, int file,
+            int value, int cumulativeChangeCount, int cumulativeValue){
         
-        this.file = file;
+        Step step = new Step();
+        step.assign(stepType, pieceId, rank, file, value, cumulativeChangeCount,
+                cumulativeValue);
         
+        return step;
+    }
+    
+    /**
+     * Sets fields of step without validation
+     */
+    final void assign(String stepType, int pieceId, int rank, int file, 
+            int value, int cumulativeChangeCount, int cumulativeValue){
+        
+        this.stepType = stepType;
+        this.pieceId = pieceId;
+        this.rank = rank;
+        this.file = file;
+        this.value = value;
         this.cumulativeChangeCount = cumulativeChangeCount;
-
         this.cumulativeValue = cumulativeValue;
     }
 
@@ -101,7 +132,7 @@ public class Step{
      * Obtains value of piece
      * @return Value
      */
-    public double getValue(){
+    public int getValue(){
 
         return value;
     }
@@ -128,8 +159,27 @@ public class Step{
      * Sets cumulative value
      * @return Cumulative value
      */
-    public double getCumulativeValue(){
+    public int getCumulativeValue(){
 
         return cumulativeValue;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Obtains packed move of step
+     * @return Packed move, Move.NONE if step has not been created by move
+     *         generation
+     */
+    public int getMove(){
+    
+        return move;
+    }
+    
+    /**
+     * Sets packed move of step
+     * @param move Packed move (see Move)
+     */
+    public void setMove(int move){
+    
+        this.move = move;
+    }
+}
@@ -0,0 +1,280 @@
+package chessmotor.enginecontroller;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size transposition table of the search, it caches results of searched
+ * nodes by position hash, therefore positions reached through different move
+ * orders are not searched again from scratch. Entries are stored in a flat
+ * long array (no object per entry) of two longs:
+ *   - verification key: position hash XOR data
+ *   - data (least significant bit first):
+ *       [0, 32)  best or refutation move (see Move)
+ *       [32, 48) score relative to the node (see Score.toNodeRelative)
+ *       [48, 56) remaining depth
+ *       [56, 58) bound type
+ *       [58, 64) age (search generation)
+ * An entry is accepted only if its two longs verify the probed hash, so torn
+ * or overwritten entries of concurrent writers are rejected, the table is
+ * shared by search threads without locking. Entries are grouped into buckets
+ * of BUCKET_SIZE (one cache line), a new entry replaces the entry of the same
+ * position or else the shallowest entry of older searches.
+ */
+public class TranspositionTable {
+
+    public static final int DEFAULT_SIZE_MB = 16;
+    
+    // bound types, data of an empty entry is 0
+    public static final int BOUND_UPPER = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_EXACT = 3;
+    
+    public static final int MAX_DEPTH = 255;
+    
+    // entries per bucket, 4 x 16 bytes
+    private static final int BUCKET_SIZE = 4;
+    
+    private static final int SCORE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int BOUND_SHIFT = 56;
+    private static final int AGE_SHIFT = 58;
+    private static final int AGE_MASK = 63;
+    
+    // depth equivalent of one search generation in replacement decisions
+    private static final int AGE_WEIGHT = 8;
+    
+    // number of buckets sampled by getHashFull
+    private static final int HASHFULL_SAMPLE = 250;
+    
+    private final long[] entries;
+    private final int bucketMask;
+    
+    // written by the searching thread between searches
+    private volatile int age;
+    
+    /**
+     * Default constructor, DEFAULT_SIZE_MB megabytes are allocated
+     */
+    public TranspositionTable(){
+    
+        this(DEFAULT_SIZE_MB);
+    }
+    
+    /**
+     * Constructor
+     * @param sizeMb Size of table in megabytes, the number of buckets is
+     *        rounded down to a power of 2
+     * @throws RuntimeException Non-positive size
+     */
+    public TranspositionTable(int sizeMb){
+    
+        if(sizeMb < 1){
+        
+            throw new RuntimeException("Table size has to be positive.");
+        }
+        
+        // the entry array is limited to 2^30 longs (8 GB)
+        int buckets = Integer.highestOneBit((int)Math.min(1L << 27,
+                (long)sizeMb * (1024 * 1024 / (16 * BUCKET_SIZE))));
+        
+        entries = new long[2 * BUCKET_SIZE * buckets];
+        bucketMask = buckets - 1;
+        age = 0;
+    }
+    
+    /**
+     * Starts a new search generation, entries of previous searches become
+     * preferred for replacement (call once per search, not per thread)
+     */
+    public void newSearch(){
+    
+        age = (age + 1) & AGE_MASK;
+    }
+    
+    /**
+     * Removes all entries
+     */
+    public void clear(){
+    
+        Arrays.fill(entries, 0L);
+        age = 0;
+    }
+    
+    /**
+     * Obtains number of entries of the table
+     * @return Number of entries
+     */
+    public int capacity(){
+    
+        return entries.length / 2;
+    }
+    
+    /**
+     * Looks up the entry of a position
+     * @param key Position hash (see GameBoardData.hash)
+     * @return Entry data, 0 if the position is not stored
+     */
+    public long probe(long key){
+    
+        int index = bucketIndex(key);
+        
+        for(int i = 0; i < BUCKET_SIZE; ++i, index += 2){
+        
+            long data = entries[index + 1];
+            
+            if(data != 0 && (entries[index] ^ data) == key){
+            
+                return data;
+            }
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * Stores the result of a searched node
+     * @param key Position hash (see GameBoardData.hash)
+     * @param move Best move, Move.NONE if it is unknown (the move of an
+     *        existing entry of the position is kept then)
+     * @param score Score relative to root
+     * @param depth Remaining depth of the node, it is clamped into
+     *        [0, MAX_DEPTH]
+     * @param bound Bound type: BOUND_UPPER, BOUND_LOWER or BOUND_EXACT
+     * @param ply Distance of node from root
+     */
+    public void store(long key, int move, int score, int depth, int bound,
+            int ply){
+        
+        int index = bucketIndex(key);
+        int currentAge = age;
+        int replaceIndex = index;
+        int replaceWorth = Integer.MAX_VALUE;
+        
+        for(int i = 0; i < BUCKET_SIZE; ++i, index += 2){
+        
+            long data = entries[index + 1];
+            
+            if((entries[index] ^ data) == key || data == 0){
+            
+                // a deeper result of the position from the same search is kept
+                //  unless the new one is exact
+                if(data != 0 && getAge(data) == currentAge
+                        && getDepth(data) > depth && bound != BOUND_EXACT){
+                    
+                    return;
+                }
+                
+                if(move == Move.NONE && data != 0){
+                
+                    move = getMove(data);
+                }
+                
+                replaceIndex = index;
+                break;
+            }
+            
+            int worth = getDepth(data)
+                    - AGE_WEIGHT * ((currentAge - getAge(data)) & AGE_MASK);
+            
+            if(worth < replaceWorth){
+            
+                replaceWorth = worth;
+                replaceIndex = index;
+            }
+        }
+        
+        long data = (move & 0xFFFFFFFFL)
+                | ((long)(Score.toNodeRelative(score, ply) & 0xFFFF) << SCORE_SHIFT)
+                | ((long)Math.max(0, Math.min(MAX_DEPTH, depth)) << DEPTH_SHIFT)
+                | ((long)bound << BOUND_SHIFT)
+                | ((long)currentAge << AGE_SHIFT);
+        
+        entries[replaceIndex] = key ^ data;
+        entries[replaceIndex + 1] = data;
+    }
+    
+    /**
+     * Estimates occupancy of the table by entries of the current search
+     * @return Occupancy in permille
+     */
+    public int getHashFull(){
+    
+        int sampledBuckets = Math.min(HASHFULL_SAMPLE, bucketMask + 1);
+        int currentAge = age;
+        int count = 0;
+        
+        for(int i = 0; i < 2 * BUCKET_SIZE * sampledBuckets; i += 2){
+        
+            long data = entries[i + 1];
+            
+            if(data != 0 && getAge(data) == currentAge){
+            
+                ++count;
+            }
+        }
+        
+        return count * 1000 / (BUCKET_SIZE * sampledBuckets);
+    }
+    
+    /**
+     * Extracts best move of entry data
+     * @param data Entry data obtained by probe
+     * @return Packed move, Move.NONE if there is no move
+     */
+    public static int getMove(long data){
+    
+        return (int)data;
+    }
+    
+    /**
+     * Extracts score of entry data
+     * @param data Entry data obtained by probe
+     * @param ply Distance of probing node from root
+     * @return Score relative to root
+     */
+    public static int getScore(long data, int ply){
+    
+        return Score.toRootRelative((short)(data >>> SCORE_SHIFT), ply);
+    }
+    
+    /**
+     * Extracts depth of entry data
+     * @param data Entry data obtained by probe
+     * @return Remaining depth of the stored node
+     */
+    public static int getDepth(long data){
+    
+        return (int)(data >>> DEPTH_SHIFT) & 0xFF;
+    }
+    
+    /**
+     * Extracts bound type of entry data
+     * @param data Entry data obtained by probe
+     * @return BOUND_UPPER, BOUND_LOWER or BOUND_EXACT
+     */
+    public static int getBound(long data){
+    
+        return (int)(data >>> BOUND_SHIFT) & 3;
+    }
+    
+    /**
+     * Extracts age of entry data
+     * @param data Entry data obtained by probe
+     * @return Search generation of the entry
+     */
+    public static int getAge(long data){
+    
+        return (int)(data >>> AGE_SHIFT) & AGE_MASK;
+    }
+    
+    /**
+     * Calculates index of the first entry of the bucket of a position
+     * @param key Position hash
+     * @return Index of the verification key in the entry array
+     */
+    private int bucketIndex(long key){
+    
+        // the high bits select the bucket, the low bits are independent of it
+        return (int)((key >>> 32) & bucketMask) * (2 * BUCKET_SIZE);
+    }
+}
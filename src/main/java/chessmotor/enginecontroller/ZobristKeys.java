@@ -0,0 +1,125 @@
+package chessmotor.enginecontroller;
+
+/**
+ * Random keys of Zobrist position hashing. The hash of a position is the XOR
+ * of the keys of its piece-square pairs, side to move, castling rights and en
+ * passant file, therefore it is updated incrementally by a few XORs per move
+ * (see GameBoardData). Pieces are keyed by side and type (not by identifier),
+ * so equal positions have equal hashes independently from which identifiers
+ * occupy the squares. The keys are generated from a fixed seed, hashes are
+ * reproducible between runs.
+ */
+public final class ZobristKeys {
+
+    private static final long SEED = 0x5A0B1C2D3E4F6071L;
+    
+    // indexed by (side * NUM_OF_TYPES + type) * 64 + square
+    private static final long[] pieceSquareKeys =
+            new long[2 * GameBoardData.NUM_OF_TYPES * 64];
+    // indexed by castling right combination
+    private static final long[] castlingKeys = new long[16];
+    // indexed by file of en passant square
+    private static final long[] enPassantKeys = new long[8];
+    private static final long sideToMoveKey;
+    
+    static{
+    
+        long state = SEED;
+        
+        for(int i = 0; i < pieceSquareKeys.length; ++i){
+        
+            state += 0x9E3779B97F4A7C15L;
+            pieceSquareKeys[i] = mix(state);
+        }
+        
+        // castling keys are combined from one key per right, so changing one
+        //  right changes the hash by the key of that right only
+        long[] rightKeys = new long[4];
+        
+        for(int i = 0; i < 4; ++i){
+        
+            state += 0x9E3779B97F4A7C15L;
+            rightKeys[i] = mix(state);
+        }
+        
+        for(int rights = 0; rights < 16; ++rights){
+        
+            for(int i = 0; i < 4; ++i){
+            
+                if((rights & (1 << i)) != 0){
+                
+                    castlingKeys[rights] ^= rightKeys[i];
+                }
+            }
+        }
+        
+        for(int i = 0; i < 8; ++i){
+        
+            state += 0x9E3779B97F4A7C15L;
+            enPassantKeys[i] = mix(state);
+        }
+        
+        state += 0x9E3779B97F4A7C15L;
+        sideToMoveKey = mix(state);
+    }
+    
+    private ZobristKeys(){
+    
+    }
+    
+    /**
+     * Obtains key of a piece on a square
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @param square Square index in range of [0, 64)
+     * @return Key of piece-square pair
+     */
+    public static long pieceSquare(int pieceId, int square){
+    
+        return pieceSquareKeys[((GameBoardData.sideOf(pieceId)
+                * GameBoardData.NUM_OF_TYPES + GameBoardData.typeOf(pieceId)) << 6)
+                + square];
+    }
+    
+    /**
+     * Obtains key of castling rights
+     * @param castlingRights Combination of CASTLING_* bits of GameBoardData
+     * @return Key of rights
+     */
+    public static long castling(int castlingRights){
+    
+        return castlingKeys[castlingRights];
+    }
+    
+    /**
+     * Obtains key of en passant square
+     * @param enPassantSquare En passant square, -1 if there is none
+     * @return Key of file of en passant square, 0 if there is none
+     */
+    public static long enPassant(int enPassantSquare){
+    
+        return enPassantSquare == -1 ? 0L : enPassantKeys[enPassantSquare & 7];
+    }
+    
+    /**
+     * Obtains key of side to move, it is included in hash if human player
+     * is to move
+     * @return Key of side to move
+     */
+    public static long sideToMove(){
+    
+        return sideToMoveKey;
+    }
+    
+    /**
+     * SplitMix64 finalizer for key generation
+     * @param z Generator state
+     * @return Mixed value
+     */
+    private static long mix(long z){
+    
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        
+        return z ^ (z >>> 31);
+    }
+}
@@ -3,7 +3,7 @@ package chessmotor.enginecontroller.piecetypes;
 // ecapsulate square pieces for further improvements
 
 import chessmotor.enginecontroller.GameBoardData;
-import chessmotor.enginecontroller.Pair;
+import chessmotor.enginecontroller.MoveList;
 import genmath.genmathexceptions.IllConditionedDataException;
 import genmath.genmathexceptions.ValueOutOfRangeException;
 import java.util.ArrayList;
@@ -12,6 +12,10 @@ import java.util.ArrayList;
 // neutral empty piece
 public class GenPiece {
     
+    // value of an available step in centipawns, a step was worth 1.0 on the
+    //  former piece value scale (pawn = 3.0), that is a third of a pawn
+    public static final int STEP_VALUE = 33;
+    
     static ArrayList<String> typeNameList;
     
     static{
@@ -27,14 +31,17 @@ public class GenPiece {
     }
     
     private int pieceId;
+    private PieceType pieceType;
+    // literal type name, it is used for GUI icon lookup only
     private String typeName;
     // Dynamic penalty value for machine, this is a static, initial value that is set 
-    //  before the game begins
-    private double staticValue;
+    //  before the game begins (centipawns, see Score)
+    private int staticValue;
     
     // Dynamic penalty value for machine, this is a dynamic, gameboard status 
-    //  dependent value, that is set during ocurring game
-    protected double dynamicValue;
+    //  dependent value, that is set during ocurring game (static value plus 
+    //  STEP_VALUE per available step, centipawns)
+    protected int dynamicValue;
     
     protected int rank;
     protected int file;
@@ -46,19 +53,29 @@ public class GenPiece {
     
     }
     
+    /**
+     * Constructor of default extended piece objects
+     * @param pieceType Type of extended piece
+     */
+    protected GenPiece(PieceType pieceType){
+    
+        this.pieceType = pieceType;
+    }
+    
     
     /**
      * Parameterized constructor for generic piece object
      * @param pieceId Piece identifier in range of [0, 32)
+     * @param pieceType Type of piece
      * @param typeName Piece literal identifier
-     * @param staticValue Static value of strength of piece
+     * @param staticValue Static value of strength of piece in centipawns
      * @param rank Rank of piece position
      * @param file File of piece position
      * @throws ValueOutOfRangeException 
      *         IllConditionedDataException 
      */
-    public GenPiece(int pieceId, String typeName, double staticValue, int rank, int file) 
-            throws Exception{
+    public GenPiece(int pieceId, PieceType pieceType, String typeName, 
+            int staticValue, int rank, int file) throws Exception{
     
         if(pieceId < 0 || pieceId >= 32){
         
@@ -67,6 +84,8 @@ public class GenPiece {
         
         this.pieceId = pieceId;
         
+        this.pieceType = pieceType;
+        
         if(typeName.isEmpty() || typeNameList.contains(typeName)){
         
             throw new IllConditionedDataException("Type name identifier of "
@@ -96,11 +115,11 @@ public class GenPiece {
      * Generates specialized available steps for extended piece types
      * @param gameBoard The game board of the used game play that is used as a 
      * starting position for generation (occupied piece identifications)
-     * @return It returns the generic Pair values that stores the available further 
-     * steps for the extended piece type at certain position
-     * @throws Exception Generation exceptions (see extended, child classes, types)
+     * @param steps Reused move list where the available further steps for the 
+     * extended piece type at certain position are appended to (packed moves, 
+     * see MoveList)
      */
-    public ArrayList<Pair> generateSteps(GameBoardData gameBoard) throws Exception{
+    public void generateSteps(GameBoardData gameBoard, MoveList steps){
         
         // CRTP should be applied for implicit dynamic value modification
         //  In this first version, explict, manually invoked functions are used 
@@ -110,11 +129,8 @@ public class GenPiece {
         //  and gamefield boundaries.
         // Hit steps are also included.
         // It can only detect empty squares or occupied squares.
-        ArrayList<Pair> steps = new ArrayList<>();
 
         // todo, generate routes in aware of different sign of value of human pieces
-        
-        return steps;
     }
     
     /**
@@ -127,9 +143,18 @@ public class GenPiece {
     }
     
     /**
-     * Obtains type of piece
+     * Obtains type of piece for type dependent decisions
      * @return Returns type of piece
      */
+    public PieceType getPieceType(){
+    
+        return pieceType;
+    }
+    
+    /**
+     * Obtains literal type name of piece for GUI purposes
+     * @return Returns type name of piece
+     */
     public String getTypeName(){
     
         return typeName;
@@ -139,7 +164,7 @@ public class GenPiece {
      * Obtains static value of piece
      * @return Piece static value, strength, score of it
      */
-    public double getStaticValue(){
+    public int getStaticValue(){
     
         return staticValue;
     }
@@ -148,7 +173,7 @@ public class GenPiece {
      * Function returns dynamic game status dependent value of piece
      * @return Dynamic value of piece
      */
-    public double getDynamicValue(){
+    public int getDynamicValue(){
     
         return dynamicValue;
     }
@@ -201,12 +226,25 @@ public class GenPiece {
         this.file = file;
     }
     
+    /**
+     * Sets a new position without range validation, it is used for moves of 
+     * the engine (squares come from move generation), input of the user has to
+     * be applied by the validating setters
+     * @param rank The new rank in range of [0, 8)
+     * @param file The new file in range of [0, 8)
+     */
+    public void setPosition(int rank, int file){
+    
+        this.rank = rank;
+        this.file = file;
+    }
+    
     /**
      * Function sets dynamic value that depends on specific piece object status in 
      * accordance with game board status
      * @param dynamicValue new dynamic value that is going to be added to static value
      */
-    public void setDynamicValue(double dynamicValue){
+    public void setDynamicValue(int dynamicValue){
     
         this.dynamicValue = staticValue + dynamicValue;
     }
@@ -1,9 +1,9 @@
 package chessmotor.enginecontroller.piecetypes;
 
 import chessmotor.enginecontroller.GameBoardData;
-import chessmotor.enginecontroller.Pair;
+import chessmotor.enginecontroller.LeaperAttackTable;
+import chessmotor.enginecontroller.MoveList;
 import genmath.genmathexceptions.ValueOutOfRangeException;
-import java.util.ArrayList;
 
 public class King extends GenPiece{
     
@@ -12,122 +12,46 @@ public class King extends GenPiece{
      */
     public King(){
     
-        super();
+        super(PieceType.KING);
     }
     
     /**
      * Parameterized constructor for generic piece object
      * @param pieceId Piece identifier in range of [0, 32)
      * @param isWhite Whether piece is white or not
-     * @param staticValue Static value of strength of piece
+     * @param staticValue Static value of strength of piece in centipawns
      * @param rank Rank of piece position
      * @param file File of piece position
      * @throws ValueOutOfRangeException 
      *         IllConditionedDataException 
      */
-    public King(int pieceId, boolean isWhite, double staticValue, int rank, int file)
+    public King(int pieceId, boolean isWhite, int staticValue, int rank, int file)
             throws Exception{
     
-        super(pieceId, isWhite ? "whiteking" : "blackking", staticValue, rank, file);
+        super(pieceId, PieceType.KING, isWhite ? "whiteking" : "blackking", 
+                staticValue, rank, file);
     }
     
     /**
      * Generates available following king steps
      * @param gameBoard The game board of the used game play that is used as a 
      * starting position for generation (occupied pice identifications)
-     * @return It returns the generic pair values that stores the available further
-     * steps for the king piece object at certain position
-     * @throws ValueOutOfRangeException
+     * @param steps Reused move list where the available further steps for the 
+     * king piece object at certain position are appended to
      */
     @Override
-    public ArrayList<Pair> generateSteps(GameBoardData gameBoard) throws ValueOutOfRangeException{
+    public void generateSteps(GameBoardData gameBoard, MoveList steps){
     
-        ArrayList<Pair> steps = new ArrayList<>();
-
-        int lowerBound = 16;
-        int upperBound = 32;
-        
-        if(gameBoard.get(rank, file) >= 16){
-        
-            lowerBound = 0;
-            upperBound = 16;
-        }
-        
-        // right
-        if(rank + 1 < 8 
-                && (gameBoard.get(rank + 1, file) == -1 
-                || gameBoard.get(rank + 1, file) >= lowerBound 
-                && gameBoard.get(rank + 1, file) < upperBound)){
-        
-            steps.add(new Pair(rank + 1, file));
-        }
-        
-        // up right
-        if(rank + 1 < 8 && file + 1 < 8
-                && (gameBoard.get(rank + 1, file + 1) == -1 
-                || gameBoard.get(rank + 1, file + 1) >= lowerBound 
-                && gameBoard.get(rank + 1, file + 1) < upperBound)){
-        
-            steps.add(new Pair(rank + 1, file + 1));
-        }
-        
-        // up
-        if(file + 1 < 8 
-                && (gameBoard.get(rank, file + 1) == -1 
-                || gameBoard.get(rank, file + 1) >= lowerBound 
-                && gameBoard.get(rank, file + 1) < upperBound)){
-        
-            steps.add(new Pair(rank, file + 1));
-        }
+        int side = gameBoard.get(rank, file) >= 16 
+                ? GameBoardData.HUMAN_SIDE : GameBoardData.MACHINE_SIDE;
         
-        // up left
-        if(rank - 1 >= 0 && file + 1 < 8
-                && (gameBoard.get(rank - 1, file + 1) == -1 
-                || gameBoard.get(rank - 1, file + 1) >= lowerBound 
-                && gameBoard.get(rank - 1, file + 1) < lowerBound)){
+        // neighbour targets by precomputed mask, own pieces are masked out
+        long targets = LeaperAttackTable.kingAttacks(rank * 8 + file) 
+                & ~gameBoard.getOccupancy(side);
         
-            steps.add(new Pair(rank - 1, file + 1));
-        }
-        
-        // left
-        if(rank - 1 >= 0 
-                && (gameBoard.get(rank - 1, file) == -1 
-                || gameBoard.get(rank - 1, file) >= lowerBound 
-                && gameBoard.get(rank - 1, file) < upperBound)){
-        
-            steps.add(new Pair(rank - 1, file));
-        }
-        
-        // down left
-        if(rank - 1 >= 0 && file - 1 >= 0
-                && (gameBoard.get(rank - 1, file - 1) == -1 
-                || gameBoard.get(rank - 1, file - 1) >= lowerBound 
-                && gameBoard.get(rank - 1, file - 1) < upperBound)){
-        
-            steps.add(new Pair(rank - 1, file - 1));
-        }
-        
-        // down
-        if(file - 1 >= 0 
-                && (gameBoard.get(rank, file - 1) == -1 
-                || gameBoard.get(rank, file - 1) >= lowerBound 
-                && gameBoard.get(rank, file - 1) < upperBound)){
-        
-            steps.add(new Pair(rank, file - 1));
-        }
-        
-        // down right
-        if(rank + 1 < 8 && file - 1 >= 0
-                && (gameBoard.get(rank + 1, file - 1) == -1 
-                || gameBoard.get(rank + 1, file - 1) >= lowerBound 
-                && gameBoard.get(rank + 1, file - 1) < upperBound)){
-        
-            steps.add(new Pair(rank + 1, file - 1));
-        }
-
-        // Implicit conversion of size of array as a dynamic value of given piece
-        this.setDynamicValue(steps.size());
+        steps.addTargets(rank * 8 + file, targets);
         
-        return steps;
+        // Implicit conversion of number of steps as a dynamic value of given piece
+        this.setDynamicValue(STEP_VALUE * Long.bitCount(targets));
     }
 }
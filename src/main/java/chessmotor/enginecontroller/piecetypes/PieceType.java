@@ -0,0 +1,117 @@
+package chessmotor.enginecontroller.piecetypes;
+
+import chessmotor.enginecontroller.GameBoardData;
+
+/**
+ * Piece types in order of the type indices of GameBoardData (ordinal equals to
+ * type index). Type decisions of the engine are made on this enumeration, the
+ * literal type names of pieces are kept for GUI icon lookup only.
+ */
+public enum PieceType {
+
+    PAWN(100),
+    ROOK(500),
+    KNIGHT(320),
+    BISHOP(330),
+    // king can not be exchanged, its value exceeds any material sum
+    KING(20000),
+    QUEEN(900);
+    
+    private static final PieceType[] values = values();
+    private static final PieceType[] typeOfId = new PieceType[32];
+    
+    static{
+    
+        for(int i = 0; i < 32; ++i){
+        
+            typeOfId[i] = values[GameBoardData.typeOf(i)];
+        }
+    }
+    
+    // material value in centipawns
+    private final int value;
+    
+    private PieceType(int value){
+    
+        this.value = value;
+    }
+    
+    /**
+     * Obtains type index (see GameBoardData)
+     * @return Type index
+     */
+    public int index(){
+    
+        return ordinal();
+    }
+    
+    /**
+     * Obtains material value of type
+     * @return Value in centipawns
+     */
+    public int getValue(){
+    
+        return value;
+    }
+    
+    /**
+     * Obtains type by type index
+     * @param index Type index in range of [0, GameBoardData.NUM_OF_TYPES)
+     * @return Piece type
+     */
+    public static PieceType ofIndex(int index){
+    
+        return values[index];
+    }
+    
+    /**
+     * Obtains type of a piece identifier by table lookup, the identifier of a
+     * piece determines its type for the whole game play
+     * @param pieceId Piece identifier in range of [0, 32)
+     * @return Piece type
+     */
+    public static PieceType ofId(int pieceId){
+    
+        return typeOfId[pieceId];
+    }
+    
+    /**
+     * Converts a literal type name of GUI (e.g. "whitepawn", "blackquen") into
+     * piece type, it is intended for the GUI boundary only
+     * @param typeName Literal type name with colour prefix
+     * @return Piece type
+     * @throws RuntimeException Unknown type name
+     */
+    public static PieceType ofTypeName(String typeName){
+    
+        // colour prefixes "white" and "black" have equal lengths
+        String name = typeName.length() > 5 ? typeName.substring(5) : "";
+        
+        if(name.equals("pawn")){
+        
+            return PAWN;
+        }
+        else if(name.equals("rook")){
+        
+            return ROOK;
+        }
+        else if(name.equals("knight")){
+        
+            return KNIGHT;
+        }
+        else if(name.equals("bishop")){
+        
+            return BISHOP;
+        }
+        else if(name.equals("king")){
+        
+            return KING;
+        }
+        else if(name.equals("queen") || name.equals("quen")){
+        
+            return QUEEN;
+        }
+        
+        throw new RuntimeException("Unknown piece type name: " + typeName);
+    }
+}
@@ -18,7 +18,7 @@ public class LinTreeMap<K extends ComparableKey<K>, V> {
             this.value = null;
         }
 
-        public Pair(K key, V value) throws Exception {
+        public Pair(K key, V value) {
 
             if (key == null) {
                 throw new NullPointerException("Key is null.");
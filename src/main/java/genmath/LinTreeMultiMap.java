@@ -15,8 +15,9 @@ public class LinTreeMultiMap<K extends ComparableKey<K>, V> extends LinTreeMap<K
         super(orig);
     }
 
+    // duplicated keys are allowed, insertion can not fail
     @Override
-    public int add(K key, V value) throws Exception {
+    public int add(K key, V value) {
 
         int cmpRes;
 
@@ -79,11 +80,23 @@ public class LinTreeMultiMap<K extends ComparableKey<K>, V> extends LinTreeMap<K
     }
 
     @Override
-    public int add(Pair<K, V> entry) throws Exception {
+    public int add(Pair<K, V> entry) {
 
         return add(entry.key, entry.value);
     }
 
+    // lookup by index is used at ordered traversal, it throws unchecked 
+    //  exception only
+    @Override
+    public V getByInd(int i) {
+    
+        if (i >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds.");
+        }
+        
+        return container.get(i).value;
+    }
+    
     public int setOrAddByKey(K key, V value, int occ) throws Exception {
 
         int ind = getIndByKey(key, occ);
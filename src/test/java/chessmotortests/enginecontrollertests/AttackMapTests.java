@@ -0,0 +1,161 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.AttackMap;
+import chessmotor.enginecontroller.FenParser;
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.MoveGenerator;
+import chessmotor.enginecontroller.MoveList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class AttackMapTests {
+
+    public AttackMapTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void initialPosition_attacks(){
+    
+        GameBoardData board = FenParser.parse(FenParser.START_POSITION);
+        
+        // pawns attack the third rank, pieces behind pawns attack the second
+        Assertions.assertEquals(0xFFFF7EL, board.getAttacks(GameBoardData.MACHINE_SIDE));
+        Assertions.assertEquals(3, board.getAttackerCount(FenParser.parseSquare("c3"),
+                GameBoardData.MACHINE_SIDE));
+        Assertions.assertEquals(3, board.getAttackerCount(FenParser.parseSquare("f3"),
+                GameBoardData.MACHINE_SIDE) + board.getAttackerCount(
+                FenParser.parseSquare("f3"), GameBoardData.HUMAN_SIDE));
+        Assertions.assertFalse(board.isAttacked(FenParser.parseSquare("e4"),
+                GameBoardData.MACHINE_SIDE));
+        Assertions.assertTrue(board.isAttacked(FenParser.parseSquare("e6"),
+                GameBoardData.HUMAN_SIDE));
+        
+        // knight of b1 and pawns of b2 and d2 attack c3
+        int c3Attackers = board.getAttackerIds(FenParser.parseSquare("c3"));
+        int knightId = board.getBySquare(FenParser.parseSquare("b1"));
+        
+        Assertions.assertTrue((c3Attackers & (1 << knightId)) != 0);
+        Assertions.assertEquals(3, Integer.bitCount(c3Attackers));
+        Assertions.assertEquals(AttackMap.attacksOf(knightId,
+                FenParser.parseSquare("b1"), board.getOccupancy()),
+                board.getPieceAttacks(knightId));
+    }
+    
+    @Test
+    public void makeAndUnmake_keepMapsConsistent(){
+    
+        String[] fens = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"
+        };
+        
+        for(String fen : fens){
+        
+            GameBoardData board = FenParser.parse(fen);
+            walk(board, 3);
+            
+            // copies keep the maps
+            Assertions.assertTrue(isConsistent(new GameBoardData(board)));
+        }
+    }
+    
+    private static void walk(GameBoardData board, int depth){
+    
+        Assertions.assertTrue(isConsistent(board));
+        
+        if(depth == 0){
+        
+            return;
+        }
+        
+        MoveList moves = new MoveList();
+        MoveGenerator.generateAll(board.getSideToMove(), board, moves);
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            board.makeMove(moves.get(i));
+            walk(board, depth - 1);
+            board.unmakeMove();
+        }
+    }
+    
+    private static boolean isConsistent(GameBoardData board){
+    
+        long occupancy = board.getOccupancy();
+        long[] sideAttacks = new long[2];
+        int[] counts = new int[2 * 64];
+        int[] ids = new int[64];
+        
+        for(int square = 0; square < 64; ++square){
+        
+            int pieceId = board.getBySquare(square);
+            
+            if(pieceId == -1){
+            
+                continue;
+            }
+            
+            long attacks = AttackMap.attacksOf(pieceId, square, occupancy);
+            
+            if(attacks != board.getPieceAttacks(pieceId)){
+            
+                return false;
+            }
+            
+            int side = GameBoardData.sideOf(pieceId);
+            sideAttacks[side] |= attacks;
+            
+            while(attacks != 0L){
+            
+                int to = Long.numberOfTrailingZeros(attacks);
+                ++counts[side * 64 + to];
+                ids[to] |= 1 << pieceId;
+                attacks &= attacks - 1;
+            }
+        }
+        
+        for(int square = 0; square < 64; ++square){
+        
+            if(ids[square] != board.getAttackerIds(square)
+                    || counts[square] != board.getAttackerCount(square, 0)
+                    || counts[64 + square] != board.getAttackerCount(square, 1)){
+                
+                return false;
+            }
+        }
+        
+        return sideAttacks[0] == board.getAttacks(0)
+                && sideAttacks[1] == board.getAttacks(1);
+    }
+}
@@ -0,0 +1,102 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.FenParser;
+import chessmotor.enginecontroller.GameBoardData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class FenParserTests {
+
+    public FenParserTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void parse_startPosition_matchesInitialBoard(){
+    
+        GameBoardData board = FenParser.parse(FenParser.START_POSITION);
+        
+        for(int i = 0; i < 8; ++i){
+        
+            Assertions.assertEquals(GameBoardData.PAWN,
+                    GameBoardData.typeOf(board.get(1, i)));
+            Assertions.assertEquals(GameBoardData.MACHINE_SIDE,
+                    GameBoardData.sideOf(board.get(1, i)));
+            Assertions.assertEquals(8 + i, board.get(0, i));
+            Assertions.assertEquals(16 + 8 + i, board.get(7, i));
+            Assertions.assertEquals(GameBoardData.HUMAN_SIDE,
+                    GameBoardData.sideOf(board.get(6, i)));
+        }
+        
+        Assertions.assertEquals(GameBoardData.MACHINE_SIDE, board.getSideToMove());
+        Assertions.assertEquals(GameBoardData.CASTLING_ALL,
+                board.getCastlingRights());
+        Assertions.assertEquals(-1, board.getEnPassantSquare());
+        Assertions.assertEquals(board.computeHash(), board.hash());
+    }
+    
+    @Test
+    public void parse_fieldsAreCorrect(){
+    
+        GameBoardData board = FenParser.parse(
+                "4k2r/8/8/3pP3/8/8/8/R3K3 w Qk d6 3 40");
+        
+        // files are mirrored, a1 is file 7
+        Assertions.assertEquals(15, board.get(0, 7));
+        Assertions.assertEquals(11, board.get(0, 3));
+        Assertions.assertEquals(16 + 8, board.get(7, 0));
+        Assertions.assertEquals(16 + 11, board.get(7, 3));
+        Assertions.assertEquals(GameBoardData.PAWN,
+                GameBoardData.typeOf(board.get(4, 3)));
+        
+        Assertions.assertEquals(GameBoardData.CASTLING_MACHINE_ROOK_15
+                | GameBoardData.CASTLING_HUMAN_ROOK_8, board.getCastlingRights());
+        Assertions.assertEquals(5 * 8 + 4, board.getEnPassantSquare());
+        Assertions.assertEquals(FenParser.parseSquare("d6"),
+                board.getEnPassantSquare());
+        Assertions.assertEquals(3, board.getHalfmoveClock());
+        Assertions.assertEquals(board.computeHash(), board.hash());
+    }
+    
+    @Test
+    public void parse_invalidRecords_throw(){
+    
+        Assertions.assertThrows(RuntimeException.class,
+                () -> FenParser.parse("8/8/8 w - -"));
+        Assertions.assertThrows(RuntimeException.class,
+                () -> FenParser.parse("4k3/8/8/8/8/8/8/QQ2K3 w - -"));
+        Assertions.assertThrows(RuntimeException.class,
+                () -> FenParser.parse("4k3/8/8/8/8/8/8/4X3 w - -"));
+        Assertions.assertThrows(RuntimeException.class,
+                () -> FenParser.parseSquare("i9"));
+    }
+}
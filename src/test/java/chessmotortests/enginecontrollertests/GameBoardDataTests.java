@@ -0,0 +1,441 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.FenParser;
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.Move;
+import chessmotor.enginecontroller.MoveGenerator;
+import chessmotor.enginecontroller.MoveList;
+import chessmotor.enginecontroller.Score;
+import chessmotor.enginecontroller.Searcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class GameBoardDataTests {
+
+    public GameBoardDataTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void constructors_areCorrect(){
+    
+        // empty constructor, all squares are empty
+        GameBoardData gameBoard = new GameBoardData();
+        
+        for(int rankInd = 0; rankInd < 8; ++rankInd){
+        
+            for(int fileInd = 0; fileInd < 8; ++fileInd){
+            
+                Assertions.assertEquals(-1, gameBoard.get(rankInd, fileInd));
+            }
+        }
+        
+        Assertions.assertEquals(0L, gameBoard.getOccupancy());
+        
+        // copy constructor, copy is independent from origin
+        gameBoard.set(0, 3, 11);
+        GameBoardData gameBoardCopy = new GameBoardData(gameBoard);
+        
+        Assertions.assertEquals(11, gameBoardCopy.get(0, 3));
+        
+        gameBoardCopy.set(0, 3, -1);
+        
+        Assertions.assertEquals(11, gameBoard.get(0, 3));
+        Assertions.assertEquals(-1, gameBoardCopy.get(0, 3));
+    }
+    
+    @Test
+    public void bitboards_areConsistentWithMailbox(){
+    
+        GameBoardData gameBoard = new GameBoardData();
+        
+        // machine king and human queen
+        gameBoard.set(0, 3, 11);
+        gameBoard.set(7, 4, 16 + 12);
+        
+        Assertions.assertEquals(1L << 3, gameBoard.getPieces(
+                GameBoardData.MACHINE_SIDE, GameBoardData.KING));
+        Assertions.assertEquals(1L << 60, gameBoard.getPieces(
+                GameBoardData.HUMAN_SIDE, GameBoardData.QUEEN));
+        Assertions.assertEquals(1L << 3, gameBoard.getOccupancy(
+                GameBoardData.MACHINE_SIDE));
+        Assertions.assertEquals((1L << 3) | (1L << 60), gameBoard.getOccupancy());
+        
+        // overwriting an occupied square (hit) replaces the old piece
+        gameBoard.set(0, 3, 16 + 12);
+        
+        Assertions.assertEquals(0L, gameBoard.getOccupancy(
+                GameBoardData.MACHINE_SIDE));
+        Assertions.assertEquals((1L << 3) | (1L << 60), gameBoard.getPieces(
+                GameBoardData.HUMAN_SIDE, GameBoardData.QUEEN));
+        Assertions.assertEquals(16 + 12, gameBoard.getBySquare(3));
+        
+        // emptying squares
+        gameBoard.set(0, 3, -1);
+        gameBoard.set(7, 4, -1);
+        
+        Assertions.assertEquals(0L, gameBoard.getOccupancy());
+    }
+    
+    @Test
+    public void auxiliaryMethods_areCorrect(){
+    
+        // sideOf method
+        Assertions.assertEquals(GameBoardData.MACHINE_SIDE, GameBoardData.sideOf(15));
+        Assertions.assertEquals(GameBoardData.HUMAN_SIDE, GameBoardData.sideOf(16));
+        
+        // typeOf method
+        Assertions.assertEquals(GameBoardData.PAWN, GameBoardData.typeOf(7));
+        Assertions.assertEquals(GameBoardData.ROOK, GameBoardData.typeOf(16 + 15));
+        Assertions.assertEquals(GameBoardData.KNIGHT, GameBoardData.typeOf(9));
+        Assertions.assertEquals(GameBoardData.BISHOP, GameBoardData.typeOf(16 + 13));
+        Assertions.assertEquals(GameBoardData.KING, GameBoardData.typeOf(11));
+        Assertions.assertEquals(GameBoardData.QUEEN, GameBoardData.typeOf(16 + 12));
+    }
+    
+    @Test
+    public void makeAndUnmakeMove_restorePosition(){
+    
+        GameBoardData gameBoard = initialBoard();
+        GameBoardData origin = new GameBoardData(gameBoard);
+        
+        // machine pawn double push, human pawn double push next to it
+        gameBoard.makeMove(Move.encode(1 * 8 + 4, 3 * 8 + 4, 4, -1, -1,
+                Move.FLAG_DOUBLE_PUSH));
+        
+        Assertions.assertEquals(2 * 8 + 4, gameBoard.getEnPassantSquare());
+        Assertions.assertEquals(GameBoardData.HUMAN_SIDE, gameBoard.getSideToMove());
+        
+        gameBoard.makeMove(Move.encode(6 * 8 + 3, 4 * 8 + 3, 16 + 3, -1, -1,
+                Move.FLAG_DOUBLE_PUSH));
+        // machine pawn captures human pawn
+        gameBoard.makeMove(Move.encode(3 * 8 + 4, 4 * 8 + 3, 4, 16 + 3));
+        
+        Assertions.assertEquals(4, gameBoard.get(4, 3));
+        Assertions.assertEquals(7, Long.bitCount(gameBoard.getPieces(
+                GameBoardData.HUMAN_SIDE, GameBoardData.PAWN)));
+        Assertions.assertEquals(0, gameBoard.getHalfmoveClock());
+        
+        // human knight move increments halfmove clock
+        gameBoard.makeMove(Move.encode(7 * 8 + 1, 5 * 8 + 2, 16 + 9, -1));
+        
+        Assertions.assertEquals(1, gameBoard.getHalfmoveClock());
+        Assertions.assertEquals(4, gameBoard.getUndoSize());
+        Assertions.assertEquals(Move.encode(7 * 8 + 1, 5 * 8 + 2, 16 + 9, -1),
+                gameBoard.getLastMove());
+        
+        for(int i = 0; i < 4; ++i){
+        
+            gameBoard.unmakeMove();
+        }
+        
+        assertSamePosition(origin, gameBoard);
+        Assertions.assertEquals(GameBoardData.MACHINE_SIDE, gameBoard.getSideToMove());
+        Assertions.assertEquals(-1, gameBoard.getEnPassantSquare());
+        Assertions.assertThrows(RuntimeException.class, () -> gameBoard.unmakeMove());
+    }
+    
+    @Test
+    public void specialMoves_areMadeAndTakenBack(){
+    
+        GameBoardData gameBoard = new GameBoardData();
+        gameBoard.setCastlingRights(GameBoardData.CASTLING_ALL);
+        
+        // kings and rooks on their initial squares, pawns for en passant and promotion
+        gameBoard.set(0, 0, 8);
+        gameBoard.set(0, 3, 11);
+        gameBoard.set(0, 7, 15);
+        gameBoard.set(7, 0, 16 + 8);
+        gameBoard.set(7, 3, 16 + 11);
+        gameBoard.set(4, 2, 2);
+        gameBoard.set(6, 1, 16 + 1);
+        gameBoard.set(6, 6, 6);
+        gameBoard.set(3, 5, 16 + 5);
+        GameBoardData origin = new GameBoardData(gameBoard);
+        
+        // machine castling toward rook 8
+        gameBoard.makeMove(Move.encode(3, 1, 11, -1, -1, Move.FLAG_CASTLING));
+        
+        Assertions.assertEquals(11, gameBoard.get(0, 1));
+        Assertions.assertEquals(8, gameBoard.get(0, 2));
+        Assertions.assertEquals(-1, gameBoard.get(0, 0));
+        Assertions.assertEquals(GameBoardData.CASTLING_HUMAN_ROOK_8
+                | GameBoardData.CASTLING_HUMAN_ROOK_15, gameBoard.getCastlingRights());
+        
+        // human double push next to machine pawn, machine captures en passant
+        gameBoard.makeMove(Move.encode(6 * 8 + 1, 4 * 8 + 1, 16 + 1, -1, -1,
+                Move.FLAG_DOUBLE_PUSH));
+        gameBoard.makeMove(Move.encode(4 * 8 + 2, 5 * 8 + 1, 2, 16 + 1, -1,
+                Move.FLAG_EN_PASSANT));
+        
+        Assertions.assertEquals(-1, gameBoard.get(4, 1));
+        Assertions.assertEquals(2, gameBoard.get(5, 1));
+        Assertions.assertEquals(0L, gameBoard.getPieces(GameBoardData.HUMAN_SIDE,
+                GameBoardData.PAWN) & (1L << (4 * 8 + 1)));
+        
+        // human pawn move, machine promotes with queen identifier
+        gameBoard.makeMove(Move.encode(3 * 8 + 5, 2 * 8 + 5, 16 + 5, -1));
+        gameBoard.makeMove(Move.encode(6 * 8 + 6, 7 * 8 + 6, 6, -1, 12, 0));
+        
+        Assertions.assertEquals(12, gameBoard.get(7, 6));
+        Assertions.assertEquals(GameBoardData.QUEEN, GameBoardData.typeOf(
+                gameBoard.get(7, 6)));
+        
+        for(int i = 0; i < 5; ++i){
+        
+            gameBoard.unmakeMove();
+        }
+        
+        assertSamePosition(origin, gameBoard);
+        Assertions.assertEquals(GameBoardData.CASTLING_ALL, gameBoard.getCastlingRights());
+    }
+    
+    @Test
+    public void removedPieces_areTrackedByMasks(){
+    
+        GameBoardData initial = initialBoard();
+        
+        Assertions.assertEquals(0, initial.getRemovedIds(GameBoardData.MACHINE_SIDE));
+        Assertions.assertEquals(0, initial.getRemovedIds(GameBoardData.HUMAN_SIDE));
+        Assertions.assertEquals(4000, initial.getMaterial(GameBoardData.MACHINE_SIDE));
+        
+        GameBoardData gameBoard = new GameBoardData();
+        gameBoard.set(0, 3, 11);
+        gameBoard.set(6, 6, 6);
+        gameBoard.set(7, 3, 16 + 11);
+        gameBoard.set(7, 7, 16 + 8);
+        
+        int machineRemoved = 0xFFFF & ~((1 << 11) | (1 << 6));
+        
+        Assertions.assertEquals(machineRemoved,
+                gameBoard.getRemovedIds(GameBoardData.MACHINE_SIDE));
+        Assertions.assertEquals(100, gameBoard.getMaterial(GameBoardData.MACHINE_SIDE));
+        Assertions.assertEquals(500, gameBoard.getMaterial(GameBoardData.HUMAN_SIDE));
+        
+        // pawn captures the rook and promotes with queen identifier
+        gameBoard.makeMove(Move.encode(6 * 8 + 6, 7 * 8 + 7, 6, 16 + 8, 12, 0));
+        
+        Assertions.assertEquals((machineRemoved | (1 << 6)) & ~(1 << 12),
+                gameBoard.getRemovedIds(GameBoardData.MACHINE_SIDE));
+        Assertions.assertTrue(gameBoard.isRemoved(16 + 8));
+        Assertions.assertFalse(gameBoard.isRemoved(12));
+        Assertions.assertEquals(900, gameBoard.getMaterial(GameBoardData.MACHINE_SIDE));
+        Assertions.assertEquals(0, gameBoard.getMaterial(GameBoardData.HUMAN_SIDE));
+        
+        gameBoard.unmakeMove();
+        
+        Assertions.assertEquals(machineRemoved,
+                gameBoard.getRemovedIds(GameBoardData.MACHINE_SIDE));
+        Assertions.assertFalse(gameBoard.isRemoved(16 + 8));
+        Assertions.assertEquals(100, gameBoard.getMaterial(GameBoardData.MACHINE_SIDE));
+        Assertions.assertEquals(500, gameBoard.getMaterial(GameBoardData.HUMAN_SIDE));
+        Assertions.assertEquals(new GameBoardData(gameBoard).getRemovedIds(
+                GameBoardData.HUMAN_SIDE), gameBoard.getRemovedIds(
+                GameBoardData.HUMAN_SIDE));
+    }
+    
+    @Test
+    public void hash_isMaintainedIncrementally(){
+    
+        GameBoardData gameBoard = initialBoard();
+        long initialHash = gameBoard.hash();
+        
+        Assertions.assertEquals(gameBoard.computeHash(), initialHash);
+        
+        // knight moves in two different orders reach the same position
+        int machineKnight = Move.encode(1, 2 * 8 + 2, 9, -1);
+        int humanKnight = Move.encode(7 * 8 + 6, 5 * 8 + 5, 16 + 14, -1);
+        int machineKnightB = Move.encode(6, 2 * 8 + 5, 14, -1);
+        int humanKnightB = Move.encode(7 * 8 + 1, 5 * 8 + 2, 16 + 9, -1);
+        
+        gameBoard.makeMove(machineKnight);
+        gameBoard.makeMove(humanKnight);
+        gameBoard.makeMove(machineKnightB);
+        gameBoard.makeMove(humanKnightB);
+        
+        long transposedHash = gameBoard.hash();
+        
+        Assertions.assertEquals(gameBoard.computeHash(), transposedHash);
+        
+        for(int i = 0; i < 4; ++i){
+        
+            gameBoard.unmakeMove();
+        }
+        
+        Assertions.assertEquals(initialHash, gameBoard.hash());
+        
+        gameBoard.makeMove(machineKnightB);
+        gameBoard.makeMove(humanKnightB);
+        gameBoard.makeMove(machineKnight);
+        gameBoard.makeMove(humanKnight);
+        
+        Assertions.assertEquals(transposedHash, gameBoard.hash());
+        
+        // side to move, en passant and castling rights are part of the hash
+        gameBoard.makeMove(Move.encode(1 * 8 + 4, 3 * 8 + 4, 4, -1, -1,
+                Move.FLAG_DOUBLE_PUSH));
+        
+        Assertions.assertEquals(gameBoard.computeHash(), gameBoard.hash());
+        
+        gameBoard.setEnPassantSquare(-1);
+        gameBoard.setSideToMove(GameBoardData.MACHINE_SIDE);
+        gameBoard.setCastlingRights(GameBoardData.CASTLING_HUMAN_ROOK_8);
+        
+        Assertions.assertEquals(gameBoard.computeHash(), gameBoard.hash());
+        Assertions.assertNotEquals(transposedHash, gameBoard.hash());
+    }
+    
+    @Test
+    public void see_resolvesExchanges(){
+    
+        // undefended pawn
+        GameBoardData board = FenParser.parse(
+                "1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - -");
+        
+        Assertions.assertEquals(100, board.see(encode(board, "e1", "e5")));
+        
+        // knight for pawn, x-ray attackers behind the queen and rook join in
+        board = FenParser.parse(
+                "1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - -");
+        
+        Assertions.assertEquals(100 - 320, board.see(encode(board, "d3", "e5")));
+        
+        // doubled rooks against a rook defended pawn
+        board = FenParser.parse("3r2k1/8/8/3p4/8/8/3R4/3RK3 w - -");
+        
+        Assertions.assertEquals(100, board.see(encode(board, "d2", "d5")));
+        
+        // quiet step onto a square attacked by a pawn
+        board = FenParser.parse("4k3/8/4p3/8/8/2N5/8/4K3 w - -");
+        
+        Assertions.assertEquals(-320, board.see(encode(board, "c3", "d5")));
+        Assertions.assertEquals(0, board.see(encode(board, "c3", "b5")));
+    }
+    
+    @Test
+    public void undoStack_keepsRecentMovesOfLongGames(){
+    
+        GameBoardData board = FenParser.parse(FenParser.START_POSITION);
+        String[] shuffle = {"g1", "f3", "g8", "f6", "f3", "g1", "f6", "g8"};
+        long startHash = board.hash();
+        
+        // reversible knight moves beyond the capacity of the undo stack
+        int numOfMoves = GameBoardData.MAX_UNDO + 200;
+        
+        for(int i = 0; i < numOfMoves; ++i){
+        
+            board.makeMove(encode(board, shuffle[(2 * i) % shuffle.length],
+                    shuffle[(2 * i + 1) % shuffle.length]));
+        }
+        
+        Assertions.assertEquals(numOfMoves, board.getUndoSize());
+        Assertions.assertEquals(numOfMoves, board.getHalfmoveClock());
+        Assertions.assertEquals(startHash, board.hash());
+        Assertions.assertTrue(board.isRepetition());
+        Assertions.assertEquals(GameBoardData.MAX_UNDO,
+                board.getMoveHistory(numOfMoves - GameBoardData.MAX_UNDO).length);
+        Assertions.assertThrows(RuntimeException.class,
+                () -> board.getMoveHistory(0));
+        
+        // the search makes and takes back its moves on top of the full stack
+        Searcher searcher = new Searcher();
+        int move = searcher.search(board, 4);
+        
+        Assertions.assertTrue(MoveGenerator.isLegal(board, move, new MoveList()));
+        Assertions.assertEquals(numOfMoves, board.getUndoSize());
+        Assertions.assertEquals(startHash, board.hash());
+        
+        // only the recent moves can be taken back, the moves of the search
+        //  have overwritten further old entries
+        int numOfUndoneMoves = 0;
+        
+        while(board.getLastMove() != Move.NONE){
+        
+            board.unmakeMove();
+            ++numOfUndoneMoves;
+        }
+        
+        Assertions.assertTrue(numOfUndoneMoves > GameBoardData.MAX_UNDO - Score.MAX_PLY);
+        Assertions.assertTrue(numOfUndoneMoves <= GameBoardData.MAX_UNDO);
+        Assertions.assertThrows(RuntimeException.class, () -> board.unmakeMove());
+    }
+    
+    private static GameBoardData initialBoard(){
+    
+        GameBoardData gameBoard = new GameBoardData();
+        
+        for(int i = 0; i < 8; ++i){
+        
+            gameBoard.set(1, i, i);
+            gameBoard.set(6, i, 16 + i);
+            gameBoard.set(0, i, 8 + i);
+            gameBoard.set(7, i, 16 + 8 + i);
+        }
+        
+        gameBoard.setCastlingRights(GameBoardData.CASTLING_ALL);
+        
+        return gameBoard;
+    }
+    
+    private static int encode(GameBoardData board, String from, String to){
+    
+        int fromSquare = FenParser.parseSquare(from);
+        int toSquare = FenParser.parseSquare(to);
+        
+        return Move.encode(fromSquare, toSquare, board.getBySquare(fromSquare),
+                board.getBySquare(toSquare));
+    }
+    
+    private static void assertSamePosition(GameBoardData expected,
+            GameBoardData actual){
+        
+        for(int square = 0; square < 64; ++square){
+        
+            Assertions.assertEquals(expected.getBySquare(square),
+                    actual.getBySquare(square));
+        }
+        
+        for(int side = 0; side < 2; ++side){
+        
+            for(int type = 0; type < GameBoardData.NUM_OF_TYPES; ++type){
+            
+                Assertions.assertEquals(expected.getPieces(side, type),
+                        actual.getPieces(side, type));
+            }
+        }
+        
+        Assertions.assertEquals(expected.getCastlingRights(),
+                actual.getCastlingRights());
+        Assertions.assertEquals(expected.getHalfmoveClock(),
+                actual.getHalfmoveClock());
+    }
+}
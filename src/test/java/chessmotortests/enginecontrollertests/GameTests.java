@@ -313,7 +313,7 @@ public class GameTests {
     public void reactWithStepToHumanAction_selectNextMachineStep_isCorrect(){
     
         // todo
-        // Generate (bypass) manually a generation result - modify stepSequences 
+        // Generate (bypass) manually a search result - modify the searched position 
         // in such a way that the result will contain various cumulated values 
         // including redundant ones (multiplicity is allowed due to empty squares 
         // on gameborad)
@@ -50,9 +50,6 @@ public class HumanPlayerTests {
         // gameBoardRef is null
         // todo
         
-        // stepSequencesRef is null
-        // todo
-        
         // removedPiecesRef is null
         // todo
         
@@ -0,0 +1,92 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.LeaperAttackTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class LeaperAttackTableTests {
+
+    public LeaperAttackTableTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void knightAndKing_attacks_areCorrect(){
+    
+        // knight in corner, on edge and in center
+        Assertions.assertEquals((1L << 10) | (1L << 17),
+                LeaperAttackTable.knightAttacks(0));
+        Assertions.assertEquals(4, Long.bitCount(LeaperAttackTable.knightAttacks(3)));
+        Assertions.assertEquals(8, Long.bitCount(
+                LeaperAttackTable.knightAttacks(3 * 8 + 3)));
+        
+        // king in corner and in center
+        Assertions.assertEquals((1L << 1) | (1L << 8) | (1L << 9),
+                LeaperAttackTable.kingAttacks(0));
+        Assertions.assertEquals(8, Long.bitCount(
+                LeaperAttackTable.kingAttacks(3 * 8 + 3)));
+    }
+    
+    @Test
+    public void pawn_attacksAndPushes_areCorrect(){
+    
+        int machine = GameBoardData.MACHINE_SIDE;
+        int human = GameBoardData.HUMAN_SIDE;
+        
+        // machine pawn from initial rank: single and double push on empty board
+        Assertions.assertEquals((1L << (2 * 8 + 4)) | (1L << (3 * 8 + 4)),
+                LeaperAttackTable.pawnPushes(machine, 1 * 8 + 4, 0L));
+        
+        // blocked double push
+        Assertions.assertEquals(1L << (2 * 8 + 4),
+                LeaperAttackTable.pawnPushes(machine, 1 * 8 + 4, 1L << (3 * 8 + 4)));
+        
+        // blocked single push prevents double push
+        Assertions.assertEquals(0L,
+                LeaperAttackTable.pawnPushes(machine, 1 * 8 + 4, 1L << (2 * 8 + 4)));
+        
+        // human pawn from initial rank
+        Assertions.assertEquals((1L << (5 * 8 + 4)) | (1L << (4 * 8 + 4)),
+                LeaperAttackTable.pawnPushes(human, 6 * 8 + 4, 0L));
+        
+        // no double push outside of initial rank
+        Assertions.assertEquals(1L << (4 * 8 + 4),
+                LeaperAttackTable.pawnPushes(human, 5 * 8 + 4, 0L));
+        
+        // captures by side, edge file
+        Assertions.assertEquals((1L << (2 * 8 + 3)) | (1L << (2 * 8 + 5)),
+                LeaperAttackTable.pawnAttacks(machine, 1 * 8 + 4));
+        Assertions.assertEquals(1L << (5 * 8 + 1),
+                LeaperAttackTable.pawnAttacks(human, 6 * 8));
+    }
+}
@@ -0,0 +1,155 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.FenParser;
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.LegalMoveSet;
+import chessmotor.enginecontroller.Move;
+import chessmotor.enginecontroller.MoveGenerator;
+import chessmotor.enginecontroller.MoveList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class LegalMoveSetTests {
+
+    public LegalMoveSetTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void update_storesTargetsByOrigin(){
+    
+        GameBoardData board = FenParser.parse(FenParser.START_POSITION);
+        LegalMoveSet legalMoves = new LegalMoveSet();
+        
+        legalMoves.update(board, GameBoardData.MACHINE_SIDE);
+        
+        int knight = FenParser.parseSquare("b1");
+        
+        Assertions.assertTrue(legalMoves.isLegal(knight, FenParser.parseSquare("a3")));
+        Assertions.assertTrue(legalMoves.isLegal(knight, FenParser.parseSquare("c3")));
+        Assertions.assertFalse(legalMoves.isLegal(knight, FenParser.parseSquare("d2")));
+        Assertions.assertEquals(2, Long.bitCount(legalMoves.getTargets(knight)));
+        Assertions.assertEquals(0L, legalMoves.getTargets(FenParser.parseSquare("a1")));
+        
+        // 8 pawns and 2 knights can move
+        Assertions.assertEquals(10, Long.bitCount(legalMoves.getOrigins()));
+        Assertions.assertFalse(legalMoves.isEmpty());
+    }
+    
+    @Test
+    public void update_matchesGeneratedMoves(){
+    
+        GameBoardData board = FenParser.parse(
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -");
+        LegalMoveSet legalMoves = new LegalMoveSet();
+        legalMoves.update(board, GameBoardData.MACHINE_SIDE);
+        
+        MoveList moves = new MoveList();
+        MoveGenerator.generateAll(GameBoardData.MACHINE_SIDE, board, moves);
+        
+        int count = 0;
+        
+        for(int from = 0; from < 64; ++from){
+        
+            count += Long.bitCount(legalMoves.getTargets(from));
+        }
+        
+        // castlings are registered with the rook squares as well
+        Assertions.assertEquals(moves.size() + 2, count);
+        
+        int king = FenParser.parseSquare("e1");
+        
+        Assertions.assertTrue(legalMoves.isLegal(king, FenParser.parseSquare("h1")));
+        Assertions.assertTrue(legalMoves.isLegal(king, FenParser.parseSquare("a1")));
+        Assertions.assertTrue(legalMoves.isLegal(king, FenParser.parseSquare("g1")));
+    }
+    
+    @Test
+    public void update_regeneratesOnPositionChange(){
+    
+        GameBoardData board = FenParser.parse("4k3/8/8/8/8/8/8/R3K3 w - -");
+        LegalMoveSet legalMoves = new LegalMoveSet();
+        int king = FenParser.parseSquare("e8");
+        
+        legalMoves.update(board, GameBoardData.HUMAN_SIDE);
+        Assertions.assertTrue(legalMoves.isLegal(king, FenParser.parseSquare("d8")));
+        
+        MoveList moves = new MoveList();
+        MoveGenerator.generateAll(GameBoardData.MACHINE_SIDE, board, moves);
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            if(Move.getFrom(moves.get(i)) == FenParser.parseSquare("a1")
+                    && Move.getTo(moves.get(i)) == FenParser.parseSquare("a8")){
+                
+                board.makeMove(moves.get(i));
+            }
+        }
+        
+        // rook on the back rank restricts the king
+        legalMoves.update(board, GameBoardData.HUMAN_SIDE);
+        
+        Assertions.assertFalse(legalMoves.isLegal(king, FenParser.parseSquare("d8")));
+        Assertions.assertTrue(legalMoves.isLegal(king, FenParser.parseSquare("e7")));
+    }
+    
+    @Test
+    public void update_regeneratesOnRemovedPiecesChange(){
+    
+        GameBoardData board = FenParser.parse("4k3/P7/8/8/8/8/8/4K1N1 w - - 0 1");
+        LegalMoveSet legalMoves = new LegalMoveSet();
+        int knightSquare = FenParser.parseSquare("g1");
+        int pawnSquare = FenParser.parseSquare("a7");
+        int knightId = board.getBySquare(knightSquare);
+        int otherKnightId = knightId == 9 ? 14 : 9;
+        
+        legalMoves.update(board, GameBoardData.MACHINE_SIDE);
+        
+        Assertions.assertEquals(otherKnightId, Move.getPromotionId(legalMoves.getMove(
+                pawnSquare, FenParser.parseSquare("a8"), GameBoardData.KNIGHT)));
+        
+        // the other knight identifier on the same square: the hash is the
+        //  same, the removed pieces differ
+        long hash = board.hash();
+        board.setBySquare(knightSquare, -1);
+        board.setBySquare(knightSquare, otherKnightId);
+        
+        Assertions.assertEquals(hash, board.hash());
+        
+        legalMoves.update(board, GameBoardData.MACHINE_SIDE);
+        
+        Assertions.assertEquals(otherKnightId, Move.getPieceId(legalMoves.getMove(
+                knightSquare, FenParser.parseSquare("f3"), -1)));
+        Assertions.assertEquals(knightId, Move.getPromotionId(legalMoves.getMove(
+                pawnSquare, FenParser.parseSquare("a8"), GameBoardData.KNIGHT)));
+    }
+}
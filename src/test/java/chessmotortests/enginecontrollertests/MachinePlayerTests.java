@@ -1,5 +1,13 @@
 package chessmotortests.enginecontrollertests;
 
+import chessmotor.enginecontroller.FenParser;
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.MachinePlayer;
+import chessmotor.enginecontroller.PieceContainer;
+import genmath.genmathexceptions.IllConditionedDataException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Stack;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -154,4 +162,22 @@ public class MachinePlayerTests {
         // nominal case
         // todo
     }
+    
+    @Test
+    public void getNextStep_requiresMachineTurn(){
+    
+        GameBoardData board = FenParser.parse(
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR b KQkq - 0 1");
+        long hash = board.hash();
+        
+        MachinePlayer player = new MachinePlayer(null, new PieceContainer(), 
+                board, 4, Duration.ofSeconds(60), false, new Stack<>(), 
+                new Stack<>(), 0, 0, Duration.ZERO, LocalDateTime.now());
+        
+        // the side to move of the board is not overwritten
+        assertThrows(IllConditionedDataException.class, 
+                () -> player.getNextStep());
+        assertEquals(GameBoardData.HUMAN_SIDE, board.getSideToMove());
+        assertEquals(hash, board.hash());
+    }
 }
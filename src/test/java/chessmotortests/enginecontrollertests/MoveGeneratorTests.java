@@ -0,0 +1,506 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.FenParser;
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.LegalMoveSet;
+import chessmotor.enginecontroller.Move;
+import chessmotor.enginecontroller.MoveGenerator;
+import chessmotor.enginecontroller.MoveList;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class MoveGeneratorTests {
+
+    public MoveGeneratorTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void initialPosition_hasTwentyMoves(){
+    
+        GameBoardData gameBoard = new GameBoardData();
+        
+        for(int i = 0; i < 8; ++i){
+        
+            gameBoard.set(1, i, i);
+            gameBoard.set(6, i, 16 + i);
+            gameBoard.set(0, i, 8 + i);
+            gameBoard.set(7, i, 16 + 8 + i);
+        }
+        
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(gameBoard, GameBoardData.MACHINE_SIDE, moves);
+        
+        Assertions.assertEquals(20, moves.size());
+        
+        int doublePushes = 0;
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            if(Move.isDoublePush(moves.get(i))){
+            
+                ++doublePushes;
+            }
+        }
+        
+        Assertions.assertEquals(8, doublePushes);
+        
+        moves.clear();
+        MoveGenerator.generateLegal(gameBoard, GameBoardData.HUMAN_SIDE, moves);
+        
+        Assertions.assertEquals(20, moves.size());
+        Assertions.assertFalse(gameBoard.isInCheck(GameBoardData.MACHINE_SIDE));
+    }
+    
+    @Test
+    public void pinnedPieces_moveAlongPinLine(){
+    
+        GameBoardData gameBoard = new GameBoardData();
+        
+        // machine king, rook pinned on file by human rook, knight pinned on
+        //  diagonal by human bishop
+        gameBoard.set(0, 3, 11);
+        gameBoard.set(3, 3, 8);
+        gameBoard.set(6, 3, 16 + 8);
+        gameBoard.set(1, 4, 9);
+        gameBoard.set(3, 6, 16 + 10);
+        gameBoard.set(7, 0, 16 + 11);
+        
+        Assertions.assertEquals((1L << (3 * 8 + 3)) | (1L << (1 * 8 + 4)),
+                gameBoard.getPinned(GameBoardData.MACHINE_SIDE));
+        
+        MoveList moves = new MoveList();
+        
+        // pinned knight has no moves
+        MoveGenerator.generateLegal(gameBoard, GameBoardData.MACHINE_SIDE,
+                1L << (1 * 8 + 4), moves);
+        
+        Assertions.assertTrue(moves.isEmpty());
+        
+        // pinned rook moves on the file only: 2 toward king, 3 toward pinner
+        MoveGenerator.generateLegal(gameBoard, GameBoardData.MACHINE_SIDE,
+                1L << (3 * 8 + 3), moves);
+        
+        Assertions.assertEquals(5, moves.size());
+        Assertions.assertTrue(moves.containsTarget(6 * 8 + 3));
+        Assertions.assertFalse(moves.containsTarget(3 * 8 + 4));
+    }
+    
+    @Test
+    public void checkEvasions_areLegal(){
+    
+        GameBoardData gameBoard = new GameBoardData();
+        
+        // machine king checked by human rook on the rank, machine bishop can
+        //  interpose, machine knight can capture the checker or interpose
+        gameBoard.set(0, 3, 11);
+        gameBoard.set(0, 7, 16 + 8);
+        gameBoard.set(2, 3, 10);
+        gameBoard.set(2, 6, 9);
+        gameBoard.set(1, 0, 0);
+        gameBoard.set(7, 3, 16 + 11);
+        
+        Assertions.assertTrue(gameBoard.isInCheck(GameBoardData.MACHINE_SIDE));
+        
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(gameBoard, GameBoardData.MACHINE_SIDE, moves);
+        
+        int kingMoves = 0;
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            int move = moves.get(i);
+            
+            if(Move.getPieceId(move) == 11){
+            
+                ++kingMoves;
+                
+                // king can not step back along the rank of the checking rook
+                Assertions.assertNotEquals(2, Move.getTo(move));
+                Assertions.assertNotEquals(4, Move.getTo(move));
+            }
+            else if(Move.getPieceId(move) == 10){
+            
+                // bishop interposes on the rank
+                Assertions.assertTrue(Move.getTo(move) > 3 && Move.getTo(move) < 7);
+            }
+            else{
+            
+                // knight captures the rook or interposes, pawn has no evasion
+                Assertions.assertEquals(9, Move.getPieceId(move));
+                
+                if(Move.getTo(move) == 7){
+                
+                    Assertions.assertEquals(16 + 8, Move.getCapturedId(move));
+                }
+                else{
+                
+                    Assertions.assertEquals(5, Move.getTo(move));
+                }
+            }
+        }
+        
+        // king targets on rank 1
+        Assertions.assertEquals(3, kingMoves);
+        Assertions.assertEquals(3 + 1 + 2, moves.size());
+        
+        // double check by rook and knight, only king moves remain
+        gameBoard.set(1, 1, 16 + 9);
+        moves.clear();
+        MoveGenerator.generateLegal(gameBoard, GameBoardData.MACHINE_SIDE, moves);
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            Assertions.assertEquals(11, Move.getPieceId(moves.get(i)));
+        }
+    }
+    
+    @Test
+    public void enPassant_respectsHorizontalPin(){
+    
+        GameBoardData gameBoard = new GameBoardData();
+        
+        // machine king and pawn on rank 4 with human rook behind both pawns
+        gameBoard.set(4, 0, 11);
+        gameBoard.set(4, 3, 3);
+        gameBoard.set(6, 4, 16 + 4);
+        gameBoard.set(4, 7, 16 + 8);
+        gameBoard.set(7, 7, 16 + 11);
+        gameBoard.setSideToMove(GameBoardData.HUMAN_SIDE);
+        
+        gameBoard.makeMove(Move.encode(6 * 8 + 4, 4 * 8 + 4, 16 + 4, -1, -1,
+                Move.FLAG_DOUBLE_PUSH));
+        
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(gameBoard, GameBoardData.MACHINE_SIDE,
+                1L << (4 * 8 + 3), moves);
+        
+        // push only, en passant would expose the king to the rook
+        Assertions.assertEquals(1, moves.size());
+        
+        // without the rook en passant is legal
+        gameBoard.unmakeMove();
+        gameBoard.set(4, 7, -1);
+        gameBoard.makeMove(Move.encode(6 * 8 + 4, 4 * 8 + 4, 16 + 4, -1, -1,
+                Move.FLAG_DOUBLE_PUSH));
+        moves.clear();
+        MoveGenerator.generateLegal(gameBoard, GameBoardData.MACHINE_SIDE,
+                1L << (4 * 8 + 3), moves);
+        
+        Assertions.assertEquals(2, moves.size());
+        Assertions.assertTrue(Move.isEnPassant(moves.get(1)));
+        Assertions.assertEquals(16 + 4, Move.getCapturedId(moves.get(1)));
+    }
+    
+    @Test
+    public void castling_isGeneratedWithRestrictions(){
+    
+        GameBoardData board = FenParser.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq -");
+        MoveList moves = new MoveList();
+        int kingSquare = FenParser.parseSquare("e1");
+        
+        MoveGenerator.generateAll(GameBoardData.MACHINE_SIDE, board, moves);
+        
+        Assertions.assertEquals(2, countCastlings(moves));
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            int move = moves.get(i);
+            
+            if(Move.isCastling(move)){
+            
+                Assertions.assertEquals(kingSquare, Move.getFrom(move));
+                Assertions.assertEquals(11, Move.getPieceId(move));
+                Assertions.assertTrue(Move.getTo(move) == FenParser.parseSquare("g1")
+                        || Move.getTo(move) == FenParser.parseSquare("c1"));
+            }
+        }
+        
+        // lost right, blocked path, attacked crossing square
+        board = FenParser.parse("r3k2r/8/8/8/8/8/8/RN2K2R w Kkq -");
+        moves.clear();
+        MoveGenerator.generateAll(GameBoardData.MACHINE_SIDE, board, moves);
+        Assertions.assertEquals(1, countCastlings(moves));
+        
+        board = FenParser.parse("r3k2r/8/8/8/8/8/8/R3K2R w Qkq -");
+        moves.clear();
+        MoveGenerator.generateAll(GameBoardData.MACHINE_SIDE, board, moves);
+        Assertions.assertEquals(1, countCastlings(moves));
+        
+        board = FenParser.parse("r3k3/8/8/8/8/8/5r2/R3K2R w KQq -");
+        moves.clear();
+        MoveGenerator.generateAll(GameBoardData.MACHINE_SIDE, board, moves);
+        Assertions.assertEquals(1, countCastlings(moves));
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            if(Move.isCastling(moves.get(i))){
+            
+                Assertions.assertEquals(FenParser.parseSquare("c1"),
+                        Move.getTo(moves.get(i)));
+            }
+        }
+        
+        // no castling out of check
+        board = FenParser.parse("r3k3/8/8/8/8/8/4r3/R3K2R w KQq -");
+        moves.clear();
+        MoveGenerator.generateAll(GameBoardData.MACHINE_SIDE, board, moves);
+        Assertions.assertEquals(0, countCastlings(moves));
+        
+        // castling of human side, the rook joins the king
+        board = FenParser.parse("r3k2r/8/8/8/8/8/8/R3K2R b KQkq -");
+        moves.clear();
+        MoveGenerator.generateAll(GameBoardData.HUMAN_SIDE, board, moves);
+        Assertions.assertEquals(2, countCastlings(moves));
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            if(Move.isCastling(moves.get(i))){
+            
+                board.makeMove(moves.get(i));
+                
+                Assertions.assertEquals(Move.getCastlingRookId(moves.get(i)),
+                        board.getBySquare(Move.getCastlingRookTo(moves.get(i))));
+                Assertions.assertEquals(GameBoardData.CASTLING_MACHINE_ROOK_8
+                        | GameBoardData.CASTLING_MACHINE_ROOK_15,
+                        board.getCastlingRights());
+                
+                board.unmakeMove();
+            }
+        }
+    }
+    
+    @Test
+    public void promotion_reusesCapturedIdentifiers(){
+    
+        // white lost a queen and a knight, black lost nothing
+        GameBoardData board = FenParser.parse("1n2k3/P7/8/8/8/8/8/RNB1KB1R w - -");
+        MoveList moves = new MoveList();
+        
+        MoveGenerator.generateLegal(board, GameBoardData.MACHINE_SIDE,
+                1L << FenParser.parseSquare("a7"), moves);
+        
+        // push and capture onto b8, one promotion per captured type
+        Assertions.assertEquals(4, moves.size());
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            int promotionId = Move.getPromotionId(moves.get(i));
+            
+            Assertions.assertTrue(promotionId == 12 || promotionId == 14,
+                    "Unexpected promotion " + promotionId);
+        }
+        
+        // promotions are tactical moves
+        moves.clear();
+        MoveGenerator.generateLegal(board, GameBoardData.MACHINE_SIDE, -1L,
+                MoveGenerator.CAPTURES, moves);
+        Assertions.assertEquals(4, moves.size());
+        
+        // promoted piece replaces the pawn and it is taken back
+        int promotion = Move.NONE;
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            if(Move.getPromotionId(moves.get(i)) == 12 && Move.isCapture(moves.get(i))){
+            
+                promotion = moves.get(i);
+            }
+        }
+        
+        board.makeMove(promotion);
+        
+        Assertions.assertEquals(12, board.getBySquare(FenParser.parseSquare("b8")));
+        Assertions.assertFalse(board.getPieceList().isLive(0));
+        Assertions.assertTrue(board.getPieceList().isLive(12));
+        Assertions.assertTrue(board.isInCheck(GameBoardData.HUMAN_SIDE));
+        
+        board.unmakeMove();
+        
+        Assertions.assertFalse(board.getPieceList().isLive(12));
+        Assertions.assertEquals(board.computeHash(), board.hash());
+        
+        // without captured pieces the pawn steps without promotion
+        board = FenParser.parse("4k3/P7/8/8/8/8/8/RNBQKBNR w - -");
+        moves.clear();
+        MoveGenerator.generateAll(GameBoardData.MACHINE_SIDE, board, moves);
+        
+        Assertions.assertTrue(moves.containsTarget(FenParser.parseSquare("a8")));
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            Assertions.assertFalse(Move.isPromotion(moves.get(i)));
+        }
+    }
+    
+    @Test
+    public void promotion_withoutRemovedPieces_leavesPawnOnLastRank(){
+    
+        // promotion reuses removed identifiers: a side that has lost no piece
+        //  steps onto the last rank with a pawn that stays there for the rest
+        //  of the game (deliberate rule of the engine)
+        GameBoardData board = FenParser.parse("rnbqkbnr/8/8/8/8/8/p7/4K3 b - -");
+        int from = FenParser.parseSquare("a2");
+        int to = FenParser.parseSquare("a1");
+        LegalMoveSet legalMoves = new LegalMoveSet();
+        
+        legalMoves.update(board, GameBoardData.HUMAN_SIDE);
+        
+        // the human input of the step is accepted without replacement choice,
+        //  a requested promotion type is ignored
+        int move = legalMoves.getMove(from, to, -1);
+        
+        Assertions.assertNotEquals(Move.NONE, move);
+        Assertions.assertFalse(Move.isPromotion(move));
+        Assertions.assertEquals(move,
+                legalMoves.getMove(from, to, GameBoardData.QUEEN));
+        
+        board.makeMove(move);
+        
+        int pawnId = board.getBySquare(to);
+        
+        Assertions.assertEquals(GameBoardData.PAWN, GameBoardData.typeOf(pawnId));
+        
+        // the pawn has no further step from the last rank
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(board, GameBoardData.HUMAN_SIDE, 1L << to,
+                moves);
+        
+        Assertions.assertEquals(0, moves.size());
+        Assertions.assertEquals(pawnId, board.getBySquare(to));
+    }
+    
+    @Test
+    public void specializedGenerators_matchLegalMoves(){
+    
+        String[] fens = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"
+        };
+        
+        int[] evasionPositions = new int[1];
+        
+        for(String fen : fens){
+        
+            compareGenerators(FenParser.parse(fen), 3, evasionPositions);
+        }
+        
+        // the walk has to reach positions in check
+        Assertions.assertTrue(evasionPositions[0] > 0);
+    }
+    
+    private static void compareGenerators(GameBoardData board, int depth,
+            int[] evasionPositions){
+        
+        int side = board.getSideToMove();
+        MoveList legal = new MoveList();
+        MoveGenerator.generateLegal(board, side, -1L, MoveGenerator.ALL, legal);
+        
+        MoveList all = new MoveList();
+        MoveGenerator.generateAll(side, board, all);
+        Assertions.assertArrayEquals(sortedMoves(legal), sortedMoves(all));
+        
+        MoveList captures = new MoveList();
+        MoveGenerator.generateCaptures(board, side, captures);
+        
+        MoveList expectedCaptures = new MoveList();
+        
+        // pawn steps to the last rank belong to captures even without
+        //  promotion (no captured identifier to reuse)
+        for(int i = 0; i < legal.size(); ++i){
+        
+            int move = legal.get(i);
+            int toRank = Move.getTo(move) >>> 3;
+            
+            if(Move.isCapture(move) || Move.isPromotion(move)
+                    || (GameBoardData.typeOf(Move.getPieceId(move))
+                    == GameBoardData.PAWN && (toRank == 0 || toRank == 7))){
+                
+                expectedCaptures.add(move);
+            }
+        }
+        
+        Assertions.assertArrayEquals(sortedMoves(expectedCaptures),
+                sortedMoves(captures));
+        
+        if(board.isInCheck(side)){
+        
+            MoveList evasions = new MoveList();
+            MoveGenerator.generateEvasions(board, side, evasions);
+            Assertions.assertArrayEquals(sortedMoves(legal), sortedMoves(evasions));
+            ++evasionPositions[0];
+        }
+        
+        if(depth == 0){
+        
+            return;
+        }
+        
+        for(int i = 0; i < legal.size(); ++i){
+        
+            board.makeMove(legal.get(i));
+            compareGenerators(board, depth - 1, evasionPositions);
+            board.unmakeMove();
+        }
+    }
+    
+    private static int[] sortedMoves(MoveList moves){
+    
+        int[] array = new int[moves.size()];
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            array[i] = moves.get(i);
+        }
+        
+        Arrays.sort(array);
+        
+        return array;
+    }
+    
+    private static int countCastlings(MoveList moves){
+    
+        int castlings = 0;
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            if(Move.isCastling(moves.get(i))){
+            
+                ++castlings;
+            }
+        }
+        
+        return castlings;
+    }
+}
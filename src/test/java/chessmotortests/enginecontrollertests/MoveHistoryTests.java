@@ -0,0 +1,93 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.Move;
+import chessmotor.enginecontroller.MoveHistory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class MoveHistoryTests {
+
+    public MoveHistoryTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void updateCutoff_fillsAndAgesTables(){
+    
+        MoveHistory history = new MoveHistory();
+        int move = Move.encode(6, 21, 9, -1);
+        int otherMove = Move.encode(8, 16, 0, -1);
+        int previousMove = Move.encode(52, 36, 20, -1);
+        
+        history.updateCutoff(0, move, previousMove, 3, 4,
+                new int[]{otherMove}, 1);
+        
+        Assertions.assertEquals(move, history.getKiller(3, 0));
+        Assertions.assertEquals(Move.NONE, history.getKiller(3, 1));
+        Assertions.assertEquals(move, history.getCounterMove(0, previousMove));
+        Assertions.assertEquals(Move.NONE, history.getCounterMove(1, previousMove));
+        Assertions.assertEquals(Move.NONE, history.getCounterMove(0, Move.NONE));
+        Assertions.assertEquals(16, history.getHistory(0, move));
+        Assertions.assertEquals(-16, history.getHistory(0, otherMove));
+        Assertions.assertEquals(0, history.getHistory(1, move));
+        
+        // the previous killer becomes secondary, a repeated one is kept once
+        history.updateCutoff(0, otherMove, Move.NONE, 3, 1, new int[0], 0);
+        history.updateCutoff(0, otherMove, Move.NONE, 3, 1, new int[0], 0);
+        
+        Assertions.assertEquals(otherMove, history.getKiller(3, 0));
+        Assertions.assertEquals(move, history.getKiller(3, 1));
+        
+        // scores saturate below the limit
+        for(int i = 0; i < 1000; ++i){
+        
+            history.updateCutoff(0, move, Move.NONE, 0, 100, new int[0], 0);
+        }
+        
+        int saturated = history.getHistory(0, move);
+        
+        Assertions.assertTrue(saturated > MoveHistory.MAX_HISTORY / 2);
+        Assertions.assertTrue(saturated <= MoveHistory.MAX_HISTORY);
+        
+        // aging removes killers, halves scores and keeps counter moves
+        history.age();
+        
+        Assertions.assertEquals(Move.NONE, history.getKiller(3, 0));
+        Assertions.assertEquals(saturated / 2, history.getHistory(0, move));
+        Assertions.assertEquals(move, history.getCounterMove(0, previousMove));
+        
+        history.clear();
+        
+        Assertions.assertEquals(0, history.getHistory(0, move));
+        Assertions.assertEquals(Move.NONE, history.getCounterMove(0, previousMove));
+    }
+}
@@ -0,0 +1,77 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.MoveList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class MoveListTests {
+
+    public MoveListTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void addTargets_packsMovesInSquareOrder(){
+    
+        MoveList moves = new MoveList();
+        moves.addTargets(12, (1L << 20) | (1L << 28) | (1L << 63));
+        
+        Assertions.assertEquals(3, moves.size());
+        Assertions.assertEquals(MoveList.pack(12, 20), moves.get(0));
+        Assertions.assertEquals(12, MoveList.getFrom(moves.get(2)));
+        Assertions.assertEquals(63, MoveList.getTo(moves.get(2)));
+        Assertions.assertTrue(moves.containsTarget(28));
+        Assertions.assertFalse(moves.containsTarget(12));
+    }
+    
+    @Test
+    public void clearAndRetainRange_reuseStorage(){
+    
+        MoveList moves = new MoveList(8);
+        
+        for(int i = 0; i < 8; ++i){
+        
+            moves.add(MoveList.pack(0, i));
+        }
+        
+        moves.retainRange(2, 5);
+        
+        Assertions.assertEquals(3, moves.size());
+        Assertions.assertEquals(2, MoveList.getTo(moves.get(0)));
+        Assertions.assertEquals(4, MoveList.getTo(moves.get(2)));
+        
+        moves.clear();
+        
+        Assertions.assertTrue(moves.isEmpty());
+        Assertions.assertThrows(RuntimeException.class, () -> new MoveList(0));
+    }
+}
@@ -0,0 +1,220 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.FenParser;
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.Move;
+import chessmotor.enginecontroller.MoveGenerator;
+import chessmotor.enginecontroller.MoveHistory;
+import chessmotor.enginecontroller.MoveList;
+import chessmotor.enginecontroller.MovePicker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.util.HashSet;
+
+public class MovePickerTests {
+
+    public MovePickerTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    private static int findMove(GameBoardData board, String from, String to){
+    
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(board, board.getSideToMove(), moves);
+        
+        for(int i = 0; i < moves.size(); ++i){
+        
+            if(Move.getFrom(moves.get(i)) == FenParser.parseSquare(from)
+                    && Move.getTo(moves.get(i)) == FenParser.parseSquare(to)){
+                
+                return moves.get(i);
+            }
+        }
+        
+        return Move.NONE;
+    }
+    
+    private static void assertYieldsLegalMovesOnce(GameBoardData board,
+            MovePicker picker, int hashMove, int killer1, int killer2){
+        
+        MoveList legalMoves = new MoveList();
+        MoveGenerator.generateLegal(board, board.getSideToMove(), legalMoves);
+        
+        HashSet<Integer> expected = new HashSet<>();
+        
+        for(int i = 0; i < legalMoves.size(); ++i){
+        
+            expected.add(legalMoves.get(i));
+        }
+        
+        HashSet<Integer> picked = new HashSet<>();
+        picker.init(board, hashMove, killer1, killer2);
+        
+        for(int move = picker.next(); move != Move.NONE; move = picker.next()){
+        
+            Assertions.assertTrue(picked.add(move), "Repeated " + Move.toString(move));
+        }
+        
+        Assertions.assertEquals(expected, picked);
+        Assertions.assertEquals(MovePicker.STAGE_DONE, picker.getStage());
+    }
+    
+    @Test
+    public void next_yieldsEachLegalMoveOnce(){
+    
+        GameBoardData board = FenParser.parse(
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+        MovePicker picker = new MovePicker();
+        MoveList rootMoves = new MoveList();
+        MoveList childMoves = new MoveList();
+        
+        MoveGenerator.generateLegal(board, board.getSideToMove(), rootMoves);
+        assertYieldsLegalMovesOnce(board, picker, rootMoves.get(0), Move.NONE,
+                Move.NONE);
+        
+        for(int i = 0; i < rootMoves.size(); ++i){
+        
+            board.makeMove(rootMoves.get(i));
+            
+            childMoves.clear();
+            MoveGenerator.generateLegal(board, board.getSideToMove(), childMoves);
+            
+            // hash and killer moves of sibling positions are not always legal
+            assertYieldsLegalMovesOnce(board, picker,
+                    childMoves.get(i % childMoves.size()), rootMoves.get(i),
+                    childMoves.get(childMoves.size() - 1));
+            
+            board.unmakeMove();
+        }
+    }
+    
+    @Test
+    public void next_followsStageOrder(){
+    
+        GameBoardData board = FenParser.parse(
+                "4k3/8/4p3/3p4/4P3/2N5/8/3QK3 w - - 0 1");
+        MovePicker picker = new MovePicker();
+        
+        int hashMove = findMove(board, "e1", "f1");
+        int killer = findMove(board, "c3", "b5");
+        int pawnCapture = findMove(board, "e4", "d5");
+        int knightCapture = findMove(board, "c3", "d5");
+        int queenCapture = findMove(board, "d1", "d5");
+        
+        picker.init(board, hashMove, killer, Move.NONE);
+        
+        Assertions.assertEquals(hashMove, picker.next());
+        Assertions.assertEquals(pawnCapture, picker.next());
+        Assertions.assertEquals(killer, picker.next());
+        Assertions.assertEquals(MovePicker.STAGE_KILLERS, picker.getStage());
+        
+        int move = picker.next();
+        
+        while(picker.getStage() == MovePicker.STAGE_QUIETS){
+        
+            Assertions.assertFalse(Move.isCapture(move));
+            Assertions.assertNotEquals(hashMove, move);
+            Assertions.assertNotEquals(killer, move);
+            move = picker.next();
+        }
+        
+        // captures losing material to the recapturing pawn come last, less
+        //  valuable attacker first
+        Assertions.assertEquals(knightCapture, move);
+        Assertions.assertEquals(queenCapture, picker.next());
+        Assertions.assertEquals(Move.NONE, picker.next());
+    }
+    
+    @Test
+    public void next_skipsIllegalHashAndKillerMoves(){
+    
+        GameBoardData board = FenParser.parse(FenParser.START_POSITION);
+        MovePicker picker = new MovePicker();
+        
+        // moves of a different position
+        int illegalMove = Move.encode(FenParser.parseSquare("e2"),
+                FenParser.parseSquare("e5"), 4, -1);
+        
+        assertYieldsLegalMovesOnce(board, picker, illegalMove, illegalMove,
+                Move.NONE);
+        
+        picker.init(board, Move.NONE, Move.NONE, Move.NONE);
+        
+        Assertions.assertNotEquals(Move.NONE, picker.next());
+        Assertions.assertEquals(MovePicker.STAGE_QUIETS, picker.getStage());
+    }
+    
+    @Test
+    public void next_ordersQuietsByMoveHistory(){
+    
+        GameBoardData board = FenParser.parse(FenParser.START_POSITION);
+        MovePicker picker = new MovePicker();
+        MoveHistory history = new MoveHistory();
+        int side = board.getSideToMove();
+        
+        int knightMove = findMove(board, "g1", "f3");
+        int pawnMove = findMove(board, "h2", "h3");
+        int badMove = findMove(board, "a2", "a3");
+        
+        history.updateCutoff(side, knightMove, Move.NONE, 5, 4,
+                new int[]{badMove}, 1);
+        history.updateCutoff(side, pawnMove, Move.NONE, 6, 3, new int[0], 0);
+        
+        // no killer at root: quiet moves by history score
+        picker.init(board, Move.NONE, history, 0, Move.NONE);
+        
+        Assertions.assertEquals(knightMove, picker.next());
+        Assertions.assertEquals(MovePicker.STAGE_QUIETS, picker.getStage());
+        Assertions.assertEquals(pawnMove, picker.next());
+        
+        int lastMove = Move.NONE;
+        
+        for(int move = picker.next(); move != Move.NONE; move = picker.next()){
+        
+            lastMove = move;
+        }
+        
+        Assertions.assertEquals(badMove, lastMove);
+        
+        // killer of the ply and counter move of the previous move come first
+        int previousMove = Move.encode(FenParser.parseSquare("e7"),
+                FenParser.parseSquare("e5"), 20, -1, -1, Move.FLAG_DOUBLE_PUSH);
+        
+        history.updateCutoff(side, badMove, previousMove, 7, 1, new int[0], 0);
+        picker.init(board, Move.NONE, history, 5, previousMove);
+        
+        Assertions.assertEquals(knightMove, picker.next());
+        Assertions.assertEquals(badMove, picker.next());
+        Assertions.assertEquals(MovePicker.STAGE_KILLERS, picker.getStage());
+        Assertions.assertEquals(pawnMove, picker.next());
+    }
+}
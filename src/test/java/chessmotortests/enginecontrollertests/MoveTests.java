@@ -0,0 +1,108 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.DualStep;
+import chessmotor.enginecontroller.Move;
+import chessmotor.enginecontroller.MoveList;
+import chessmotor.enginecontroller.Step;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class MoveTests {
+
+    public MoveTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void encode_fieldsAreRecoverable(){
+    
+        int move = Move.encode(12, 63, 31, 30, 29,
+                Move.FLAG_EN_PASSANT | Move.FLAG_DOUBLE_PUSH);
+        
+        Assertions.assertEquals(12, Move.getFrom(move));
+        Assertions.assertEquals(63, Move.getTo(move));
+        Assertions.assertEquals(31, Move.getPieceId(move));
+        Assertions.assertEquals(30, Move.getCapturedId(move));
+        Assertions.assertEquals(29, Move.getPromotionId(move));
+        Assertions.assertTrue(Move.isCapture(move));
+        Assertions.assertTrue(Move.isPromotion(move));
+        Assertions.assertTrue(Move.isEnPassant(move));
+        Assertions.assertTrue(Move.isDoublePush(move));
+        Assertions.assertFalse(Move.isCastling(move));
+        
+        // squares are compatible with move list packing
+        Assertions.assertEquals(MoveList.pack(12, 63), move & 0xFFF);
+        
+        int quiet = Move.encode(8, 16, 0, -1);
+        
+        Assertions.assertEquals(-1, Move.getCapturedId(quiet));
+        Assertions.assertEquals(-1, Move.getPromotionId(quiet));
+        Assertions.assertFalse(Move.isCapture(quiet));
+        Assertions.assertEquals(0, Move.getFlags(quiet));
+        Assertions.assertNotEquals(Move.NONE, quiet);
+    }
+    
+    @Test
+    public void castlingAndStepConversion_areCorrect() throws Exception{
+    
+        // human king on its initial square (rank 7, file 3) castles toward file 0
+        int castling = Move.encode(7 * 8 + 3, 7 * 8 + 1, 16 + 11, -1, -1,
+                Move.FLAG_CASTLING);
+        
+        Assertions.assertEquals(16 + 8, Move.getCastlingRookId(castling));
+        Assertions.assertEquals(7 * 8, Move.getCastlingRookFrom(castling));
+        Assertions.assertEquals(7 * 8 + 2, Move.getCastlingRookTo(castling));
+        
+        // machine king castles toward file 7
+        int longCastling = Move.encode(3, 5, 11, -1, -1, Move.FLAG_CASTLING);
+        
+        Assertions.assertEquals(15, Move.getCastlingRookId(longCastling));
+        Assertions.assertEquals(7, Move.getCastlingRookFrom(longCastling));
+        Assertions.assertEquals(4, Move.getCastlingRookTo(longCastling));
+        
+        Step step = Move.toStep(castling);
+        
+        Assertions.assertTrue(step instanceof DualStep);
+        Assertions.assertEquals("castling", step.getStepType());
+        Assertions.assertEquals(7, step.getRank());
+        Assertions.assertEquals(1, step.getFile());
+        Assertions.assertEquals(16 + 8, ((DualStep)step).getSecondPieceId());
+        Assertions.assertEquals(2, ((DualStep)step).getSecondFile());
+        
+        step = Move.toStep(Move.encode(9, 18, 1, 16 + 2));
+        
+        Assertions.assertEquals("hit", step.getStepType());
+        Assertions.assertEquals(1, step.getPieceId());
+        Assertions.assertEquals(2, step.getRank());
+        Assertions.assertEquals(2, step.getFile());
+    }
+}
@@ -0,0 +1,132 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.FenParser;
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.Perft;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class PerftTests {
+
+    public PerftTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    // position 3 of the chess programming wiki perft results, it contains
+    //  en passant captures, discovered checks and horizontal pins
+    private static final String ENDGAME_POSITION =
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    
+    @Test
+    public void run_startPosition_isCorrect(){
+    
+        GameBoardData board = FenParser.parse(FenParser.START_POSITION);
+        long hash = board.hash();
+        Perft perft = new Perft();
+        
+        Assertions.assertEquals(1, perft.run(board, 0));
+        Assertions.assertEquals(20, perft.run(board, 1));
+        Assertions.assertEquals(400, perft.run(board, 2));
+        Assertions.assertEquals(8902, perft.run(board, 3));
+        Assertions.assertEquals(197281, perft.run(board, 4));
+        
+        // board is restored
+        Assertions.assertEquals(hash, board.hash());
+        Assertions.assertEquals(0, board.getUndoSize());
+    }
+    
+    @Test
+    public void run_endgamePosition_isCorrect(){
+    
+        GameBoardData board = FenParser.parse(ENDGAME_POSITION);
+        Perft perft = new Perft();
+        
+        Assertions.assertEquals(14, perft.run(board, 1));
+        Assertions.assertEquals(191, perft.run(board, 2));
+        Assertions.assertEquals(2812, perft.run(board, 3));
+        Assertions.assertEquals(43238, perft.run(board, 4));
+    }
+    
+    @Test
+    public void run_castlingPosition_isCorrect(){
+    
+        // position 2 of the chess programming wiki perft results, it contains
+        //  castling on both sides, en passant and pins, promotions occur
+        //  deeper only
+        GameBoardData board = FenParser.parse(
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        Perft perft = new Perft();
+        
+        Assertions.assertEquals(48, perft.run(board, 1));
+        Assertions.assertEquals(2039, perft.run(board, 2));
+        Assertions.assertEquals(97862, perft.run(board, 3));
+    }
+    
+    @Test
+    public void divide_sumsRootCounts(){
+    
+        GameBoardData board = FenParser.parse(FenParser.START_POSITION);
+        Perft perft = new Perft();
+        
+        long total = perft.divide(board, 3, 1);
+        long sum = 0;
+        
+        for(long count : perft.getRootCounts().values()){
+        
+            sum += count;
+        }
+        
+        Assertions.assertEquals(20, perft.getRootCounts().size());
+        Assertions.assertEquals(total, sum);
+        Assertions.assertEquals(total, perft.getNodes());
+        Assertions.assertTrue(perft.getReport().contains("nodes: 8902"));
+    }
+    
+    @Test
+    public void parallelAndHashedRuns_matchSequentialRun(){
+    
+        GameBoardData board = FenParser.parse(ENDGAME_POSITION);
+        
+        Perft perft = new Perft();
+        long expected = perft.run(board, 5);
+        Assertions.assertEquals(674624, expected);
+        
+        Perft hashedPerft = new Perft(4);
+        Assertions.assertEquals(expected, hashedPerft.run(board, 5));
+        // second run is answered by the hash table
+        Assertions.assertEquals(expected, hashedPerft.run(board, 5));
+        
+        Assertions.assertEquals(expected, perft.runParallel(board, 5, 4));
+        Assertions.assertEquals(expected, new Perft(4).runParallel(board, 5, 4));
+        Assertions.assertEquals(perft.getRootCounts().size(), 14);
+    }
+}
@@ -0,0 +1,140 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.Move;
+import chessmotor.enginecontroller.PieceContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class PieceContainerTests {
+
+    public PieceContainerTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void liveLists_followBoardModifications(){
+    
+        PieceContainer pieces = new PieceContainer();
+        GameBoardData gameBoard = new GameBoardData(pieces);
+        
+        Assertions.assertEquals(0, pieces.getLiveCount(GameBoardData.MACHINE_SIDE));
+        
+        gameBoard.set(0, 3, 11);
+        gameBoard.set(1, 4, 4);
+        gameBoard.set(6, 6, 6);
+        gameBoard.set(7, 3, 16 + 11);
+        gameBoard.set(2, 3, 16 + 12);
+        
+        Assertions.assertEquals(3, pieces.getLiveCount(GameBoardData.MACHINE_SIDE));
+        Assertions.assertEquals(2, pieces.getLiveCount(GameBoardData.HUMAN_SIDE));
+        Assertions.assertEquals(GameBoardData.QUEEN, pieces.getType(16 + 12));
+        Assertions.assertEquals(GameBoardData.HUMAN_SIDE, pieces.getColour(16 + 12));
+        Assertions.assertEquals(2 * 8 + 3, pieces.getSquare(16 + 12));
+        
+        // capture removes human queen, moving pawn keeps its list entry
+        gameBoard.makeMove(Move.encode(1 * 8 + 4, 2 * 8 + 3, 4, 16 + 12));
+        
+        Assertions.assertFalse(pieces.isLive(16 + 12));
+        Assertions.assertEquals(1, pieces.getLiveCount(GameBoardData.HUMAN_SIDE));
+        Assertions.assertEquals(2 * 8 + 3, pieces.getSquare(4));
+        Assertions.assertEquals(3, pieces.getLiveCount(GameBoardData.MACHINE_SIDE));
+        
+        // promotion replaces pawn 6 with captured identifier 12
+        gameBoard.makeMove(Move.encode(7 * 8 + 3, 7 * 8 + 2, 16 + 11, -1));
+        gameBoard.makeMove(Move.encode(6 * 8 + 6, 7 * 8 + 6, 6, -1, 12, 0));
+        
+        Assertions.assertFalse(pieces.isLive(6));
+        Assertions.assertEquals(7 * 8 + 6, pieces.getSquare(12));
+        assertLiveListsMatchBoard(gameBoard, pieces);
+        
+        gameBoard.unmakeMove();
+        gameBoard.unmakeMove();
+        gameBoard.unmakeMove();
+        
+        Assertions.assertTrue(pieces.isLive(16 + 12));
+        Assertions.assertFalse(pieces.isLive(12));
+        Assertions.assertEquals(1 * 8 + 4, pieces.getSquare(4));
+        assertLiveListsMatchBoard(gameBoard, pieces);
+    }
+    
+    @Test
+    public void copies_areIndependent(){
+    
+        GameBoardData gameBoard = new GameBoardData();
+        gameBoard.set(0, 3, 11);
+        gameBoard.set(7, 3, 16 + 11);
+        
+        GameBoardData gameBoardCopy = new GameBoardData(gameBoard);
+        gameBoardCopy.makeMove(Move.encode(3, 4, 11, -1));
+        
+        Assertions.assertEquals(3, gameBoard.getPieceList().getSquare(11));
+        Assertions.assertEquals(4, gameBoardCopy.getPieceList().getSquare(11));
+        
+        // relinking rebuilds live lists from the board
+        PieceContainer pieces = new PieceContainer();
+        gameBoardCopy.linkPieceList(pieces);
+        
+        Assertions.assertEquals(1, pieces.getLiveCount(GameBoardData.MACHINE_SIDE));
+        Assertions.assertEquals(4, pieces.getSquare(11));
+    }
+    
+    private static void assertLiveListsMatchBoard(GameBoardData gameBoard,
+            PieceContainer pieces){
+        
+        for(int side = 0; side < 2; ++side){
+        
+            int count = 0;
+            
+            for(int square = 0; square < 64; ++square){
+            
+                int pieceId = gameBoard.getBySquare(square);
+                
+                if(pieceId != -1 && GameBoardData.sideOf(pieceId) == side){
+                
+                    ++count;
+                    Assertions.assertEquals(square, pieces.getSquare(pieceId));
+                }
+            }
+            
+            Assertions.assertEquals(count, pieces.getLiveCount(side));
+            
+            for(int i = 0; i < pieces.getLiveCount(side); ++i){
+            
+                int pieceId = pieces.getLiveId(side, i);
+                
+                Assertions.assertEquals(pieceId,
+                        gameBoard.getBySquare(pieces.getSquare(pieceId)));
+            }
+        }
+    }
+}
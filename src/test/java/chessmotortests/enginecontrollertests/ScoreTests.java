@@ -0,0 +1,80 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.Score;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ScoreTests {
+
+    public ScoreTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void mateScores_encodeDistanceFromRoot(){
+    
+        Assertions.assertTrue(Score.isMate(Score.mateIn(5)));
+        Assertions.assertTrue(Score.isMate(Score.matedIn(4)));
+        Assertions.assertFalse(Score.isMate(Score.MATE_BOUND - 1));
+        
+        Assertions.assertEquals(5, Score.mateDistance(Score.mateIn(5)));
+        Assertions.assertEquals(-4, Score.mateDistance(Score.matedIn(4)));
+        
+        // shorter mates are preferred
+        Assertions.assertTrue(Score.mateIn(1) > Score.mateIn(3));
+        Assertions.assertTrue(Score.matedIn(1) < Score.matedIn(3));
+        Assertions.assertTrue(Score.mateIn(Score.MAX_PLY) < Score.INFINITE);
+        Assertions.assertTrue(Score.INFINITE <= Short.MAX_VALUE);
+        
+        // mate found at ply 3 of a node at ply 2 is a mate in 1 of the node
+        int nodeRelative = Score.toNodeRelative(Score.mateIn(3), 2);
+        Assertions.assertEquals(Score.mateIn(1), nodeRelative);
+        Assertions.assertEquals(Score.mateIn(3),
+                Score.toRootRelative(nodeRelative, 2));
+        Assertions.assertEquals(Score.matedIn(5),
+                Score.toRootRelative(Score.toNodeRelative(Score.matedIn(5), 3), 3));
+        
+        Assertions.assertEquals(150, Score.toNodeRelative(150, 7));
+    }
+    
+    @Test
+    public void toString_formatsPawnsAndMates(){
+    
+        Assertions.assertEquals("+1.25", Score.toString(125));
+        Assertions.assertEquals("-0.05", Score.toString(-5));
+        Assertions.assertEquals("+0.00", Score.toString(Score.DRAW));
+        Assertions.assertEquals("#1", Score.toString(Score.mateIn(1)));
+        Assertions.assertEquals("#3", Score.toString(Score.mateIn(5)));
+        Assertions.assertEquals("#-2", Score.toString(Score.matedIn(4)));
+        Assertions.assertEquals(1.25, Score.toPawns(125));
+    }
+}
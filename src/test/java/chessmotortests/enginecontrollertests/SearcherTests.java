@@ -0,0 +1,217 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.FenParser;
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.Move;
+import chessmotor.enginecontroller.MoveGenerator;
+import chessmotor.enginecontroller.MoveList;
+import chessmotor.enginecontroller.ParallelSearcher;
+import chessmotor.enginecontroller.Score;
+import chessmotor.enginecontroller.Searcher;
+import chessmotor.enginecontroller.TranspositionTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class SearcherTests {
+
+    public SearcherTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void search_findsMateAndMaterial(){
+    
+        Searcher searcher = new Searcher();
+        
+        // back rank mate
+        GameBoardData board = FenParser.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        int move = searcher.search(board, 3);
+        
+        Assertions.assertEquals(FenParser.parseSquare("a8"), Move.getTo(move));
+        Assertions.assertEquals(Score.mateIn(1), searcher.getScore());
+        Assertions.assertEquals(move, searcher.getPrincipalVariation()[0]);
+        
+        // undefended queen is taken
+        board = FenParser.parse("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1");
+        move = searcher.search(board, 4);
+        
+        Assertions.assertEquals(FenParser.parseSquare("d5"), Move.getTo(move));
+        Assertions.assertEquals(GameBoardData.QUEEN,
+                GameBoardData.typeOf(Move.getCapturedId(move)));
+        Assertions.assertTrue(searcher.getScore() > 0);
+    }
+    
+    @Test
+    public void iterativeDeepening_keepsTimeBudget(){
+    
+        Searcher searcher = new Searcher();
+        GameBoardData board = FenParser.parse(FenParser.START_POSITION);
+        
+        long startTime = System.nanoTime();
+        int move = searcher.search(board, Score.MAX_PLY - 1, 200);
+        long elapsedMillis = (System.nanoTime() - startTime) / 1000000;
+        
+        Assertions.assertTrue(MoveGenerator.isLegal(board, move, new MoveList()));
+        Assertions.assertEquals(move, searcher.getPrincipalVariation()[0]);
+        Assertions.assertTrue(searcher.getCompletedDepth() >= 1);
+        Assertions.assertTrue(searcher.getCompletedDepth() < Score.MAX_PLY - 1);
+        Assertions.assertTrue(elapsedMillis < 1000);
+        
+        // the only legal move is returned after the first iteration
+        board = FenParser.parse("7k/8/8/8/8/8/6q1/7K w - - 0 1");
+        move = searcher.search(board, Score.MAX_PLY - 1, 0);
+        
+        Assertions.assertEquals(FenParser.parseSquare("g2"), Move.getTo(move));
+        Assertions.assertEquals(1, searcher.getCompletedDepth());
+        Assertions.assertEquals(0, searcher.getAspirationResearches());
+        
+        Assertions.assertThrows(RuntimeException.class,
+                () -> searcher.search(FenParser.parse(FenParser.START_POSITION), 0));
+    }
+    
+    @Test
+    public void search_detectsStalemateAndRestoresBoard(){
+    
+        Searcher searcher = new Searcher();
+        
+        GameBoardData board = FenParser.parse("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        
+        Assertions.assertEquals(Move.NONE, searcher.search(board, 2));
+        Assertions.assertEquals(Score.DRAW, searcher.getScore());
+        Assertions.assertEquals(0, searcher.getPrincipalVariation().length);
+        
+        board = FenParser.parse(
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        long hash = board.hash();
+        int undoSize = board.getUndoSize();
+        
+        searcher.search(board, 3);
+        
+        Assertions.assertEquals(hash, board.hash());
+        Assertions.assertEquals(undoSize, board.getUndoSize());
+        Assertions.assertTrue(searcher.getNodes() > 0);
+        
+        // later moves are mostly refuted by null window searches
+        Assertions.assertTrue(searcher.getNullWindowSearches() > 0);
+        Assertions.assertTrue(searcher.getResearches()
+                <= searcher.getNullWindowSearches());
+        Assertions.assertTrue(searcher.getResearchRate() < 0.5);
+        
+        // cutoffs are mostly caused by the first move
+        Assertions.assertTrue(searcher.getFirstMoveCutoffRate() > 0.5);
+        Assertions.assertTrue(searcher.getFirstMoveCutoffRate() <= 1);
+        
+        // the principal variation consists of consecutive legal moves
+        int[] line = searcher.getPrincipalVariation();
+        
+        Assertions.assertTrue(line.length > 0);
+        
+        MoveList scratch = new MoveList();
+        
+        for(int i = 0; i < line.length; ++i){
+        
+            Assertions.assertTrue(MoveGenerator.isLegal(board, line[i], scratch));
+            board.makeMove(line[i]);
+        }
+        
+        for(int i = 0; i < line.length; ++i){
+        
+            board.unmakeMove();
+        }
+        
+        Assertions.assertEquals(hash, board.hash());
+    }
+    
+    @Test
+    public void transpositionTable_isSharedByThreads(){
+    
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        
+        // the second search of a position is served by the table
+        TranspositionTable table = new TranspositionTable(4);
+        Searcher searcher = new Searcher(table);
+        GameBoardData board = FenParser.parse(fen);
+        
+        int move = searcher.search(board, 4);
+        long nodes = searcher.getNodes();
+        
+        table.newSearch();
+        Assertions.assertEquals(move, searcher.search(board, 4));
+        Assertions.assertTrue(searcher.getNodes() < nodes);
+        
+        // parallel search keeps the board and finds the mate
+        ParallelSearcher parallelSearcher = new ParallelSearcher(3, 4);
+        board = FenParser.parse(fen);
+        long hash = board.hash();
+        
+        move = parallelSearcher.search(board, 5, 0);
+        
+        Assertions.assertEquals(hash, board.hash());
+        Assertions.assertTrue(MoveGenerator.isLegal(board, move, new MoveList()));
+        Assertions.assertEquals(move, parallelSearcher.getPrincipalVariation()[0]);
+        Assertions.assertEquals(5, parallelSearcher.getCompletedDepth());
+        Assertions.assertTrue(parallelSearcher.getNodes() > 0);
+        
+        board = FenParser.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        move = parallelSearcher.search(board, 6, 200);
+        
+        Assertions.assertEquals(FenParser.parseSquare("a8"), Move.getTo(move));
+        Assertions.assertEquals(Score.mateIn(1), parallelSearcher.getScore());
+        
+        Assertions.assertThrows(RuntimeException.class,
+                () -> new ParallelSearcher(0, 1));
+    }
+    
+    @Test
+    public void quiescence_ordersCapturesAtEachPly(){
+    
+        Searcher searcher = new Searcher();
+        
+        // a bishop and a knight capture are followed by two recaptures of
+        //  equal outcome (a knight and a pawn), the quiescence node of ply 2
+        //  has to take the more valuable victim first, even though its
+        //  children order their own captures meanwhile
+        GameBoardData board = FenParser.parse(
+                "r3k3/p1ppqpb1/bn2pnpr/3PN3/Np2P3/4Q2p/PPPBBPPP/R3K2R b - - 0 1");
+        
+        searcher.search(board, 1);
+        int[] line = searcher.getPrincipalVariation();
+        
+        Assertions.assertTrue(line.length >= 3);
+        Assertions.assertEquals(GameBoardData.KNIGHT,
+                GameBoardData.typeOf(Move.getCapturedId(line[1])));
+        Assertions.assertEquals(GameBoardData.PAWN,
+                GameBoardData.typeOf(Move.getPieceId(line[2])));
+        Assertions.assertEquals(GameBoardData.KNIGHT,
+                GameBoardData.typeOf(Move.getCapturedId(line[2])));
+    }
+}
@@ -0,0 +1,113 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.SlidingAttackTable;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class SlidingAttackTableTests {
+
+    public SlidingAttackTableTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    // reference ray walker for comparison
+    private static long walk(int square, long occupancy, int[][] directions){
+    
+        long attacks = 0L;
+        
+        for(int[] direction : directions){
+        
+            int sRank = (square >>> 3) + direction[0];
+            int sFile = (square & 7) + direction[1];
+            
+            while(sRank >= 0 && sRank < 8 && sFile >= 0 && sFile < 8){
+            
+                attacks |= 1L << (sRank * 8 + sFile);
+                
+                if((occupancy & (1L << (sRank * 8 + sFile))) != 0){
+                
+                    break;
+                }
+                
+                sRank += direction[0];
+                sFile += direction[1];
+            }
+        }
+        
+        return attacks;
+    }
+    
+    @Test
+    public void lookups_matchRayWalking(){
+    
+        int[][] rookDirections = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        int[][] bishopDirections = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+        
+        Random random = new Random(1);
+        
+        for(int square = 0; square < 64; ++square){
+        
+            for(int i = 0; i < 200; ++i){
+            
+                // sparse and dense random occupancies
+                long occupancy = i % 2 == 0
+                        ? random.nextLong() & random.nextLong()
+                        : random.nextLong() | random.nextLong();
+                
+                Assertions.assertEquals(walk(square, occupancy, rookDirections),
+                        SlidingAttackTable.rookAttacks(square, occupancy));
+                Assertions.assertEquals(walk(square, occupancy, bishopDirections),
+                        SlidingAttackTable.bishopAttacks(square, occupancy));
+                Assertions.assertEquals(walk(square, occupancy, rookDirections)
+                        | walk(square, occupancy, bishopDirections),
+                        SlidingAttackTable.queenAttacks(square, occupancy));
+            }
+        }
+    }
+    
+    @Test
+    public void emptyBoard_attacks_areCorrect(){
+    
+        // rook in corner attacks full rank and file
+        Assertions.assertEquals(14, Long.bitCount(
+                SlidingAttackTable.rookAttacks(0, 0L)));
+        
+        // bishop in center of empty board
+        Assertions.assertEquals(13, Long.bitCount(
+                SlidingAttackTable.bishopAttacks(3 * 8 + 3, 0L)));
+        
+        // queen in center of empty board
+        Assertions.assertEquals(27, Long.bitCount(
+                SlidingAttackTable.queenAttacks(3 * 8 + 3, 0L)));
+    }
+}
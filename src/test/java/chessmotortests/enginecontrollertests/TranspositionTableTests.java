@@ -0,0 +1,124 @@
+package chessmotortests.enginecontrollertests;
+
+import chessmotor.enginecontroller.Move;
+import chessmotor.enginecontroller.Score;
+import chessmotor.enginecontroller.TranspositionTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TranspositionTableTests {
+
+    public TranspositionTableTests() {
+    
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void storeAndProbe_verifyEntries(){
+    
+        TranspositionTable table = new TranspositionTable(1);
+        int move = Move.encode(12, 28, 4, -1, -1, Move.FLAG_DOUBLE_PUSH);
+        long key = 0x123456789ABCDEF0L;
+        
+        Assertions.assertEquals(1024 * 1024 / 16, table.capacity());
+        Assertions.assertEquals(0, table.probe(key));
+        
+        table.store(key, move, -75, 6, TranspositionTable.BOUND_LOWER, 3);
+        long entry = table.probe(key);
+        
+        Assertions.assertEquals(move, TranspositionTable.getMove(entry));
+        Assertions.assertEquals(-75, TranspositionTable.getScore(entry, 3));
+        Assertions.assertEquals(6, TranspositionTable.getDepth(entry));
+        Assertions.assertEquals(TranspositionTable.BOUND_LOWER,
+                TranspositionTable.getBound(entry));
+        
+        // another position of the same bucket is not confused with it
+        Assertions.assertEquals(0, table.probe(key ^ 1L));
+        
+        // mate scores are stored relative to the node
+        table.store(key, move, Score.mateIn(7), 4, TranspositionTable.BOUND_EXACT, 3);
+        entry = table.probe(key);
+        
+        Assertions.assertEquals(Score.mateIn(7), TranspositionTable.getScore(entry, 3));
+        Assertions.assertEquals(Score.mateIn(5), TranspositionTable.getScore(entry, 1));
+        
+        // the move is kept if the new result has none
+        table.store(key, Move.NONE, 10, 5, TranspositionTable.BOUND_UPPER, 0);
+        Assertions.assertEquals(move, TranspositionTable.getMove(table.probe(key)));
+        
+        table.clear();
+        Assertions.assertEquals(0, table.probe(key));
+        
+        Assertions.assertThrows(RuntimeException.class,
+                () -> new TranspositionTable(0));
+    }
+    
+    @Test
+    public void store_replacesShallowAndOldEntries(){
+    
+        TranspositionTable table = new TranspositionTable(1);
+        long bucketKey = 0x0000000500000000L;
+        
+        // five positions of the same bucket, the shallowest one is replaced
+        for(int i = 0; i < 4; ++i){
+        
+            table.store(bucketKey | (i + 1), Move.NONE, i, 10 - i,
+                    TranspositionTable.BOUND_EXACT, 0);
+        }
+        
+        table.store(bucketKey | 5, Move.NONE, 4, 8,
+                TranspositionTable.BOUND_EXACT, 0);
+        
+        Assertions.assertNotEquals(0, table.probe(bucketKey | 1));
+        Assertions.assertNotEquals(0, table.probe(bucketKey | 3));
+        Assertions.assertEquals(0, table.probe(bucketKey | 4));
+        Assertions.assertNotEquals(0, table.probe(bucketKey | 5));
+        
+        // deeper results of the same search are not overwritten by bounds
+        table.store(bucketKey | 1, Move.NONE, 50, 2,
+                TranspositionTable.BOUND_LOWER, 0);
+        Assertions.assertEquals(10, TranspositionTable.getDepth(table.probe(bucketKey | 1)));
+        Assertions.assertEquals(4, table.getHashFull());
+        
+        // entries of older searches are replaced before shallow new ones
+        table.newSearch();
+        table.store(bucketKey | 7, Move.NONE, 0, 3,
+                TranspositionTable.BOUND_EXACT, 0);
+        table.store(bucketKey | 8, Move.NONE, 0, 1,
+                TranspositionTable.BOUND_EXACT, 0);
+        
+        Assertions.assertNotEquals(0, table.probe(bucketKey | 7));
+        Assertions.assertNotEquals(0, table.probe(bucketKey | 8));
+        Assertions.assertEquals(0, table.probe(bucketKey | 3));
+        Assertions.assertEquals(0, table.probe(bucketKey | 5));
+        Assertions.assertEquals(2, table.getHashFull());
+    }
+}
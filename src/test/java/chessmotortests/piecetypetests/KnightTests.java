@@ -1,5 +1,11 @@
 package chessmotortests.piecetypetests;
 
+import chessmotor.enginecontroller.FenParser;
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.MoveList;
+import chessmotor.enginecontroller.piecetypes.GenPiece;
+import chessmotor.enginecontroller.piecetypes.Knight;
+import chessmotor.enginecontroller.piecetypes.PieceType;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,7 +54,7 @@ public class KnightTests {
     }
     
     @Test
-    public void overridden_generateSteps_method_isCorrect(){
+    public void overridden_generateSteps_method_isCorrect() throws Exception{
         
         // The subject method which is being tested only generates free position 
         //  or free position until first hit positions including hit as well.
@@ -56,7 +62,17 @@ public class KnightTests {
         //  subject method.
     
         // generate steps from baseline position
-        //  todo
+        GameBoardData gameBoard = FenParser.parse(FenParser.START_POSITION);
+        Knight knight = new Knight(gameBoard.get(0, 1), true, 
+                PieceType.KNIGHT.getValue(), 0, 1);
+        MoveList steps = new MoveList();
+        
+        knight.generateSteps(gameBoard, steps);
+        
+        assertEquals(2, steps.size());
+        // each available step adds STEP_VALUE centipawns to the static value
+        assertEquals(PieceType.KNIGHT.getValue() + 2 * GenPiece.STEP_VALUE, 
+                knight.getDynamicValue());
         
         // generate steps from gameboard boundary position
         //  (rank is in [1, 7] and file is 0)
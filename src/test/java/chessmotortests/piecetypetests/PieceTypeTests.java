@@ -0,0 +1,71 @@
+package chessmotortests.piecetypetests;
+
+import chessmotor.enginecontroller.GameBoardData;
+import chessmotor.enginecontroller.piecetypes.King;
+import chessmotor.enginecontroller.piecetypes.PieceType;
+import chessmotor.enginecontroller.piecetypes.Queen;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PieceTypeTests {
+
+    public PieceTypeTests() {
+    
+    }
+    
+    @BeforeAll
+    public static void setUpClass() {
+    
+    
+    }
+    
+    @AfterAll
+    public static void tearDownClass() {
+    
+    
+    }
+    
+    @BeforeEach
+    public void setUp() {
+    
+    
+    }
+    
+    @AfterEach
+    public void tearDown() {
+    
+    
+    }
+    
+    @Test
+    public void typeLookups_areCorrect(){
+    
+        // ordinals follow type indices of game board
+        assertEquals(GameBoardData.PAWN, PieceType.PAWN.index());
+        assertEquals(GameBoardData.QUEEN, PieceType.QUEEN.index());
+        assertEquals(PieceType.BISHOP, PieceType.ofIndex(GameBoardData.BISHOP));
+        
+        // identifier based lookup
+        assertEquals(PieceType.PAWN, PieceType.ofId(7));
+        assertEquals(PieceType.ROOK, PieceType.ofId(16 + 8));
+        assertEquals(PieceType.KING, PieceType.ofId(11));
+        assertEquals(PieceType.QUEEN, PieceType.ofId(16 + 12));
+        
+        // literal type names of GUI
+        assertEquals(PieceType.KNIGHT, PieceType.ofTypeName("whiteknight"));
+        assertEquals(PieceType.QUEEN, PieceType.ofTypeName("blackquen"));
+        assertThrows(RuntimeException.class, () -> PieceType.ofTypeName("empty"));
+    }
+    
+    @Test
+    public void pieces_storeTheirType() throws Exception{
+    
+        assertEquals(PieceType.KING, new King(11, true, -8, 0, 3).getPieceType());
+        assertEquals(PieceType.QUEEN, new Queen().getPieceType());
+        assertEquals("blackquen", new Queen(12, false, 28, 0, 4).getTypeName());
+    }
+}